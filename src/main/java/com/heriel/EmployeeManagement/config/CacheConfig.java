@@ -0,0 +1,138 @@
+package com.heriel.EmployeeManagement.config;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Configuration of the in-process employee cache.
+ * <p>
+ * Single-employee lookups are cached in a bounded Caffeine cache. Missing IDs are cached as well
+ * (negative caching) with a shorter time to live. Writes evict the affected IDs after their
+ * transaction commits. Loads are coalesced per key, and an eviction discards an in-flight load
+ * of the same ID, so its possibly stale result is never cached.
+ * <p>
+ * Loads run on the calling thread but outside of Caffeine's internal locks: a plain Caffeine cache
+ * would run the database lookup inside a {@code ConcurrentHashMap} bin lock, which pins the carrier
+ * thread of the virtual thread serving the request for the duration of the query.
+ * <p>
+ * Hit, miss and eviction counts are recorded and published as {@code cache.*} metrics.
+ * Set {@code employee.cache.enabled=false} (e.g. with the {@code nocache} profile) to turn caching off.
+ */
+@Configuration
+@EnableCaching
+@ConditionalOnProperty(name = "employee.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheConfig {
+    /**
+     * The name of the cache holding employees by ID.
+     */
+    public static final String EMPLOYEES = "employees";
+
+    /**
+     * Creates the cache manager for the employee cache.
+     *
+     * @param maximumSize the maximum number of cached entries
+     * @param ttl         the time to live of cached employees
+     * @param negativeTtl the time to live of cached misses
+     * @return the transaction-aware cache manager
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${employee.cache.maximum-size:10000}") long maximumSize,
+                                     @Value("${employee.cache.ttl:10m}") Duration ttl,
+                                     @Value("${employee.cache.negative-ttl:30s}") Duration negativeTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(EMPLOYEES) {
+            @Override
+            protected Cache adaptCaffeineCache(String name, AsyncCache<Object, Object> cache) {
+                return new CallerLoadingCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        cacheManager.setAllowNullValues(true);
+        cacheManager.setAsyncCacheMode(true);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new NegativeAwareExpiry(ttl, negativeTtl))
+                .recordStats());
+        // Defer evictions until the surrounding transaction has committed
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    /**
+     * Expiry policy that keeps cached misses for a shorter time than cached employees.
+     * The time to live is set on creation and on update, and is not extended by reads.
+     */
+    private static final class NegativeAwareExpiry implements Expiry<Object, Object> {
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        private NegativeAwareExpiry(Duration ttl, Duration negativeTtl) {
+            this.ttlNanos = ttl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            return value == NullValue.INSTANCE ? negativeTtlNanos : ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Caffeine cache adapter whose synchronized loads run on the calling thread.
+     * The first caller for a key installs an incomplete future, which is cheap and all that happens
+     * inside Caffeine's lock, and then loads the value outside of it; concurrent callers wait for that
+     * future. Running on the calling thread also keeps the load inside the caller's transaction.
+     */
+    private static final class CallerLoadingCaffeineCache extends CaffeineCache {
+        private CallerLoadingCaffeineCache(String name, AsyncCache<Object, Object> cache, boolean allowNullValues) {
+            super(name, cache, allowNullValues);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            CompletableFuture<Object> loading = new CompletableFuture<>();
+            CompletableFuture<Object> future = getAsyncCache().get(key, (k, executor) -> loading);
+            if (future == loading) {
+                try {
+                    Object value = toStoreValue(valueLoader.call());
+                    loading.complete(value);
+                    return (T) fromStoreValue(value);
+                } catch (Throwable ex) {
+                    // Caffeine drops failed futures, so the next caller retries the load
+                    loading.completeExceptionally(ex);
+                    throw new ValueRetrievalException(key, valueLoader, ex);
+                }
+            }
+            try {
+                return (T) fromStoreValue(future.join());
+            } catch (CompletionException ex) {
+                throw new ValueRetrievalException(key, valueLoader, ex.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.heriel.EmployeeManagement.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration of the adaptive concurrency limit in front of the database-backed employee endpoints.
+ * Enabled unless {@code employee.concurrency.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.concurrency.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
+    /**
+     * Constructor for ConcurrencyLimitConfig.
+     *
+     * @param concurrencyLimitInterceptor the interceptor applying the limits
+     */
+    public ConcurrencyLimitConfig(ConcurrencyLimitInterceptor concurrencyLimitInterceptor) {
+        this.concurrencyLimitInterceptor = concurrencyLimitInterceptor;
+    }
+
+    /**
+     * Limits the employee endpoints, except the streaming export and the change feed, which hold their slot for as
+     * long as the client stays connected, and the department statistics, which are served from memory.
+     *
+     * @param registry the interceptor registry
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(concurrencyLimitInterceptor)
+                .addPathPatterns("/api/employees/**")
+                .excludePathPatterns("/api/employees/export", "/api/employees/changes", "/api/employees/stats/**");
+    }
+}
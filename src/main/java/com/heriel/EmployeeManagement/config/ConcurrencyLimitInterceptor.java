@@ -0,0 +1,170 @@
+package com.heriel.EmployeeManagement.config;
+
+import com.heriel.EmployeeManagement.controller.DepartmentController;
+import com.heriel.EmployeeManagement.controller.EmployeeController;
+import com.heriel.EmployeeManagement.exception.ServiceUnavailableException;
+import com.heriel.EmployeeManagement.service.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Sheds load in front of the database with an {@link AdaptiveConcurrencyLimiter} per kind of traffic:
+ * GET and HEAD requests share the read limit, all other requests the write limit, so a burst of slow writes
+ * does not starve reads and the other way round. Only requests handled by {@link EmployeeController} and
+ * {@link DepartmentController} are limited. A request over the limit is rejected with a
+ * {@link ServiceUnavailableException} before the handler runs, so it never waits for a database connection.
+ * <p>
+ * The limit and the requests in flight are published as the {@code employee.concurrency.limit} and
+ * {@code employee.concurrency.in_flight} gauges, and admitted and rejected requests as the
+ * {@code employee.concurrency.requests} counter, each tagged with the traffic ({@code read} or {@code write}).
+ */
+@Component
+@ConditionalOnProperty(name = "employee.concurrency.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+    private static final String ADMISSION = ConcurrencyLimitInterceptor.class.getName() + ".admission";
+    private static final Set<Class<?>> LIMITED_CONTROLLERS = Set.of(EmployeeController.class, DepartmentController.class);
+
+    private final Traffic read;
+    private final Traffic write;
+    private final Duration retryAfter;
+
+    /**
+     * Constructor for ConcurrencyLimitInterceptor.
+     *
+     * @param meterRegistry         the registry to publish the limiter metrics in
+     * @param readInitialLimit      the initial limit of concurrent reads
+     * @param readMaxLimit          the maximum limit of concurrent reads
+     * @param readLatencyThreshold  the latency above which a read counts as slow
+     * @param writeInitialLimit     the initial limit of concurrent writes
+     * @param writeMaxLimit         the maximum limit of concurrent writes
+     * @param writeLatencyThreshold the latency above which a write counts as slow
+     * @param minLimit              the lowest either limit can go
+     * @param backoffRatio          the factor a limit is multiplied by for a slow or failed request
+     * @param retryAfter            how long rejected clients are asked to wait before retrying
+     */
+    public ConcurrencyLimitInterceptor(MeterRegistry meterRegistry,
+                                       @Value("${employee.concurrency.read.initial-limit:20}") int readInitialLimit,
+                                       @Value("${employee.concurrency.read.max-limit:200}") int readMaxLimit,
+                                       @Value("${employee.concurrency.read.latency-threshold:250ms}") Duration readLatencyThreshold,
+                                       @Value("${employee.concurrency.write.initial-limit:10}") int writeInitialLimit,
+                                       @Value("${employee.concurrency.write.max-limit:100}") int writeMaxLimit,
+                                       @Value("${employee.concurrency.write.latency-threshold:500ms}") Duration writeLatencyThreshold,
+                                       @Value("${employee.concurrency.min-limit:2}") int minLimit,
+                                       @Value("${employee.concurrency.backoff-ratio:0.9}") double backoffRatio,
+                                       @Value("${employee.concurrency.retry-after:1s}") Duration retryAfter) {
+        this.read = new Traffic("read", new AdaptiveConcurrencyLimiter(readInitialLimit, minLimit, readMaxLimit,
+                readLatencyThreshold, backoffRatio), meterRegistry);
+        this.write = new Traffic("write", new AdaptiveConcurrencyLimiter(writeInitialLimit, minLimit, writeMaxLimit,
+                writeLatencyThreshold, backoffRatio), meterRegistry);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns the limiter of GET and HEAD requests.
+     *
+     * @return the read limiter
+     */
+    public AdaptiveConcurrencyLimiter getReadLimiter() {
+        return read.limiter;
+    }
+
+    /**
+     * Returns the limiter of all other requests.
+     *
+     * @return the write limiter
+     */
+    public AdaptiveConcurrencyLimiter getWriteLimiter() {
+        return write.limiter;
+    }
+
+    /**
+     * Admits the request if its traffic is under the limit.
+     *
+     * @param request  the current request
+     * @param response the current response
+     * @param handler  the handler of the request
+     * @return true to continue processing the request
+     * @throws ServiceUnavailableException if the limit is reached
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // An asynchronous request is dispatched again once its result is ready; it was admitted the first time
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || !LIMITED_CONTROLLERS.contains(handlerMethod.getBeanType())
+                || request.getAttribute(ADMISSION) != null) {
+            return true;
+        }
+        Traffic traffic = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())
+                ? read : write;
+        if (!traffic.limiter.tryAcquire()) {
+            traffic.rejected.increment();
+            throw new ServiceUnavailableException("Too many concurrent " + traffic.name
+                    + " requests, please retry later", retryAfter);
+        }
+        traffic.admitted.increment();
+        request.setAttribute(ADMISSION, new Admission(traffic, System.nanoTime()));
+        return true;
+    }
+
+    /**
+     * Releases the admitted request, feeding its latency and outcome back to the limiter.
+     *
+     * @param request  the current request
+     * @param response the current response
+     * @param handler  the handler of the request
+     * @param ex       the exception thrown by the handler, if any
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ADMISSION) instanceof Admission admission) {
+            request.removeAttribute(ADMISSION);
+            admission.traffic.limiter.release(System.nanoTime() - admission.startNanos,
+                    ex != null || response.getStatus() >= 500);
+        }
+    }
+
+    private record Admission(Traffic traffic, long startNanos) {
+    }
+
+    private static final class Traffic {
+        private final String name;
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final Counter admitted;
+        private final Counter rejected;
+
+        private Traffic(String name, AdaptiveConcurrencyLimiter limiter, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.limiter = limiter;
+            Gauge.builder("employee.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Adaptive limit of concurrent requests")
+                    .tag("traffic", name)
+                    .register(meterRegistry);
+            Gauge.builder("employee.concurrency.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .description("Admitted requests that have not completed yet")
+                    .tag("traffic", name)
+                    .register(meterRegistry);
+            this.admitted = requests(meterRegistry, name, "admitted");
+            this.rejected = requests(meterRegistry, name, "rejected");
+        }
+
+        private static Counter requests(MeterRegistry meterRegistry, String traffic, String outcome) {
+            return Counter.builder("employee.concurrency.requests")
+                    .description("Requests checked against the adaptive concurrency limit, by outcome")
+                    .tag("traffic", traffic)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.heriel.EmployeeManagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Configuration of read/write splitting between the primary database and read replicas.
+ * <p>
+ * Only active when {@code employee.datasource.replica-urls} lists at least one replica; otherwise Spring Boot
+ * configures the single primary pool as usual. The primary pool is still configured with {@code spring.datasource.*};
+ * each replica gets its own pool with the replica credentials. Read-only transactions are routed by a
+ * {@link ReplicaRoutingDataSource} behind a {@link LazyConnectionDataSourceProxy}, which is the data source used
+ * by JPA. A committed read-write transaction keeps the reads of its client on the primary for the read-your-writes
+ * window.
+ */
+@Configuration
+@ConditionalOnExpression("'${employee.datasource.replica-urls:}' != ''")
+public class DataSourceRoutingConfig {
+
+    /**
+     * Creates the pool of the primary database from the {@code spring.datasource.*} properties.
+     *
+     * @param properties the data source properties
+     * @return the primary pool
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public static HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(StringUtils.hasText(properties.getName()) ? properties.getName() : "primary");
+        return dataSource;
+    }
+
+    /**
+     * Creates the routing data source with a pool per replica.
+     *
+     * @param primaryDataSource  the primary pool
+     * @param meterRegistry      the registry to publish the pool and routing metrics in
+     * @param replicaUrls        the JDBC URLs of the replicas
+     * @param username           the user name for the replicas
+     * @param password           the password for the replicas
+     * @param poolSize           the maximum number of connections per replica
+     * @param selection          how replicas are picked, round-robin or least-loaded
+     * @param maxLag             the lag above which a replica is skipped
+     * @param lagQuery           the query returning the lag of a replica in seconds
+     * @param readYourWritesTime how long a client reads from the primary after writing
+     * @return the routing data source
+     */
+    @Bean
+    public static ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource, MeterRegistry meterRegistry,
+            @Value("${employee.datasource.replica-urls}") List<String> replicaUrls,
+            @Value("${employee.datasource.replica-username:${spring.datasource.username:}}") String username,
+            @Value("${employee.datasource.replica-password:${spring.datasource.password:}}") String password,
+            @Value("${employee.datasource.replica-pool-size:10}") int poolSize,
+            @Value("${employee.datasource.replica-selection:round-robin}") String selection,
+            @Value("${employee.datasource.replica-max-lag:5s}") Duration maxLag,
+            @Value("${employee.datasource.replica-lag-query}") String lagQuery,
+            @Value("${employee.datasource.read-your-writes-window:5s}") Duration readYourWritesTime) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas,
+                ReplicaRoutingDataSource.Selection.valueOf(selection.trim().replace('-', '_').toUpperCase(Locale.ROOT)),
+                maxLag, lagQuery, readYourWritesTime, meterRegistry);
+    }
+
+    /**
+     * Creates the data source used by JPA, which fetches a connection from the routing data source only
+     * at the first statement of a transaction, once the transaction is known to be read-only or not.
+     *
+     * @param replicaRoutingDataSource the routing data source
+     * @return the lazy data source
+     */
+    @Bean
+    @Primary
+    public static LazyConnectionDataSourceProxy dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
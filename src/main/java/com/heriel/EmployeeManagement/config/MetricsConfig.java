@@ -0,0 +1,67 @@
+package com.heriel.EmployeeManagement.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration of the application metrics beyond what Spring Boot records by default.
+ * <p>
+ * Spring Boot already times every endpoint ({@code http.server.requests}) and repository call
+ * ({@code spring.data.repository.invocations}) and publishes the HikariCP pool and, with
+ * {@code hibernate.generate_statistics}, the Hibernate statistics. This adds timers for methods
+ * annotated with {@code @Timed}, such as those of EmployeeService, and the number of SQL statements
+ * executed per request.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+    private final SqlStatementCounter sqlStatementCounter;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor for MetricsConfig.
+     *
+     * @param sqlStatementCounter the counter of the SQL statements of each request
+     * @param meterRegistry       the registry to record metrics in
+     */
+    public MetricsConfig(SqlStatementCounter sqlStatementCounter, MeterRegistry meterRegistry) {
+        this.sqlStatementCounter = sqlStatementCounter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Creates the aspect recording timers for {@code @Timed} classes and methods.
+     *
+     * @return the aspect
+     */
+    @Bean
+    public TimedAspect timedAspect() {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Registers the SQL statement counter as Hibernate's statement inspector, unless another one is configured.
+     *
+     * @return the customizer of the Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCounter);
+    }
+
+    /**
+     * Records the SQL statements executed by each API request.
+     *
+     * @param registry the interceptor registry
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlStatementMetricsInterceptor(sqlStatementCounter, meterRegistry))
+                .addPathPatterns("/api/**");
+    }
+}
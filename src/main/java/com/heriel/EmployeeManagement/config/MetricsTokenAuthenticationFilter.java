@@ -0,0 +1,71 @@
+package com.heriel.EmployeeManagement.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Authenticates metrics scrapers carrying the configured {@code Authorization: Bearer} scrape token with the
+ * METRICS role.
+ * <p>
+ * Unlike access tokens, the scrape token does not expire, so a scraper such as Prometheus can be configured with
+ * it once. It grants nothing but the metrics endpoints. Without a configured scrape token no request is
+ * authenticated by this filter.
+ */
+public class MetricsTokenAuthenticationFilter extends OncePerRequestFilter {
+    private static final String BEARER = "Bearer ";
+
+    private final byte[] scrapeToken;
+    private final SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder.getContextHolderStrategy();
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
+
+    /**
+     * Constructor for MetricsTokenAuthenticationFilter.
+     *
+     * @param scrapeToken the token scrapers authenticate with, or empty to authenticate no scraper
+     */
+    public MetricsTokenAuthenticationFilter(String scrapeToken) {
+        this.scrapeToken = scrapeToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Authenticates the request if it carries the scrape token.
+     *
+     * @param request     the current request
+     * @param response    the current response
+     * @param filterChain the remaining filters
+     * @throws ServletException if a later filter fails
+     * @throws IOException      if a later filter fails
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (scrapeToken.length > 0 && header != null && header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            byte[] token = header.substring(BEARER.length()).trim().getBytes(StandardCharsets.UTF_8);
+            // Compare in constant time, so the token cannot be guessed from response times
+            if (MessageDigest.isEqual(token, scrapeToken)) {
+                SecurityContext context = securityContextHolderStrategy.createEmptyContext();
+                context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                        "metrics", null, AuthorityUtils.createAuthorityList("ROLE_METRICS")));
+                securityContextHolderStrategy.setContext(context);
+                securityContextRepository.saveContext(context, request, response);
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
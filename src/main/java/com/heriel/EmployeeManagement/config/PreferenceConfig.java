@@ -0,0 +1,101 @@
+package com.heriel.EmployeeManagement.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.servlet.mvc.condition.RequestCondition;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Enumeration;
+
+/**
+ * Configuration of request mappings selected by the preferences of the client.
+ * <p>
+ * A {@code Prefer} header (RFC 7240) holds a comma-separated list of preferences, each optionally with a value and
+ * parameters, e.g. {@code Prefer: return=minimal, respond-async; wait=10}, and may be sent more than once.
+ * A header condition such as {@code Prefer=respond-async} only matches the exact header value, so handler methods
+ * annotated with {@link RespondAsync} are instead matched by parsing the preferences of every {@code Prefer} header.
+ */
+@Configuration
+public class PreferenceConfig {
+    private static final String RESPOND_ASYNC = "respond-async";
+
+    /**
+     * Creates the registrations replacing the handler mapping of annotated controllers with one that also
+     * evaluates {@link RespondAsync}.
+     *
+     * @return the web MVC registrations
+     */
+    @Bean
+    public WebMvcRegistrations preferenceWebMvcRegistrations() {
+        return new WebMvcRegistrations() {
+            @Override
+            public RequestMappingHandlerMapping getRequestMappingHandlerMapping() {
+                return new RequestMappingHandlerMapping() {
+                    @Override
+                    protected RequestCondition<?> getCustomMethodCondition(Method method) {
+                        return AnnotatedElementUtils.hasAnnotation(method, RespondAsync.class)
+                                ? RespondAsyncCondition.INSTANCE : null;
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Returns whether the request prefers an asynchronous response, in any of its {@code Prefer} headers.
+     * Preference names are compared case-insensitively; values and parameters are ignored.
+     *
+     * @param request the request
+     * @return true if a {@code respond-async} preference is present
+     */
+    static boolean prefersRespondAsync(HttpServletRequest request) {
+        Enumeration<String> headers = request.getHeaders("Prefer");
+        while (headers != null && headers.hasMoreElements()) {
+            for (String preference : headers.nextElement().split(",")) {
+                int end = preference.length();
+                for (int i = 0; i < preference.length(); i++) {
+                    char c = preference.charAt(i);
+                    if (c == '=' || c == ';') {
+                        end = i;
+                        break;
+                    }
+                }
+                if (preference.substring(0, end).trim().equalsIgnoreCase(RESPOND_ASYNC)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Matches requests preferring an asynchronous response. As a custom condition, it makes a mapping more
+     * specific than the same mapping without it, so such requests are routed to the annotated handler.
+     */
+    static final class RespondAsyncCondition implements RequestCondition<RespondAsyncCondition> {
+        static final RespondAsyncCondition INSTANCE = new RespondAsyncCondition();
+
+        private RespondAsyncCondition() {
+        }
+
+        @Override
+        public RespondAsyncCondition combine(RespondAsyncCondition other) {
+            return this;
+        }
+
+        @Override
+        public RespondAsyncCondition getMatchingCondition(HttpServletRequest request) {
+            return CorsUtils.isPreFlightRequest(request) || prefersRespondAsync(request) ? this : null;
+        }
+
+        @Override
+        public int compareTo(RespondAsyncCondition other, HttpServletRequest request) {
+            return 0;
+        }
+    }
+}
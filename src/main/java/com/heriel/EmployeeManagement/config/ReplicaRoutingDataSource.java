@@ -0,0 +1,284 @@
+package com.heriel.EmployeeManagement.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Routes connections of read-only transactions to replica databases and all others to the primary.
+ * <p>
+ * Must sit behind a {@code LazyConnectionDataSourceProxy}, so that the connection is only fetched at the first
+ * statement, once the transaction has been marked read-only. A connection goes to a replica only if
+ * <ul>
+ *     <li>the current transaction is read-only, for example a {@code @Transactional(readOnly = true)} method,</li>
+ *     <li>the thread is not inside {@link #onPrimary(Supplier)}, used by reads that must see every committed
+ *     write, such as loads into caches and in-memory views,</li>
+ *     <li>the current client has not written within the read-your-writes window, see {@link #recordWrite(String)},</li>
+ *     <li>and at least one replica is healthy.</li>
+ * </ul>
+ * A read-write transaction of an authenticated client records its write when it commits, so before the response
+ * reaches the client, and any following read of the client then goes to the primary.
+ * <p>
+ * Replicas are picked round-robin or by the fewest active connections. Every check interval each replica runs the
+ * lag query; a replica lagging more than the maximum lag, or failing the query, is skipped until a later check
+ * finds it caught up. Without a healthy replica, reads fall back to the primary.
+ * <p>
+ * The lag and health of each replica are published as the {@code employee.datasource.replica.lag} and
+ * {@code employee.datasource.replica.healthy} gauges, and the routed connections as the
+ * {@code employee.datasource.connections} counter, tagged with the target.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final String PRIMARY = "primary";
+    private static final ThreadLocal<Boolean> pinnedToPrimary = new ThreadLocal<>();
+
+    /**
+     * How replicas are picked for a read.
+     */
+    public enum Selection {
+        ROUND_ROBIN, LEAST_LOADED
+    }
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Selection selection;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final Cache<String, Boolean> recentWriters;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryConnections;
+
+    /**
+     * Creates a routing data source.
+     *
+     * @param primary            the pool of the primary database
+     * @param replicas           the pools of the replica databases
+     * @param selection          how replicas are picked
+     * @param maxLag             the lag above which a replica is skipped
+     * @param lagQuery           the query returning the lag of a replica in seconds
+     * @param readYourWritesTime how long a client reads from the primary after writing
+     * @param meterRegistry      the registry to publish the routing metrics in
+     */
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, Selection selection,
+                                    Duration maxLag, String lagQuery, Duration readYourWritesTime,
+                                    MeterRegistry meterRegistry) {
+        this.selection = selection;
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesTime)
+                .build();
+        this.primaryConnections = connections(meterRegistry, PRIMARY);
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (HikariDataSource dataSource : replicas) {
+            Replica replica = new Replica(dataSource, connections(meterRegistry, dataSource.getPoolName()));
+            this.replicas.add(replica);
+            targets.put(dataSource.getPoolName(), dataSource);
+            Gauge.builder("employee.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replication lag of the replica as of the last check")
+                    .baseUnit("seconds")
+                    .tag("replica", dataSource.getPoolName())
+                    .register(meterRegistry);
+            Gauge.builder("employee.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("Whether the replica receives reads (1) or is skipped (0)")
+                    .tag("replica", dataSource.getPoolName())
+                    .register(meterRegistry);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    private static Counter connections(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("employee.datasource.connections")
+                .description("Connections handed out, by target database")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs an action with every connection routed to the primary, for reads that must see all committed writes.
+     *
+     * @param action the action to run
+     * @param <T>    the type of the result
+     * @return the result of the action
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = pinnedToPrimary.get();
+        pinnedToPrimary.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                pinnedToPrimary.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns the key of the client of the current request, used to keep its reads on the primary after it writes.
+     * Clients are told apart by their access token, as many clients may share a user; requests authenticated
+     * otherwise fall back to the user name.
+     *
+     * @return the ID of the access token, the name of the authenticated user, or null if there is none
+     */
+    static String currentClient() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getDetails() instanceof String tokenId ? "token:" + tokenId : "user:" + authentication.getName();
+    }
+
+    /**
+     * Records that a client has written, so that its reads go to the primary for the read-your-writes window.
+     *
+     * @param client the key of the client, see {@link #currentClient()}
+     */
+    public void recordWrite(String client) {
+        recentWriters.put(client, Boolean.TRUE);
+    }
+
+    /**
+     * Checks the lag of every replica once the pools are set up.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicas();
+    }
+
+    /**
+     * Runs the lag query on every replica and skips the replicas lagging too much or failing the query.
+     */
+    @Scheduled(initialDelayString = "${employee.datasource.replica-check-interval:PT5S}",
+            fixedDelayString = "${employee.datasource.replica-check-interval:PT5S}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                replica.lagSeconds = resultSet.next() ? resultSet.getDouble(1) : Double.NaN;
+                replica.healthy = replica.lagSeconds <= maxLag.toMillis() / 1000.0;
+            } catch (Exception ex) {
+                replica.lagSeconds = Double.NaN;
+                replica.healthy = false;
+                log.debug("Checking the lag of replica {} failed", replica.dataSource.getPoolName(), ex);
+            }
+            if (wasHealthy != replica.healthy) {
+                log.warn("Replica {} is now {} (lag {} s)", replica.dataSource.getPoolName(),
+                        replica.healthy ? "receiving reads" : "skipped", replica.lagSeconds);
+            }
+        }
+    }
+
+    /**
+     * Picks the primary or a replica for the connection about to be fetched.
+     *
+     * @return the name of the target data source
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Replica replica = null;
+        String client = currentClient();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteOnCommit(client);
+        } else if (pinnedToPrimary.get() == null && (client == null || recentWriters.getIfPresent(client) == null)) {
+            replica = pickReplica();
+        }
+        if (replica == null) {
+            primaryConnections.increment();
+            return PRIMARY;
+        }
+        replica.connections.increment();
+        return replica.dataSource.getPoolName();
+    }
+
+    /**
+     * Records a write of the client once the current transaction commits, or right away without a transaction.
+     * The response only reaches the client after the commit, so its next read is already routed to the primary.
+     */
+    private void recordWriteOnCommit(String client) {
+        if (client == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recordWrite(client);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recordWrite(client);
+            }
+        });
+    }
+
+    private Replica pickReplica() {
+        Replica picked = null;
+        int count = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, count));
+        for (int i = 0; i < count; i++) {
+            Replica replica = replicas.get((start + i) % count);
+            if (!replica.healthy) {
+                continue;
+            }
+            if (selection == Selection.ROUND_ROBIN) {
+                return replica;
+            }
+            if (picked == null || replica.activeConnections() < picked.activeConnections()) {
+                picked = replica;
+            }
+        }
+        return picked;
+    }
+
+    /**
+     * Closes the replica pools; the primary pool is closed by its own bean.
+     */
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private static final class Replica {
+        private final HikariDataSource dataSource;
+        private final Counter connections;
+        private volatile boolean healthy;
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(HikariDataSource dataSource, Counter connections) {
+            this.dataSource = dataSource;
+            this.connections = connections;
+        }
+
+        private int activeConnections() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool != null ? pool.getActiveConnections() : 0;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.heriel.EmployeeManagement.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricts a request mapping to requests whose {@code Prefer} headers contain the {@code respond-async}
+ * preference, among any others, see {@link PreferenceConfig}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RespondAsync {
+}
@@ -0,0 +1,12 @@
+package com.heriel.EmployeeManagement.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background tasks, such as the reconciliation of the department statistics.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,112 @@
+package com.heriel.EmployeeManagement.config;
+
+import com.heriel.EmployeeManagement.service.TokenService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.metrics.MetricsEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+
+/**
+ * Security configuration of the API.
+ * <p>
+ * Clients exchange a user name and password for an access token once, with HTTP Basic on
+ * {@code POST /api/auth/token}, and send the token as {@code Authorization: Bearer <token>} on every other
+ * request. Only the token endpoint checks passwords, so the password hash is not computed per request.
+ * No sessions are created. Reading employees requires the USER or ADMIN role, and changing them requires ADMIN.
+ * <p>
+ * The metrics endpoints are also open to scrapers sending the non-expiring scrape token configured with
+ * {@code employee.security.metrics-token} as a bearer token, so they need neither the admin password nor an
+ * hourly renewed access token. The scrape token grants the METRICS role, which reads nothing but metrics.
+ * <p>
+ * The user is configured with {@code spring.security.user.name}, {@code spring.security.user.password}
+ * (e.g. {@code {bcrypt}...}) and {@code spring.security.user.roles}.
+ */
+@Configuration
+@EnableWebSecurity
+public class SecurityConfig {
+
+    /**
+     * Creates the filter chain of the token endpoint, which authenticates with HTTP Basic.
+     *
+     * @param http the security builder
+     * @return the filter chain
+     * @throws Exception if the filter chain cannot be built
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain tokenFilterChain(HttpSecurity http) throws Exception {
+        return http.securityMatcher("/api/auth/token")
+                .authorizeHttpRequests(authorize -> authorize.anyRequest().authenticated())
+                .httpBasic(Customizer.withDefaults())
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .build();
+    }
+
+    /**
+     * Creates the filter chain of the metrics endpoints, which authenticate with the scrape token or an access token.
+     *
+     * @param http         the security builder
+     * @param tokenService the service verifying access tokens
+     * @param metricsToken the token scrapers authenticate with, or empty to require an ADMIN access token
+     * @return the filter chain
+     * @throws Exception if the filter chain cannot be built
+     */
+    @Bean
+    @Order(2)
+    public SecurityFilterChain metricsFilterChain(HttpSecurity http, TokenService tokenService,
+                                                  @Value("${employee.security.metrics-token:}") String metricsToken)
+            throws Exception {
+        return http.securityMatcher(EndpointRequest.to(MetricsEndpoint.class, PrometheusScrapeEndpoint.class))
+                .authorizeHttpRequests(authorize -> authorize.anyRequest().hasAnyRole("METRICS", "ADMIN"))
+                .addFilterBefore(new MetricsTokenAuthenticationFilter(metricsToken), BasicAuthenticationFilter.class)
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class)
+                .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint((request, response, ex) -> {
+                    response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+                    response.sendError(HttpStatus.UNAUTHORIZED.value());
+                }))
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .build();
+    }
+
+    /**
+     * Creates the filter chain of all other requests, which authenticate with an access token.
+     *
+     * @param http         the security builder
+     * @param tokenService the service verifying access tokens
+     * @return the filter chain
+     * @throws Exception if the filter chain cannot be built
+     */
+    @Bean
+    @Order(3)
+    public SecurityFilterChain apiFilterChain(HttpSecurity http, TokenService tokenService) throws Exception {
+        return http
+                .authorizeHttpRequests(authorize -> authorize
+                        .requestMatchers("/error", "/actuator/health", "/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html")
+                        .permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/**").hasAnyRole("USER", "ADMIN")
+                        .anyRequest().hasRole("ADMIN"))
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class)
+                .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint((request, response, ex) -> {
+                    response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+                    response.sendError(HttpStatus.UNAUTHORIZED.value());
+                }))
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .build();
+    }
+}
@@ -0,0 +1,157 @@
+package com.heriel.EmployeeManagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Routes connections to the shard selected for the current thread with {@link #onShard(int, Supplier)}.
+ * <p>
+ * Must sit behind a {@code LazyConnectionDataSourceProxy}, so that the connection of a transaction is only fetched
+ * at its first statement, once the shard has been selected. A connection fetched without a selected shard, for
+ * example by the schema management at startup, goes to shard 0.
+ * <p>
+ * The pages of every shard are merged in memory by {@link com.heriel.EmployeeManagement.service.TopKMerge}, which
+ * compares strings by code point, i.e. as the C collation does. At startup every shard is checked to sort strings
+ * the same way, and the application refuses to start otherwise, as pages would be merged out of order.
+ * <p>
+ * The routed connections are published as the {@code employee.datasource.connections} counter, tagged with the
+ * shard as target.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    private static final ThreadLocal<Integer> currentShard = new ThreadLocal<>();
+    // Strings that the C collation sorts apart from the usual locale collations, which ignore case and punctuation
+    private static final List<String> COLLATION_PROBE = List.of("b", "B", "a", "A", "_", " a", "1", "\u00e9");
+    private static final String COLLATION_QUERY = "SELECT s FROM (VALUES ('b'), ('B'), ('a'), ('A'), ('_'), (' a'), "
+            + "('1'), ('\u00e9')) AS probe(s) ORDER BY s";
+
+    private final List<HikariDataSource> shards;
+    private final List<Counter> connections = new ArrayList<>();
+
+    /**
+     * Creates a routing data source.
+     *
+     * @param shards        the pools of the shards, shard 0 first
+     * @param meterRegistry the registry to publish the routing metrics in
+     */
+    public ShardRoutingDataSource(List<HikariDataSource> shards, MeterRegistry meterRegistry) {
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+            connections.add(Counter.builder("employee.datasource.connections")
+                    .description("Connections handed out, by target database")
+                    .tag("target", shards.get(shard).getPoolName())
+                    .register(meterRegistry));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+    }
+
+    /**
+     * Runs an action with every connection routed to the given shard.
+     * Calls may be nested, but only for the same shard, as a transaction cannot span shards.
+     *
+     * @param shard  the index of the shard
+     * @param action the action to run
+     * @param <T>    the type of the result
+     * @return the result of the action
+     * @throws IllegalStateException if the thread is already routed to another shard
+     */
+    public static <T> T onShard(int shard, Supplier<T> action) {
+        Integer previous = currentShard.get();
+        if (previous != null && previous != shard) {
+            throw new IllegalStateException("Cannot switch from shard " + previous + " to shard " + shard
+                    + " on the same thread");
+        }
+        currentShard.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                currentShard.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns the shard selected for the current thread.
+     *
+     * @return the index of the shard, or null if none is selected
+     */
+    public static Integer currentShard() {
+        return currentShard.get();
+    }
+
+    /**
+     * Checks the collation of every shard once the pools are set up.
+     *
+     * @throws IllegalStateException if a shard does not sort strings by code point, or cannot be queried
+     */
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkCollations();
+    }
+
+    private void checkCollations() {
+        List<String> expected = COLLATION_PROBE.stream().sorted().toList();
+        for (HikariDataSource shard : shards) {
+            List<String> sorted = new ArrayList<>();
+            try (Connection connection = shard.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(COLLATION_QUERY)) {
+                while (resultSet.next()) {
+                    sorted.add(resultSet.getString(1));
+                }
+            } catch (SQLException ex) {
+                throw new IllegalStateException("Cannot check the collation of " + shard.getPoolName(), ex);
+            }
+            if (!sorted.equals(expected)) {
+                throw new IllegalStateException(shard.getPoolName() + " sorts strings as " + sorted + ", not by code "
+                        + "point as " + expected + "; sharding requires databases created with the C collation");
+            }
+        }
+    }
+
+    /**
+     * Returns the number of shards.
+     *
+     * @return the number of shards
+     */
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    /**
+     * Picks the shard for the connection about to be fetched.
+     *
+     * @return the index of the shard
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = currentShard.get();
+        int target = shard != null ? shard : 0;
+        connections.get(target).increment();
+        return target;
+    }
+
+    /**
+     * Closes the pools of the shards; the pool of shard 0 is closed by its own bean.
+     */
+    @Override
+    public void close() {
+        shards.subList(1, shards.size()).forEach(HikariDataSource::close);
+    }
+}
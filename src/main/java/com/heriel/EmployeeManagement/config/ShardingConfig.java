@@ -0,0 +1,135 @@
+package com.heriel.EmployeeManagement.config;
+
+import com.heriel.EmployeeManagement.model.ShardedSequenceGenerator;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of horizontal sharding of the employee table.
+ * <p>
+ * Only active when {@code employee.sharding.urls} lists at least one further shard; otherwise Spring Boot configures
+ * the single pool as usual. Shard 0 is the database configured with {@code spring.datasource.*}, shard 1 onwards are
+ * the listed databases, each with its own pool. Connections are routed by a {@link ShardRoutingDataSource} behind a
+ * {@link LazyConnectionDataSourceProxy}, which is the data source used by JPA, and identifiers are generated with
+ * the shard encoded, see {@link ShardedSequenceGenerator}.
+ * <p>
+ * The Flyway migrations run on every shard at startup.
+ * Sharding must be enabled on empty databases, as the identifiers of existing rows do not encode their shard.
+ * Read replicas are not supported together with sharding.
+ */
+@Configuration
+@ConditionalOnExpression("'${employee.sharding.urls:}' != ''")
+public class ShardingConfig {
+
+    /**
+     * Creates the pool of shard 0 from the {@code spring.datasource.*} properties.
+     *
+     * @param properties  the data source properties
+     * @param replicaUrls the JDBC URLs of the read replicas, which must be empty
+     * @return the pool of shard 0
+     * @throws IllegalStateException if read replicas are configured as well
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public static HikariDataSource firstShardDataSource(DataSourceProperties properties,
+                                                       @Value("${employee.datasource.replica-urls:}") String replicaUrls) {
+        if (!replicaUrls.isBlank()) {
+            throw new IllegalStateException("employee.datasource.replica-urls cannot be combined with employee.sharding.urls");
+        }
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("shard-0");
+        return dataSource;
+    }
+
+    /**
+     * Creates the routing data source with a pool per further shard.
+     *
+     * @param firstShardDataSource the pool of shard 0
+     * @param meterRegistry        the registry to publish the pool and routing metrics in
+     * @param shardUrls            the JDBC URLs of shard 1 onwards
+     * @param username             the user name for shard 1 onwards
+     * @param password             the password for shard 1 onwards
+     * @param poolSize             the maximum number of connections per further shard
+     * @return the routing data source
+     * @throws IllegalStateException if more shards are configured than identifiers can encode
+     */
+    @Bean
+    public static ShardRoutingDataSource shardRoutingDataSource(
+            HikariDataSource firstShardDataSource, MeterRegistry meterRegistry,
+            @Value("${employee.sharding.urls}") List<String> shardUrls,
+            @Value("${employee.sharding.username:${spring.datasource.username:}}") String username,
+            @Value("${employee.sharding.password:${spring.datasource.password:}}") String password,
+            @Value("${employee.sharding.pool-size:10}") int poolSize) {
+        if (shardUrls.size() >= ShardedSequenceGenerator.MAX_SHARDS) {
+            throw new IllegalStateException("At most " + ShardedSequenceGenerator.MAX_SHARDS + " shards are supported");
+        }
+        List<HikariDataSource> shards = new ArrayList<>();
+        shards.add(firstShardDataSource);
+        for (String url : shardUrls) {
+            HikariDataSource shard = new HikariDataSource();
+            shard.setPoolName("shard-" + shards.size());
+            shard.setJdbcUrl(url.trim());
+            shard.setUsername(username);
+            shard.setPassword(password);
+            shard.setMaximumPoolSize(poolSize);
+            shard.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            shards.add(shard);
+        }
+        return new ShardRoutingDataSource(shards, meterRegistry);
+    }
+
+    /**
+     * Creates the data source used by JPA, which fetches a connection from the routing data source only
+     * at the first statement of a transaction, once its shard is selected.
+     *
+     * @param shardRoutingDataSource the routing data source
+     * @return the lazy data source
+     */
+    @Bean
+    @Primary
+    public static LazyConnectionDataSourceProxy dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    /**
+     * Migrates the schema of every shard, shard 0 first, instead of only the database of the JPA data source.
+     *
+     * @param shardRoutingDataSource the routing data source holding the pool of every shard
+     * @return the migration strategy
+     */
+    @Bean
+    public FlywayMigrationStrategy migrateEveryShard(ShardRoutingDataSource shardRoutingDataSource) {
+        return flyway -> {
+            for (int shard = 0; shard < shardRoutingDataSource.getShardCount(); shard++) {
+                DataSource dataSource = (DataSource) shardRoutingDataSource.getResolvedDataSources().get(shard);
+                Flyway.configure().configuration(flyway.getConfiguration()).dataSource(dataSource).load().migrate();
+            }
+        };
+    }
+
+    /**
+     * Enables the shard encoding of generated identifiers.
+     *
+     * @return the customizer of the Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer shardedIdentifiersCustomizer() {
+        return properties -> properties.put(ShardedSequenceGenerator.SHARDED_SETTING, true);
+    }
+}
@@ -0,0 +1,48 @@
+package com.heriel.EmployeeManagement.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #start()} and {@link #stop()}.
+ * <p>
+ * Registered as Hibernate's statement inspector by {@link MetricsConfig}, so every statement issued through
+ * Hibernate, including native and bulk queries, is counted. Statements on threads without a started count are ignored.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector {
+    private final ThreadLocal<int[]> count = new ThreadLocal<>();
+
+    /**
+     * Starts counting the statements of the current thread from zero.
+     */
+    public void start() {
+        count.set(new int[1]);
+    }
+
+    /**
+     * Stops counting the statements of the current thread.
+     *
+     * @return the number of statements since {@link #start()}, or 0 if counting was not started
+     */
+    public int stop() {
+        int[] current = count.get();
+        count.remove();
+        return current == null ? 0 : current[0];
+    }
+
+    /**
+     * Counts a statement and returns it unchanged.
+     *
+     * @param sql the SQL of the statement
+     * @return the same SQL
+     */
+    @Override
+    public String inspect(String sql) {
+        int[] current = count.get();
+        if (current != null) {
+            current[0]++;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,79 @@
+package com.heriel.EmployeeManagement.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records the number of SQL statements executed per request as the {@code http.server.requests.sql.statements}
+ * distribution summary, tagged with the HTTP method and the URI template like {@code http.server.requests}.
+ * <p>
+ * Only statements executed on the request thread are counted; the asynchronous part of a request,
+ * such as the streaming export, is not.
+ */
+public class SqlStatementMetricsInterceptor implements AsyncHandlerInterceptor {
+    private final SqlStatementCounter sqlStatementCounter;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor for SqlStatementMetricsInterceptor.
+     *
+     * @param sqlStatementCounter the counter registered as Hibernate's statement inspector
+     * @param meterRegistry       the registry to record the statement counts in
+     */
+    public SqlStatementMetricsInterceptor(SqlStatementCounter sqlStatementCounter, MeterRegistry meterRegistry) {
+        this.sqlStatementCounter = sqlStatementCounter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Starts counting the statements of the request.
+     *
+     * @param request  the current request
+     * @param response the current response
+     * @param handler  the handler of the request
+     * @return true to continue processing the request
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        sqlStatementCounter.start();
+        return true;
+    }
+
+    /**
+     * Stops counting without recording when the request continues asynchronously on another thread.
+     *
+     * @param request  the current request
+     * @param response the current response
+     * @param handler  the handler of the request
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        sqlStatementCounter.stop();
+    }
+
+    /**
+     * Records the number of statements executed by the request.
+     *
+     * @param request  the current request
+     * @param response the current response
+     * @param handler  the handler of the request
+     * @param ex       the exception thrown by the handler, if any
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int statements = sqlStatementCounter.stop();
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements executed per request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri != null ? uri.toString() : "UNKNOWN")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statements);
+    }
+}
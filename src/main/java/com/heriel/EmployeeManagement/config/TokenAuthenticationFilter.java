@@ -0,0 +1,66 @@
+package com.heriel.EmployeeManagement.config;
+
+import com.heriel.EmployeeManagement.service.TokenService;
+import com.heriel.EmployeeManagement.service.VerifiedToken;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authenticates requests carrying an {@code Authorization: Bearer} access token issued by {@link TokenService}.
+ * <p>
+ * Requests without a token, or with an invalid or expired one, continue unauthenticated and are rejected by
+ * the authorization rules. The authentication is stored in a request attribute rather than a session, so it
+ * is also available to the asynchronous dispatch of the same request.
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+    private static final String BEARER = "Bearer ";
+
+    private final TokenService tokenService;
+    private final SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder.getContextHolderStrategy();
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
+
+    /**
+     * Constructor for TokenAuthenticationFilter.
+     *
+     * @param tokenService the service verifying the tokens
+     */
+    public TokenAuthenticationFilter(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    /**
+     * Authenticates the request if it carries a valid token.
+     *
+     * @param request     the current request
+     * @param response    the current response
+     * @param filterChain the remaining filters
+     * @throws ServletException if a later filter fails
+     * @throws IOException      if a later filter fails
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            VerifiedToken token = tokenService.verify(header.substring(BEARER.length()).trim());
+            if (token != null) {
+                SecurityContext context = securityContextHolderStrategy.createEmptyContext();
+                context.setAuthentication(token.toAuthentication());
+                securityContextHolderStrategy.setContext(context);
+                securityContextRepository.saveContext(context, request, response);
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,66 @@
+package com.heriel.EmployeeManagement.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration of the binary representations of the API.
+ * <p>
+ * Besides JSON, every endpoint reads and writes CBOR ({@code application/cbor}) and Smile
+ * ({@code application/x-jackson-smile}), selected with the Accept and Content-Type headers.
+ * Both are produced by Jackson with the same configuration as JSON, so they carry the same fields.
+ * JSON remains the default when a client does not ask for a binary format, and API responses carry
+ * {@code Vary: Accept} so that shared caches keep the representations apart.
+ * <p>
+ * Large responses in any format are compressed by the server, see {@code server.compression.*}.
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    /**
+     * Creates the message converter for CBOR.
+     *
+     * @param builder the object mapper builder configured by Spring Boot
+     * @return the CBOR message converter
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.cbor().build());
+    }
+
+    /**
+     * Creates the message converter for Smile.
+     *
+     * @param builder the object mapper builder configured by Spring Boot
+     * @return the Smile message converter
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.smile().build());
+    }
+
+    /**
+     * Marks API responses as depending on the Accept header.
+     *
+     * @param registry the interceptor registry
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,40 @@
+package com.heriel.EmployeeManagement.controller;
+
+import com.heriel.EmployeeManagement.dto.AccessToken;
+import com.heriel.EmployeeManagement.service.TokenService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller issuing access tokens.
+ * This is the only endpoint accepting a user name and password (HTTP Basic); all others take the token.
+ */
+@RestController
+@RequestMapping("/api/auth")
+public class AuthController {
+    private final TokenService tokenService;
+
+    /**
+     * Constructor for AuthController.
+     *
+     * @param tokenService the token service
+     */
+    public AuthController(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    /**
+     * Issues an access token to the user authenticated with HTTP Basic.
+     *
+     * @param authentication the authenticated user
+     * @return ResponseEntity with the access token
+     */
+    @PostMapping("/token")
+    public ResponseEntity<AccessToken> issueToken(Authentication authentication) {
+        return ResponseEntity.ok(new AccessToken(tokenService.issue(authentication), "Bearer",
+                tokenService.getTtl().toSeconds()));
+    }
+}
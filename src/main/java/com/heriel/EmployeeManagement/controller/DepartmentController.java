@@ -0,0 +1,74 @@
+package com.heriel.EmployeeManagement.controller;
+
+import com.heriel.EmployeeManagement.dto.BulkUpdateResult;
+import com.heriel.EmployeeManagement.dto.DepartmentTransfer;
+import com.heriel.EmployeeManagement.dto.SalaryAdjustment;
+import com.heriel.EmployeeManagement.service.EmployeeService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for set-based writes to all employees of a department.
+ * Each request runs as a single UPDATE or DELETE statement in one transaction.
+ */
+@RestController
+@RequestMapping("/api/employees/departments")
+public class DepartmentController {
+    private final EmployeeService employeeService;
+
+    /**
+     * Constructor for DepartmentController.
+     *
+     * @param employeeService the employee service
+     */
+    public DepartmentController(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    /**
+     * Changes the salary of every employee in a department by a percentage or an absolute amount.
+     *
+     * @param department the name of the department
+     * @param adjustment the salary change
+     * @return ResponseEntity with the number of updated employees and HTTP status
+     */
+    @PostMapping("/{department}/salary-adjustment")
+    public ResponseEntity<BulkUpdateResult> adjustSalaries(@PathVariable String department,
+                                                           @Valid @RequestBody SalaryAdjustment adjustment) {
+        int updated = employeeService.adjustDepartmentSalaries(department, adjustment.getPercent(), adjustment.getAmount());
+        return new ResponseEntity<>(new BulkUpdateResult(department, updated), HttpStatus.OK);
+    }
+
+    /**
+     * Moves every employee of a department to another department.
+     *
+     * @param department the name of the department to move employees from
+     * @param transfer   the department to move employees to
+     * @return ResponseEntity with the number of moved employees and HTTP status
+     */
+    @PostMapping("/{department}/transfer")
+    public ResponseEntity<BulkUpdateResult> transfer(@PathVariable String department,
+                                                     @Valid @RequestBody DepartmentTransfer transfer) {
+        int moved = employeeService.moveDepartment(department, transfer.getTargetDepartment());
+        return new ResponseEntity<>(new BulkUpdateResult(department, moved), HttpStatus.OK);
+    }
+
+    /**
+     * Deletes every employee of a department.
+     *
+     * @param department the name of the department
+     * @return ResponseEntity with the number of deleted employees and HTTP status
+     */
+    @DeleteMapping("/{department}")
+    public ResponseEntity<BulkUpdateResult> deleteDepartment(@PathVariable String department) {
+        int deleted = employeeService.deleteDepartment(department);
+        return new ResponseEntity<>(new BulkUpdateResult(department, deleted), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,70 @@
+package com.heriel.EmployeeManagement.controller;
+
+import com.heriel.EmployeeManagement.dto.ChangePage;
+import com.heriel.EmployeeManagement.exception.BadRequestException;
+import com.heriel.EmployeeManagement.service.EmployeeChangeFeed;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller for the feed of committed employee changes, so that clients no longer re-poll the employee list.
+ * <p>
+ * Clients accepting {@code text/event-stream} get a stream of Server-Sent Events, one per change, whose event ID
+ * is the position of the feed after it. Other clients read the changes after a position as JSON. Either way, the
+ * position is opaque to the client and is passed back as {@code since} or Last-Event-ID to continue after it.
+ */
+@RestController
+@RequestMapping("/api/employees/changes")
+public class EmployeeChangeController {
+    private static final int MAX_LIMIT = 1000;
+
+    private final EmployeeChangeFeed employeeChangeFeed;
+
+    /**
+     * Constructor for EmployeeChangeController.
+     *
+     * @param employeeChangeFeed the change feed
+     */
+    public EmployeeChangeController(EmployeeChangeFeed employeeChangeFeed) {
+        this.employeeChangeFeed = employeeChangeFeed;
+    }
+
+    /**
+     * Streams the changes as Server-Sent Events until the request times out or the client disconnects.
+     * Without a position, the stream starts with the next change.
+     *
+     * @param lastEventId the ID of the last event received before reconnecting, sent by EventSource clients
+     * @param since       the position to continue after, used if there is no Last-Event-ID header
+     * @return ResponseEntity with the event stream
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(required = false) String since) {
+        return ResponseEntity.ok(employeeChangeFeed.subscribe(lastEventId != null ? lastEventId : since));
+    }
+
+    /**
+     * Retrieves the changes after a position, as a resumable alternative to the event stream.
+     * Without a position, starts with the oldest change kept.
+     *
+     * @param since the position to continue after, from {@code next} of the previous response
+     * @param limit the maximum number of changes per shard (default is 100, at most 1000)
+     * @return ResponseEntity with the changes and the position after them, or HTTP status GONE if changes after the
+     * position are no longer kept
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ChangePage> getChanges(@RequestParam(required = false) String since,
+                                                 @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return ResponseEntity.ok(employeeChangeFeed.getChanges(since, limit));
+    }
+}
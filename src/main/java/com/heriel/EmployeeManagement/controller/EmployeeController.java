@@ -1,15 +1,44 @@
 package com.heriel.EmployeeManagement.controller;
 
+import com.heriel.EmployeeManagement.dto.BatchRequest;
+import com.heriel.EmployeeManagement.dto.BatchResult;
+import com.heriel.EmployeeManagement.dto.CursorPage;
+import com.heriel.EmployeeManagement.dto.DepartmentStats;
+import com.heriel.EmployeeManagement.dto.EmployeeCursor;
 import com.heriel.EmployeeManagement.dto.EmployeeDTO;
+import com.heriel.EmployeeManagement.dto.EmployeeSearchCriteria;
+import com.heriel.EmployeeManagement.dto.ImportReport;
+import com.heriel.EmployeeManagement.dto.OffsetPage;
+import com.heriel.EmployeeManagement.exception.BadRequestException;
+import com.heriel.EmployeeManagement.exception.PreconditionFailedException;
 import com.heriel.EmployeeManagement.model.Employee;
+import com.heriel.EmployeeManagement.service.DepartmentStatsService;
+import com.heriel.EmployeeManagement.service.EmployeeExportService;
+import com.heriel.EmployeeManagement.service.EmployeeImportService;
 import com.heriel.EmployeeManagement.service.EmployeeService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * REST controller for managing employees.
@@ -17,15 +46,31 @@ import org.springframework.web.bind.annotation.*;
 @RestController
 @RequestMapping("/api/employees")
 public class EmployeeController {
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+    private static final int MAX_IDS = 1000;
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
     private final EmployeeService employeeService;
+    private final EmployeeExportService employeeExportService;
+    private final EmployeeImportService employeeImportService;
+    private final DepartmentStatsService departmentStatsService;
 
     /**
      * Constructor for EmployeeController.
      *
-     * @param employeeService the employee service
+     * @param employeeService        the employee service
+     * @param employeeExportService  the employee export service
+     * @param employeeImportService  the employee import service
+     * @param departmentStatsService the department statistics service
      */
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService,
+                              EmployeeExportService employeeExportService,
+                              EmployeeImportService employeeImportService,
+                              DepartmentStatsService departmentStatsService) {
         this.employeeService = employeeService;
+        this.employeeExportService = employeeExportService;
+        this.employeeImportService = employeeImportService;
+        this.departmentStatsService = departmentStatsService;
     }
 
     /**
@@ -44,44 +89,225 @@ public class EmployeeController {
         }
     }
 
+    /**
+     * Applies a batch of create, update and delete operations in a single transaction.
+     * The batch is applied completely or not at all.
+     *
+     * @param batchRequest the batch of operations
+     * @return ResponseEntity with the outcome of each operation, and HTTP status OK if the batch
+     * was applied or NOT_FOUND if an operation targets an unknown employee
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResult> applyBatch(@Valid @RequestBody BatchRequest batchRequest) {
+        BatchResult result = employeeService.applyBatch(batchRequest.getOperations());
+        return new ResponseEntity<>(result, result.isApplied() ? HttpStatus.OK : HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Bulk imports employees from a CSV upload with a header line.
+     * The body is parsed as it is read; invalid rows are skipped and listed in the report.
+     *
+     * @param body the CSV request body
+     * @return ResponseEntity with the import report and HTTP status
+     * @throws IOException if reading the request body fails
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportReport> importEmployeesCsv(InputStream body) throws IOException {
+        return new ResponseEntity<>(employeeImportService.importCsv(body), HttpStatus.OK);
+    }
+
+    /**
+     * Bulk imports employees from an NDJSON upload, one employee per line.
+     * The body is parsed as it is read; invalid rows are skipped and listed in the report.
+     *
+     * @param body the NDJSON request body
+     * @return ResponseEntity with the import report and HTTP status
+     * @throws IOException if reading the request body fails
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportReport> importEmployeesNdjson(InputStream body) throws IOException {
+        return new ResponseEntity<>(employeeImportService.importNdjson(body), HttpStatus.OK);
+    }
+
     /**
      * Retrieves all employees with pagination and sorting.
+     * Pass {@code fields} to return only some fields of each employee; only those columns are selected.
+     * The page carries a weak ETag; a request with a matching If-None-Match header gets HTTP status
+     * NOT_MODIFIED without a body.
      *
-     * @param page the page number (default is 0)
-     * @param size the number of items per page (default is 10)
-     * @param sort the sorting criteria (default is "id,asc")
-     * @return ResponseEntity with a list of employees and HTTP status
+     * @param page   the page number (default is 0)
+     * @param size   the number of items per page (default is 10)
+     * @param sort   the sorting criteria (default is "id,asc")
+     * @param fields the comma-separated fields to return, e.g. "id,firstName,department" (default is all fields)
+     * @return ResponseEntity with a page of employees, its weak ETag and HTTP status
      */
     @GetMapping
-    public ResponseEntity<Iterable<Employee>> getAllEmployees(
+    public ResponseEntity<OffsetPage<Map<String, Object>>> getAllEmployees(
             @RequestParam(defaultValue = "0") int page, // Page number starts at 0
             @RequestParam(defaultValue = "10") int size, // Number of items per page
-            @RequestParam(defaultValue = "id,asc") String[] sort // Sort by field, order
+            @RequestParam(defaultValue = "id,asc") String[] sort, // Sort by field, order
+            @RequestParam(required = false) List<String> fields // Fields to return
     ) {
+        if (!EmployeeCursor.SORTABLE_FIELDS.contains(sort[0])) {
+            throw new BadRequestException("Cannot sort by '" + sort[0] + "', allowed fields are " + EmployeeCursor.SORTABLE_FIELDS);
+        }
         // Creating Sort object based on query parameters
-        Sort.Direction sortDirection = sort[1].equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort.Direction sortDirection = sort.length > 1 && sort[1].equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
         Sort sorting = Sort.by(sortDirection, sort[0]);
 
         // Creating Pageable object
         Pageable pageable = PageRequest.of(page, size, sorting);
 
-        // Fetch paginated employees
-        Iterable<Employee> employees = employeeService.getEmployees(pageable);
+        // Fetch the requested fields of the paginated employees; a matching If-None-Match gets NOT_MODIFIED
+        OffsetPage<Map<String, Object>> employees = OffsetPage.of(employeeService.getEmployeeFields(fields, pageable));
+        return ResponseEntity.ok().eTag(eTag(employees, row -> row.values().stream())).body(employees);
+    }
+
+    /**
+     * Retrieves employees with keyset (cursor) pagination.
+     * Pass an empty {@code after} to start from the first page, then the returned next cursor
+     * to continue. The cost of a page does not depend on how deep into the result set it is.
+     *
+     * @param after the cursor returned by the previous page, or empty for the first page
+     * @param size  the number of items per page (default is 10, at most 1000)
+     * @param sort  the sorting criteria for the first page (default is "id,asc"); ignored when a cursor is given
+     * @return ResponseEntity with a page of employees and the next cursor, and HTTP status
+     */
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<Employee>> getEmployeesAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id,asc") String[] sort
+    ) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+
+        EmployeeCursor cursor;
+        if (after == null || after.isEmpty()) {
+            Sort.Direction sortDirection = sort.length > 1 && sort[1].equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+            cursor = EmployeeCursor.first(sort[0], sortDirection);
+        } else {
+            cursor = EmployeeCursor.decode(after);
+        }
+
+        Window<Employee> window = employeeService.getEmployees(cursor.position(), cursor.sort(), size);
+
+        String nextCursor = window.hasNext() ? cursor.next(window.positionAt(window.size() - 1)).encode() : null;
+        return new ResponseEntity<>(new CursorPage<>(window.getContent(), size, window.hasNext(), nextCursor), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves several employees by ID, with one query instead of a request per employee.
+     * Unknown IDs are left out of the result.
+     *
+     * @param ids the comma-separated employee IDs, at most 1000, e.g. "1,2,3"
+     * @return ResponseEntity with the employees found, in the order of their IDs, and HTTP status
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<Employee>> getEmployeesByIds(@RequestParam String ids) {
+        List<Long> parsedIds = new ArrayList<>();
+        for (String id : ids.split(",")) {
+            if (!id.isBlank()) {
+                try {
+                    parsedIds.add(Long.valueOf(id.trim()));
+                } catch (NumberFormatException ex) {
+                    throw new BadRequestException("Invalid employee ID '" + id.trim() + "'");
+                }
+            }
+        }
+        if (parsedIds.isEmpty() || parsedIds.size() > MAX_IDS) {
+            throw new BadRequestException("Between 1 and " + MAX_IDS + " IDs must be given");
+        }
+        return new ResponseEntity<>(employeeService.getEmployees(parsedIds), HttpStatus.OK);
+    }
+
+    /**
+     * Searches employees by department, email, name prefix and salary range, with pagination and sorting.
+     * All filters are optional and combined with AND. The page carries a weak ETag derived from the IDs and
+     * versions of the matching employees; a request with a matching If-None-Match header gets NOT_MODIFIED.
+     *
+     * @param criteria the search criteria, bound from the department, email, name, minSalary and maxSalary parameters
+     * @param page     the page number (default is 0)
+     * @param size     the number of items per page (default is 10)
+     * @param sort     the sorting criteria (default is "id,asc")
+     * @return ResponseEntity with a page of matching employees, its weak ETag and HTTP status
+     */
+    @GetMapping("/search")
+    public ResponseEntity<OffsetPage<Employee>> searchEmployees(
+            EmployeeSearchCriteria criteria,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id,asc") String[] sort
+    ) {
+        if (criteria.getMinSalary() != null && criteria.getMaxSalary() != null
+                && criteria.getMinSalary() > criteria.getMaxSalary()) {
+            throw new BadRequestException("minSalary must not be greater than maxSalary");
+        }
+        if (!EmployeeCursor.SORTABLE_FIELDS.contains(sort[0])) {
+            throw new BadRequestException("Cannot sort by '" + sort[0] + "', allowed fields are " + EmployeeCursor.SORTABLE_FIELDS);
+        }
+        Sort.Direction sortDirection = sort.length > 1 && sort[1].equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort[0]));
+
+        OffsetPage<Employee> employees = OffsetPage.of(employeeService.searchEmployees(criteria, pageable));
+        return ResponseEntity.ok()
+                .eTag(eTag(employees, employee -> Stream.of(employee.getId(), employee.getVersion())))
+                .body(employees);
+    }
 
-        return new ResponseEntity<>(employees, HttpStatus.OK);
+    /**
+     * Retrieves the headcount and payroll statistics of every department.
+     * Served from memory, so the cost depends on the number of departments and not of employees.
+     *
+     * @return ResponseEntity with the statistics of each department and HTTP status
+     */
+    @GetMapping("/stats/departments")
+    public ResponseEntity<List<DepartmentStats>> getDepartmentStats() {
+        return new ResponseEntity<>(departmentStatsService.getDepartmentStats(), HttpStatus.OK);
+    }
+
+    /**
+     * Exports all employees as a stream, in NDJSON or CSV depending on the Accept header.
+     * NDJSON is used unless the client prefers text/csv.
+     *
+     * @param accept the Accept header of the request
+     * @return ResponseEntity with a streaming body and HTTP status
+     */
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = MediaType.ALL_VALUE) String accept
+    ) {
+        boolean csv = prefersCsv(accept);
+        StreamingResponseBody body = csv ? employeeExportService::exportCsv : employeeExportService::exportNdjson;
+        return ResponseEntity.ok()
+                .contentType(csv ? TEXT_CSV : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(csv ? "employees.csv" : "employees.ndjson").build().toString())
+                .body(body);
     }
 
     /**
-     * Retrieves an employee by ID.
+     * Retrieves an employee by ID, with its version as a strong ETag.
+     * If the request carries a matching If-None-Match header, only the version is read and
+     * HTTP status NOT_MODIFIED is returned without a body.
      *
-     * @param id the employee ID
+     * @param id          the employee ID
+     * @param ifNoneMatch the ETags the client already has, if any
      * @return ResponseEntity with the employee and HTTP status
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Employee> getEmployee(@PathVariable Long id) {
+    public ResponseEntity<Employee> getEmployee(@PathVariable Long id,
+                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Long version = employeeService.getEmployeeVersion(id);
+            if (version != null && matchesAny(ifNoneMatch, eTag(version))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag(version)).build();
+            }
+        }
         Employee employee = employeeService.getEmployee(id);
         if (employee != null) {
-            return new ResponseEntity<>(employee, HttpStatus.OK);
+            return ResponseEntity.ok().eTag(eTag(employee.getVersion())).body(employee);
         } else {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
@@ -89,16 +315,20 @@ public class EmployeeController {
 
     /**
      * Updates an existing employee.
+     * With an If-Match header holding the ETag of the current version, the update is only applied if the
+     * employee has not changed since; otherwise HTTP status PRECONDITION_FAILED is returned.
      *
      * @param id          the employee ID
      * @param employeeDTO the employee data transfer object
-     * @return ResponseEntity with a message and HTTP status
+     * @param ifMatch     the ETag the employee must still have, or "*" or null for any version
+     * @return ResponseEntity with a message, the ETag of the new version and HTTP status
      */
     @PutMapping("/{id}")
-    public ResponseEntity<String> updateEmployee(@PathVariable Long id, @Valid @RequestBody EmployeeDTO employeeDTO) {
-        boolean isEmployeeUpdated = employeeService.updateEmployee(id, employeeDTO);
-        if (isEmployeeUpdated) {
-            return new ResponseEntity<>("Employee updated successfully", HttpStatus.OK);
+    public ResponseEntity<String> updateEmployee(@PathVariable Long id, @Valid @RequestBody EmployeeDTO employeeDTO,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long version = employeeService.updateEmployee(id, employeeDTO, expectedVersion(ifMatch));
+        if (version != null) {
+            return ResponseEntity.ok().eTag(eTag(version)).body("Employee updated successfully");
         } else {
             return new ResponseEntity<>("Failed to update employee", HttpStatus.NOT_FOUND);
         }
@@ -106,17 +336,97 @@ public class EmployeeController {
 
     /**
      * Deletes an employee by ID.
+     * With an If-Match header holding the ETag of the current version, the employee is only deleted if it
+     * has not changed since; otherwise HTTP status PRECONDITION_FAILED is returned.
      *
-     * @param id the employee ID
+     * @param id      the employee ID
+     * @param ifMatch the ETag the employee must still have, or "*" or null for any version
      * @return ResponseEntity with a message and HTTP status
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<String> deleteEmployee(@PathVariable Long id) {
-        boolean isEmployeeDeleted = employeeService.deleteEmployee(id);
+    public ResponseEntity<String> deleteEmployee(@PathVariable Long id,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        boolean isEmployeeDeleted = employeeService.deleteEmployee(id, expectedVersion(ifMatch));
         if (isEmployeeDeleted) {
             return new ResponseEntity<>("Employee deleted successfully", HttpStatus.OK);
         } else {
             return new ResponseEntity<>("Failed to delete employee", HttpStatus.NOT_FOUND);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Decides whether the client prefers CSV over NDJSON, honouring quality values.
+     *
+     * @param accept the Accept header of the request
+     * @return true if CSV should be produced
+     */
+    private static boolean prefersCsv(String accept) {
+        List<MediaType> acceptedTypes = MediaType.parseMediaTypes(accept);
+        acceptedTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType acceptedType : acceptedTypes) {
+            if (acceptedType.isWildcardType() || acceptedType.includes(MediaType.APPLICATION_NDJSON)) {
+                return false;
+            }
+            if (acceptedType.includes(TEXT_CSV)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the strong ETag of an employee version.
+     */
+    private static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Returns a weak ETag of a page of rows, derived from the page metadata and every value of every row.
+     * It is computed without serializing, and is weak because the same rows are served in several formats and encodings.
+     */
+    private static <T> String eTag(OffsetPage<T> page, Function<T, Stream<?>> values) {
+        StringBuilder key = new StringBuilder()
+                .append(page.getPage()).append('/').append(page.getSize()).append('/').append(page.getTotalElements());
+        for (T row : page.getContent()) {
+            key.append('\n');
+            values.apply(row).forEach(value -> key.append(value).append('\u0000'));
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Returns whether an If-None-Match header lists the given ETag or "*"; weak ETags match by their opaque tag.
+     */
+    private static boolean matchesAny(String ifNoneMatch, String eTag) {
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*") || tag.equals(eTag) || tag.equals("W/" + eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses the version from an If-Match header holding a single strong ETag.
+     *
+     * @return the expected version, or null if the header is absent or "*"
+     * @throws PreconditionFailedException if the header holds a weak, malformed or more than one ETag,
+     *                                     which can never match strongly
+     */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ex) {
+                // Not a version ETag, so it cannot match
+            }
+        }
+        throw new PreconditionFailedException("If-Match must be a single strong ETag of this employee, got " + ifMatch);
+    }
+}
@@ -0,0 +1,91 @@
+package com.heriel.EmployeeManagement.controller;
+
+import com.heriel.EmployeeManagement.config.RespondAsync;
+import com.heriel.EmployeeManagement.dto.EmployeeDTO;
+import com.heriel.EmployeeManagement.dto.WriteStatus;
+import com.heriel.EmployeeManagement.service.EmployeeWriteBehindService;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+
+/**
+ * REST controller for asynchronous (write-behind) employee writes.
+ * <p>
+ * Adding or updating an employee with the {@code respond-async} preference in a {@code Prefer} header, among any
+ * other preferences, is routed here instead of to {@link EmployeeController}: the validated employee is queued
+ * and the response is 202 Accepted with a tracking ID, whose status can be polled. A full queue is answered with 429 Too Many Requests and a Retry-After header.
+ * Updates with an If-Match header are always written synchronously. Only available when
+ * {@code employee.write-behind.enabled=true}; otherwise the header is ignored and writes are synchronous.
+ */
+@RestController
+@RequestMapping("/api/employees")
+@ConditionalOnProperty(name = "employee.write-behind.enabled", havingValue = "true")
+public class EmployeeWriteBehindController {
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+
+    private final EmployeeWriteBehindService employeeWriteBehindService;
+
+    /**
+     * Constructor for EmployeeWriteBehindController.
+     *
+     * @param employeeWriteBehindService the write-behind service
+     */
+    public EmployeeWriteBehindController(EmployeeWriteBehindService employeeWriteBehindService) {
+        this.employeeWriteBehindService = employeeWriteBehindService;
+    }
+
+    /**
+     * Accepts a new employee for asynchronous writing.
+     *
+     * @param employeeDTO the employee data transfer object containing employee details
+     * @return ResponseEntity with the pending write status and HTTP status ACCEPTED
+     */
+    @PostMapping
+    @RespondAsync
+    public ResponseEntity<WriteStatus> addEmployeeAsync(@Valid @RequestBody EmployeeDTO employeeDTO) {
+        return accepted(employeeWriteBehindService.enqueueCreate(employeeDTO));
+    }
+
+    /**
+     * Accepts an update of an employee for asynchronous writing. Whether the employee exists is only
+     * known once the write is flushed; an update of a missing employee ends up FAILED.
+     *
+     * @param id          the ID of the employee to update
+     * @param employeeDTO the employee data transfer object containing updated employee details
+     * @return ResponseEntity with the pending write status and HTTP status ACCEPTED
+     */
+    @PutMapping(value = "/{id}", headers = "!If-Match")
+    @RespondAsync
+    public ResponseEntity<WriteStatus> updateEmployeeAsync(@PathVariable Long id, @Valid @RequestBody EmployeeDTO employeeDTO) {
+        return accepted(employeeWriteBehindService.enqueueUpdate(id, employeeDTO));
+    }
+
+    /**
+     * Retrieves the status of an asynchronous write.
+     *
+     * @param trackingId the tracking ID returned when the write was accepted
+     * @return ResponseEntity with the write status, or HTTP status NOT_FOUND if the tracking ID is unknown or expired
+     */
+    @GetMapping("/writes/{trackingId}")
+    public ResponseEntity<WriteStatus> getWriteStatus(@PathVariable String trackingId) {
+        WriteStatus status = employeeWriteBehindService.getStatus(trackingId);
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    }
+
+    private static ResponseEntity<WriteStatus> accepted(WriteStatus status) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/employees/writes/" + status.getTrackingId()))
+                .header(PREFERENCE_APPLIED, "respond-async")
+                .body(status);
+    }
+}
@@ -0,0 +1,94 @@
+package com.heriel.EmployeeManagement.controller;
+
+import com.heriel.EmployeeManagement.dto.SalaryHistogram;
+import com.heriel.EmployeeManagement.dto.SalaryPercentiles;
+import com.heriel.EmployeeManagement.dto.SalaryRank;
+import com.heriel.EmployeeManagement.exception.BadRequestException;
+import com.heriel.EmployeeManagement.service.SalaryAnalyticsService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for salary distribution queries, served from the in-memory salary column store.
+ * Only available when {@code employee.analytics.enabled=true}.
+ */
+@RestController
+@RequestMapping("/api/employees/analytics/salaries")
+@ConditionalOnProperty(name = "employee.analytics.enabled", havingValue = "true")
+public class SalaryAnalyticsController {
+    private static final int MAX_RESULTS = 1000;
+
+    private final SalaryAnalyticsService salaryAnalyticsService;
+
+    /**
+     * Constructor for SalaryAnalyticsController.
+     *
+     * @param salaryAnalyticsService the salary analytics service
+     */
+    public SalaryAnalyticsController(SalaryAnalyticsService salaryAnalyticsService) {
+        this.salaryAnalyticsService = salaryAnalyticsService;
+    }
+
+    /**
+     * Retrieves salary percentiles.
+     *
+     * @param department the department to restrict to (optional)
+     * @param p          the percentiles to compute, each between 0 and 100 (default is 50, 90 and 99)
+     * @return ResponseEntity with the salary at each percentile and HTTP status
+     */
+    @GetMapping("/percentiles")
+    public ResponseEntity<SalaryPercentiles> getPercentiles(
+            @RequestParam(required = false) String department,
+            @RequestParam(defaultValue = "50,90,99") double[] p
+    ) {
+        for (double percentile : p) {
+            if (!(percentile >= 0 && percentile <= 100)) {
+                throw new BadRequestException("Percentiles must be between 0 and 100");
+            }
+        }
+        return new ResponseEntity<>(salaryAnalyticsService.getPercentiles(department, p), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves a salary histogram with equally wide buckets from the lowest to the highest salary.
+     *
+     * @param department the department to restrict to (optional)
+     * @param buckets    the number of buckets (default is 10)
+     * @return ResponseEntity with the histogram and HTTP status
+     */
+    @GetMapping("/histogram")
+    public ResponseEntity<SalaryHistogram> getHistogram(
+            @RequestParam(required = false) String department,
+            @RequestParam(defaultValue = "10") int buckets
+    ) {
+        if (buckets < 1 || buckets > MAX_RESULTS) {
+            throw new BadRequestException("buckets must be between 1 and " + MAX_RESULTS);
+        }
+        return new ResponseEntity<>(salaryAnalyticsService.getHistogram(department, buckets), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves the employees with the highest salaries.
+     *
+     * @param department the department to restrict to (optional)
+     * @param n          the number of employees to return (default is 10)
+     * @return ResponseEntity with the employees, highest salary first, and HTTP status
+     */
+    @GetMapping("/top")
+    public ResponseEntity<List<SalaryRank>> getTopEarners(
+            @RequestParam(required = false) String department,
+            @RequestParam(defaultValue = "10") int n
+    ) {
+        if (n < 1 || n > MAX_RESULTS) {
+            throw new BadRequestException("n must be between 1 and " + MAX_RESULTS);
+        }
+        return new ResponseEntity<>(salaryAnalyticsService.getTopEarners(department, n), HttpStatus.OK);
+    }
+}
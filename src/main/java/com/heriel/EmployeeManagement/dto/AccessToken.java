@@ -0,0 +1,24 @@
+package com.heriel.EmployeeManagement.dto;
+
+import lombok.Value;
+
+/**
+ * An access token issued to an authenticated user, sent as {@code Authorization: Bearer <accessToken>}.
+ */
+@Value
+public class AccessToken {
+    /**
+     * The token.
+     */
+    String accessToken;
+
+    /**
+     * The scheme to send the token with, always "Bearer".
+     */
+    String tokenType;
+
+    /**
+     * The number of seconds the token is valid for.
+     */
+    long expiresIn;
+}
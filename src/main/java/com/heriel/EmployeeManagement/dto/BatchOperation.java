@@ -0,0 +1,38 @@
+package com.heriel.EmployeeManagement.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * A single create, update or delete operation within a batch request.
+ */
+@Data
+public class BatchOperation {
+    /**
+     * The kind of operation.
+     * Must not be null.
+     */
+    @NotNull(message = "Operation type is mandatory")
+    private Type op;
+
+    /**
+     * The ID of the employee to update or delete.
+     * Must be null for CREATE operations.
+     */
+    private Long id;
+
+    /**
+     * The employee details for CREATE and UPDATE operations.
+     * Must be null for DELETE operations.
+     */
+    @Valid
+    private EmployeeDTO employee;
+
+    /**
+     * The supported batch operation types.
+     */
+    public enum Type {
+        CREATE, UPDATE, DELETE
+    }
+}
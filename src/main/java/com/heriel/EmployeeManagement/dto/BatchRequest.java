@@ -0,0 +1,23 @@
+package com.heriel.EmployeeManagement.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a batch of employee operations applied in one transaction.
+ */
+@Data
+public class BatchRequest {
+    /**
+     * The operations to apply, in order.
+     * Must not be empty and must contain at most 1000 operations.
+     */
+    @NotEmpty(message = "Operations are mandatory")
+    @Size(max = 1000, message = "A batch must contain at most 1000 operations")
+    @Valid
+    private List<BatchOperation> operations;
+}
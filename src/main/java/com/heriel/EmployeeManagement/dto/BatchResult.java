@@ -0,0 +1,54 @@
+package com.heriel.EmployeeManagement.dto;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Result of applying a batch of employee operations.
+ */
+@Value
+public class BatchResult {
+    /**
+     * Whether the batch was applied. A batch is applied either completely or not at all.
+     */
+    boolean applied;
+
+    /**
+     * The outcome of each operation, in request order.
+     */
+    List<OperationResult> results;
+
+    /**
+     * Outcome of a single batch operation.
+     */
+    @Value
+    public static class OperationResult {
+        /**
+         * The position of the operation in the request, starting at 0.
+         */
+        int index;
+
+        /**
+         * The kind of operation.
+         */
+        BatchOperation.Type op;
+
+        /**
+         * The ID of the affected employee; for CREATE operations the newly assigned ID.
+         */
+        Long id;
+
+        /**
+         * The outcome of the operation.
+         */
+        Status status;
+    }
+
+    /**
+     * The possible outcomes of a batch operation.
+     */
+    public enum Status {
+        CREATED, UPDATED, DELETED, NOT_FOUND, NOT_APPLIED
+    }
+}
@@ -0,0 +1,19 @@
+package com.heriel.EmployeeManagement.dto;
+
+import lombok.Value;
+
+/**
+ * Result of a set-based update or delete of the employees of a department.
+ */
+@Value
+public class BulkUpdateResult {
+    /**
+     * The department the statement was applied to.
+     */
+    String department;
+
+    /**
+     * The number of employees updated or deleted.
+     */
+    int affected;
+}
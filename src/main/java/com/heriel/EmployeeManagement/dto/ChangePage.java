@@ -0,0 +1,21 @@
+package com.heriel.EmployeeManagement.dto;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * A batch of events read from the change feed over plain HTTP.
+ */
+@Value
+public class ChangePage {
+    /**
+     * The events after the requested position, oldest first.
+     */
+    List<EmployeeChangeEvent> events;
+
+    /**
+     * The position to pass as {@code since} to continue after these events; unchanged if there are none.
+     */
+    String next;
+}
@@ -0,0 +1,33 @@
+package com.heriel.EmployeeManagement.dto;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * A page of results returned by keyset (cursor) pagination.
+ *
+ * @param <T> the type of the page content
+ */
+@Value
+public class CursorPage<T> {
+    /**
+     * The rows of this page.
+     */
+    List<T> content;
+
+    /**
+     * The requested page size.
+     */
+    int size;
+
+    /**
+     * Whether more rows follow this page.
+     */
+    boolean hasNext;
+
+    /**
+     * The cursor to pass as {@code after} to fetch the next page, or null if this is the last page.
+     */
+    String nextCursor;
+}
@@ -0,0 +1,89 @@
+package com.heriel.EmployeeManagement.dto;
+
+import lombok.Value;
+
+/**
+ * Headcount and payroll statistics of a single department.
+ * Instances are immutable; every change produces a new instance.
+ */
+@Value
+public class DepartmentStats {
+    /**
+     * The name of the department.
+     */
+    String department;
+
+    /**
+     * The number of employees in the department.
+     */
+    long headcount;
+
+    /**
+     * The sum of the salaries in the department.
+     */
+    double totalSalary;
+
+    /**
+     * The lowest salary in the department.
+     */
+    double minSalary;
+
+    /**
+     * The highest salary in the department.
+     */
+    double maxSalary;
+
+    /**
+     * Returns the average salary in the department.
+     *
+     * @return the average salary
+     */
+    public double getAverageSalary() {
+        return totalSalary / headcount;
+    }
+
+    /**
+     * Returns the statistics with one more employee earning the given salary.
+     *
+     * @param salary the salary of the added employee
+     * @return the updated statistics
+     */
+    public DepartmentStats plus(double salary) {
+        return new DepartmentStats(department, headcount + 1, totalSalary + salary,
+                Math.min(minSalary, salary), Math.max(maxSalary, salary));
+    }
+
+    /**
+     * Returns the statistics with one employee earning the given salary removed.
+     * The minimum and maximum are kept as they are; callers must recompute them
+     * when the removed salary was one of them.
+     *
+     * @param salary the salary of the removed employee
+     * @return the updated statistics
+     */
+    public DepartmentStats minus(double salary) {
+        return new DepartmentStats(department, headcount - 1, totalSalary - salary, minSalary, maxSalary);
+    }
+
+    /**
+     * Returns the statistics of the employees of both statistics, such as the parts of a department on two shards.
+     *
+     * @param other the statistics of other employees of the same department
+     * @return the combined statistics
+     */
+    public DepartmentStats combine(DepartmentStats other) {
+        return new DepartmentStats(department, headcount + other.headcount, totalSalary + other.totalSalary,
+                Math.min(minSalary, other.minSalary), Math.max(maxSalary, other.maxSalary));
+    }
+
+    /**
+     * Returns the statistics with the given salary range.
+     *
+     * @param minSalary the lowest salary
+     * @param maxSalary the highest salary
+     * @return the updated statistics
+     */
+    public DepartmentStats withRange(double minSalary, double maxSalary) {
+        return new DepartmentStats(department, headcount, totalSalary, minSalary, maxSalary);
+    }
+}
@@ -0,0 +1,17 @@
+package com.heriel.EmployeeManagement.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+/**
+ * Data Transfer Object for moving every employee of a department to another department.
+ */
+@Data
+public class DepartmentTransfer {
+    /**
+     * The department to move the employees to.
+     * Must not be blank.
+     */
+    @NotBlank(message = "Target department is mandatory")
+    private String targetDepartment;
+}
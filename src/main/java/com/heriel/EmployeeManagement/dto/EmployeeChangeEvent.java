@@ -0,0 +1,34 @@
+package com.heriel.EmployeeManagement.dto;
+
+import com.heriel.EmployeeManagement.model.OutboxEvent;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * A committed change of an employee, as published by the change feed.
+ * Carries only the ID of the employee; clients fetch the employee itself if they need it.
+ */
+@Value
+public class EmployeeChangeEvent {
+    /**
+     * The position of the feed after this event, to pass as {@code since} or Last-Event-ID to continue after it.
+     * The position of every shard, joined by dots; a single number without sharding.
+     */
+    String sequence;
+
+    /**
+     * The kind of change.
+     */
+    OutboxEvent.Type type;
+
+    /**
+     * The ID of the changed employee.
+     */
+    Long employeeId;
+
+    /**
+     * When the change was made.
+     */
+    Instant occurredAt;
+}
@@ -0,0 +1,138 @@
+package com.heriel.EmployeeManagement.dto;
+
+import com.heriel.EmployeeManagement.exception.BadRequestException;
+import com.heriel.EmployeeManagement.model.Employee;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Helper class for reading and writing employees as CSV (RFC 4180).
+ */
+public class EmployeeCsv {
+    /**
+     * The CSV header line, in the column order used by {@link #toRow(Employee)}.
+     */
+    public static final String HEADER = "id,firstName,lastName,email,department,salary";
+
+    private static final Set<String> REQUIRED_COLUMNS = Set.of("firstName", "lastName", "email", "department", "salary");
+
+    /**
+     * Converts an Employee entity to a CSV row, without the trailing line separator.
+     *
+     * @param employee the Employee entity to convert
+     * @return the CSV row
+     */
+    public static String toRow(Employee employee) {
+        StringBuilder row = new StringBuilder(96);
+        row.append(employee.getId()).append(',');
+        appendField(row, employee.getFirstName()).append(',');
+        appendField(row, employee.getLastName()).append(',');
+        appendField(row, employee.getEmail()).append(',');
+        appendField(row, employee.getDepartment()).append(',');
+        if (employee.getSalary() != null) {
+            row.append(employee.getSalary());
+        }
+        return row.toString();
+    }
+
+    private static StringBuilder appendField(StringBuilder row, String value) {
+        if (value == null) {
+            return row;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return row.append(value);
+        }
+        return row.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    /**
+     * Parses a CSV header line into a map from column name to column index.
+     * Columns may appear in any order; an {@code id} column is allowed but ignored on import.
+     *
+     * @param line the header line
+     * @return the column indexes by name
+     * @throws BadRequestException if a required column is missing
+     */
+    public static Map<String, Integer> parseHeader(String line) {
+        List<String> names = parseRow(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim(), i);
+        }
+        if (!columns.keySet().containsAll(REQUIRED_COLUMNS)) {
+            throw new BadRequestException("CSV header must contain the columns " + REQUIRED_COLUMNS);
+        }
+        return columns;
+    }
+
+    /**
+     * Parses a single CSV line into its fields.
+     * Fields may be quoted, but must not contain line breaks.
+     *
+     * @param line the CSV line, without the line separator
+     * @return the unquoted field values
+     * @throws IllegalArgumentException if a quoted field is not terminated
+     */
+    public static List<String> parseRow(String line) {
+        List<String> fields = new ArrayList<>(8);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Converts the fields of a CSV row to an EmployeeDTO.
+     * Empty fields become null so that they are reported by bean validation.
+     *
+     * @param fields  the fields of the row
+     * @param columns the column indexes by name, as returned by {@link #parseHeader(String)}
+     * @return the converted EmployeeDTO
+     * @throws NumberFormatException if the salary is not a number
+     */
+    public static EmployeeDTO toDto(List<String> fields, Map<String, Integer> columns) {
+        EmployeeDTO dto = new EmployeeDTO();
+        dto.setFirstName(field(fields, columns, "firstName"));
+        dto.setLastName(field(fields, columns, "lastName"));
+        dto.setEmail(field(fields, columns, "email"));
+        dto.setDepartment(field(fields, columns, "department"));
+        String salary = field(fields, columns, "salary");
+        dto.setSalary(salary == null ? null : Double.valueOf(salary));
+        return dto;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        int index = columns.get(name);
+        if (index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+}
@@ -0,0 +1,127 @@
+package com.heriel.EmployeeManagement.dto;
+
+import com.heriel.EmployeeManagement.exception.BadRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Opaque cursor for keyset pagination over employees.
+ * A cursor records the sort field, the sort direction and the key values (sort field and id)
+ * of the last row returned, so the next page can seek directly past it without an OFFSET.
+ * Employees without a value for the sort field, e.g. imported without a salary, come last in either direction.
+ */
+public final class EmployeeCursor {
+    /**
+     * The fields that may be used as the keyset sort key.
+     */
+    public static final Set<String> SORTABLE_FIELDS = Set.of("id", "firstName", "lastName", "email", "department", "salary");
+
+    private static final String SEPARATOR = "|";
+
+    private final String field;
+    private final Sort.Direction direction;
+    private final Map<String, Object> keys;
+
+    private EmployeeCursor(String field, Sort.Direction direction, Map<String, Object> keys) {
+        this.field = field;
+        this.direction = direction;
+        this.keys = keys;
+    }
+
+    /**
+     * Creates a cursor positioned before the first row for the given sort.
+     *
+     * @param field     the sort field, must be one of {@link #SORTABLE_FIELDS}
+     * @param direction the sort direction
+     * @return a cursor for the first page
+     * @throws BadRequestException if the field is not sortable
+     */
+    public static EmployeeCursor first(String field, Sort.Direction direction) {
+        if (!SORTABLE_FIELDS.contains(field)) {
+            throw new BadRequestException("Cannot sort by '" + field + "', allowed fields are " + SORTABLE_FIELDS);
+        }
+        return new EmployeeCursor(field, direction, Map.of());
+    }
+
+    /**
+     * Decodes a cursor token previously produced by {@link #encode()}.
+     *
+     * @param token the opaque cursor token
+     * @return the decoded cursor
+     * @throws BadRequestException if the token is malformed
+     */
+    public static EmployeeCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // direction|field|id|value - the value comes last so it may contain the separator,
+            // and a null value is left out together with its separator
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            Sort.Direction direction = Sort.Direction.fromString(parts[0]);
+            EmployeeCursor cursor = first(parts[1], direction);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            if (!cursor.isIdOnly()) {
+                keys.put(cursor.field, parts.length == 3 ? null : parseValue(cursor.field, parts[3]));
+            }
+            keys.put("id", Long.valueOf(parts[2]));
+            return new EmployeeCursor(cursor.field, direction, keys);
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Creates the cursor that continues after the given scroll position.
+     *
+     * @param position the position of the last row of the current page
+     * @return the cursor for the next page
+     */
+    public EmployeeCursor next(ScrollPosition position) {
+        return new EmployeeCursor(field, direction, ((KeysetScrollPosition) position).getKeys());
+    }
+
+    /**
+     * Encodes this cursor as an opaque, URL-safe token.
+     *
+     * @return the cursor token
+     */
+    public String encode() {
+        Object value = isIdOnly() ? "" : keys.get(field);
+        String raw = direction.name() + SEPARATOR + field + SEPARATOR + keys.get("id")
+                + (value == null ? "" : SEPARATOR + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the sort for this cursor: the sort field, with null values last, followed by the id as a tie breaker.
+     *
+     * @return the keyset sort
+     */
+    public Sort sort() {
+        Sort byId = Sort.by(direction, "id");
+        return isIdOnly() ? byId : Sort.by(new Sort.Order(direction, field).nullsLast()).and(byId);
+    }
+
+    /**
+     * Returns the scroll position to seek from.
+     *
+     * @return the keyset scroll position
+     */
+    public ScrollPosition position() {
+        return keys.isEmpty() ? ScrollPosition.keyset() : ScrollPosition.forward(keys);
+    }
+
+    private boolean isIdOnly() {
+        return "id".equals(field);
+    }
+
+    private static Object parseValue(String field, String value) {
+        return "salary".equals(field) ? Double.valueOf(value) : value;
+    }
+}
@@ -22,4 +22,18 @@ public class EmployeeMapper {
         employee.setSalary(dto.getSalary());
         return employee;
     }
+
+    /**
+     * Copies the fields of an EmployeeDTO onto an existing Employee entity.
+     *
+     * @param dto      the EmployeeDTO to copy from
+     * @param employee the Employee entity to update
+     */
+    public static void updateEntity(EmployeeDTO dto, Employee employee) {
+        employee.setFirstName(dto.getFirstName());
+        employee.setLastName(dto.getLastName());
+        employee.setEmail(dto.getEmail());
+        employee.setDepartment(dto.getDepartment());
+        employee.setSalary(dto.getSalary());
+    }
 }
\ No newline at end of file
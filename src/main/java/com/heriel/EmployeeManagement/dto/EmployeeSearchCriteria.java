@@ -0,0 +1,34 @@
+package com.heriel.EmployeeManagement.dto;
+
+import lombok.Data;
+
+/**
+ * Filter criteria for searching employees. All criteria are optional and combined with AND.
+ */
+@Data
+public class EmployeeSearchCriteria {
+    /**
+     * The exact department of the employee.
+     */
+    private String department;
+
+    /**
+     * The exact email address of the employee.
+     */
+    private String email;
+
+    /**
+     * A case-sensitive prefix of the first name or the last name of the employee.
+     */
+    private String name;
+
+    /**
+     * The minimum salary of the employee, inclusive.
+     */
+    private Double minSalary;
+
+    /**
+     * The maximum salary of the employee, inclusive.
+     */
+    private Double maxSalary;
+}
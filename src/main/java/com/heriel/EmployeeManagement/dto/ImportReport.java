@@ -0,0 +1,64 @@
+package com.heriel.EmployeeManagement.dto;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Report returned by a bulk employee import.
+ */
+@Value
+public class ImportReport {
+    /**
+     * The number of data rows read from the upload.
+     */
+    long rowsRead;
+
+    /**
+     * The number of rows inserted into the database.
+     */
+    long rowsImported;
+
+    /**
+     * The number of rows rejected because they could not be parsed, failed validation or conflicted with
+     * stored employees, e.g. by using an email that is already taken.
+     */
+    long rowsRejected;
+
+    /**
+     * The wall-clock duration of the import in milliseconds.
+     */
+    long elapsedMillis;
+
+    /**
+     * The import throughput in rows read per second.
+     */
+    double rowsPerSecond;
+
+    /**
+     * The rejected rows, up to the configured maximum.
+     */
+    List<RowError> errors;
+
+    /**
+     * Whether more rows were rejected than are listed in {@link #errors}.
+     */
+    boolean errorsTruncated;
+
+    /**
+     * Validation or parse errors for a single rejected row.
+     */
+    @Value
+    public static class RowError {
+        /**
+         * The line number of the row in the upload, starting at 1.
+         */
+        long line;
+
+        /**
+         * The error messages, keyed by field name (or "row" for errors affecting the whole row).
+         */
+        Map<String, String> errors;
+    }
+}
@@ -0,0 +1,51 @@
+package com.heriel.EmployeeManagement.dto;
+
+import lombok.Value;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * A page of results returned by offset (page number) pagination.
+ * A compact, stable response envelope used instead of serializing Spring Data's {@link Page}.
+ *
+ * @param <T> the type of the page content
+ */
+@Value
+public class OffsetPage<T> {
+    /**
+     * The rows of this page.
+     */
+    List<T> content;
+
+    /**
+     * The page number, starting at 0.
+     */
+    int page;
+
+    /**
+     * The requested page size.
+     */
+    int size;
+
+    /**
+     * The total number of rows across all pages.
+     */
+    long totalElements;
+
+    /**
+     * The total number of pages.
+     */
+    int totalPages;
+
+    /**
+     * Creates the envelope of a Spring Data page.
+     *
+     * @param page the page
+     * @param <T>  the type of the page content
+     * @return the envelope
+     */
+    public static <T> OffsetPage<T> of(Page<T> page) {
+        return new OffsetPage<>(page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements(), page.getTotalPages());
+    }
+}
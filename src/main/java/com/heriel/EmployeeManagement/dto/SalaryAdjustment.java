@@ -0,0 +1,40 @@
+package com.heriel.EmployeeManagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import lombok.Data;
+
+/**
+ * Data Transfer Object for a salary change applied to every employee of a department.
+ * Exactly one of {@link #percent} and {@link #amount} must be given.
+ */
+@Data
+public class SalaryAdjustment {
+    /**
+     * The relative change in percent, for example 3.5 for a 3.5% raise or -10 for a 10% cut.
+     * Must not be below -100.
+     */
+    @DecimalMin(value = "-100", message = "Percent must not be below -100")
+    @Digits(integer = 5, fraction = 4, message = "Percent must have maximum 5 digits and 4 decimals")
+    private Double percent;
+
+    /**
+     * The absolute change added to each salary, negative for a cut.
+     * Must have a maximum of 10 digits and 2 decimals.
+     */
+    @Digits(integer = 10, fraction = 2, message = "Amount must have maximum 10 digits and 2 decimals")
+    private Double amount;
+
+    /**
+     * Checks that exactly one of percent and amount is given.
+     *
+     * @return true if exactly one of percent and amount is given
+     */
+    @JsonIgnore
+    @AssertTrue(message = "Exactly one of percent and amount is mandatory")
+    public boolean isExactlyOneChange() {
+        return (percent == null) != (amount == null);
+    }
+}
@@ -0,0 +1,29 @@
+package com.heriel.EmployeeManagement.dto;
+
+import lombok.Value;
+
+/**
+ * Salary histogram of a department, or of all employees, with equally wide buckets.
+ */
+@Value
+public class SalaryHistogram {
+    /**
+     * The department, or null for all employees.
+     */
+    String department;
+
+    /**
+     * The lower bound of the first bucket.
+     */
+    double min;
+
+    /**
+     * The width of each bucket.
+     */
+    double bucketWidth;
+
+    /**
+     * The number of salaries in each bucket; bucket i covers [min + i * bucketWidth, min + (i + 1) * bucketWidth).
+     */
+    long[] counts;
+}
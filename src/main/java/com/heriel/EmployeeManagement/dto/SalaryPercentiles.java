@@ -0,0 +1,21 @@
+package com.heriel.EmployeeManagement.dto;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Salary percentiles of a department, or of all employees.
+ */
+@Value
+public class SalaryPercentiles {
+    /**
+     * The department, or null for all employees.
+     */
+    String department;
+
+    /**
+     * The salary at each requested percentile, keyed by percentile (e.g. "p90").
+     */
+    Map<String, Double> percentiles;
+}
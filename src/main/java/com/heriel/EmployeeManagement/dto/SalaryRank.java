@@ -0,0 +1,24 @@
+package com.heriel.EmployeeManagement.dto;
+
+import lombok.Value;
+
+/**
+ * An employee's position in a salary ranking.
+ */
+@Value
+public class SalaryRank {
+    /**
+     * The ID of the employee.
+     */
+    long id;
+
+    /**
+     * The department of the employee.
+     */
+    String department;
+
+    /**
+     * The salary of the employee.
+     */
+    double salary;
+}
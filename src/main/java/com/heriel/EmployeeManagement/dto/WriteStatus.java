@@ -0,0 +1,36 @@
+package com.heriel.EmployeeManagement.dto;
+
+import lombok.Value;
+
+/**
+ * The status of a write accepted for asynchronous (write-behind) processing.
+ */
+@Value
+public class WriteStatus {
+    /**
+     * The tracking ID returned when the write was accepted.
+     */
+    String trackingId;
+
+    /**
+     * The state of the write.
+     */
+    State state;
+
+    /**
+     * The ID of the written employee; null while a create is pending or if the write failed.
+     */
+    Long employeeId;
+
+    /**
+     * Why the write failed; null unless the state is FAILED.
+     */
+    String error;
+
+    /**
+     * The possible states of an asynchronous write.
+     */
+    public enum State {
+        PENDING, WRITTEN, FAILED
+    }
+}
@@ -0,0 +1,17 @@
+package com.heriel.EmployeeManagement.exception;
+
+/**
+ * Exception thrown when a request parameter is malformed or not allowed.
+ * Handled by {@link GlobalExceptionHandler} and mapped to HTTP status BAD_REQUEST.
+ */
+public class BadRequestException extends RuntimeException {
+
+    /**
+     * Constructor for BadRequestException.
+     *
+     * @param message the detail message describing the invalid parameter
+     */
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
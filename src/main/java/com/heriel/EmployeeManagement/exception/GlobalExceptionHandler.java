@@ -1,5 +1,7 @@
 package com.heriel.EmployeeManagement.exception;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -9,6 +11,7 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -36,6 +39,99 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles invalid request parameters (e.g., malformed cursors or unknown sort fields).
+     *
+     * @param ex the BadRequestException
+     * @return ResponseEntity containing a map with the error message, with HTTP status BAD_REQUEST
+     */
+    @ExceptionHandler(BadRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<Map<String, String>> handleBadRequestException(BadRequestException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles failed preconditions of conditional requests (e.g., an If-Match header with an outdated ETag).
+     *
+     * @param ex the PreconditionFailedException
+     * @return ResponseEntity containing a map with the error message, with HTTP status PRECONDITION_FAILED
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ResponseEntity<Map<String, String>> handlePreconditionFailedException(PreconditionFailedException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * Handles writes violating a constraint of the schema (e.g., the unique email of an employee).
+     * The database message is not returned, as it reveals the schema and the conflicting values.
+     *
+     * @param ex the DataIntegrityViolationException
+     * @return ResponseEntity containing a map with an error message, with HTTP status CONFLICT
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<Map<String, String>> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "The request conflicts with stored employees, e.g. by using an email that is already taken");
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles requests for resources that are no longer available (e.g., change feed events past their retention).
+     *
+     * @param ex the GoneException
+     * @return ResponseEntity containing a map with the error message, with HTTP status GONE
+     */
+    @ExceptionHandler(GoneException.class)
+    @ResponseStatus(HttpStatus.GONE)
+    public ResponseEntity<Map<String, String>> handleGoneException(GoneException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.GONE);
+    }
+
+    /**
+     * Handles requests rejected because the server is saturated (e.g., a full write-behind queue).
+     *
+     * @param ex the TooManyRequestsException
+     * @return ResponseEntity containing a map with the error message and a Retry-After header,
+     * with HTTP status TOO_MANY_REQUESTS
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public ResponseEntity<Map<String, String>> handleTooManyRequestsException(TooManyRequestsException ex) {
+        return retryLater(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), ex.getRetryAfter());
+    }
+
+    /**
+     * Handles requests shed because the database is overloaded (e.g., by the adaptive concurrency limit).
+     *
+     * @param ex the ServiceUnavailableException
+     * @return ResponseEntity containing a map with the error message and a Retry-After header,
+     * with HTTP status SERVICE_UNAVAILABLE
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<Map<String, String>> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        return retryLater(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), ex.getRetryAfter());
+    }
+
+    private static ResponseEntity<Map<String, String>> retryLater(HttpStatus status, String message, Duration retryAfter) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", message);
+        // Retry-After is given in whole seconds, rounded up
+        long retryAfterSeconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(response);
+    }
+
     /**
      * Handles runtime exceptions.
      *
@@ -0,0 +1,17 @@
+package com.heriel.EmployeeManagement.exception;
+
+/**
+ * Exception thrown when a requested resource existed but is no longer available, such as change feed events
+ * removed after their retention period. Handled by {@link GlobalExceptionHandler} and mapped to HTTP status GONE.
+ */
+public class GoneException extends RuntimeException {
+
+    /**
+     * Constructor for GoneException.
+     *
+     * @param message the detail message describing what is no longer available
+     */
+    public GoneException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.heriel.EmployeeManagement.exception;
+
+/**
+ * Exception thrown when the precondition of a conditional request, such as an If-Match header, does not hold.
+ * Handled by {@link GlobalExceptionHandler} and mapped to HTTP status PRECONDITION_FAILED.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    /**
+     * Constructor for PreconditionFailedException.
+     *
+     * @param message the detail message describing the failed precondition
+     */
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
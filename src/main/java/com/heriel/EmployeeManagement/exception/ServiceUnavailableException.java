@@ -0,0 +1,28 @@
+package com.heriel.EmployeeManagement.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a request is shed because the backend is overloaded.
+ * Handled by {@link GlobalExceptionHandler} and mapped to HTTP status SERVICE_UNAVAILABLE with a Retry-After header.
+ */
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+    /**
+     * How long the client should wait before retrying.
+     */
+    private final Duration retryAfter;
+
+    /**
+     * Constructor for ServiceUnavailableException.
+     *
+     * @param message    the detail message describing why the request was rejected
+     * @param retryAfter how long the client should wait before retrying
+     */
+    public ServiceUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
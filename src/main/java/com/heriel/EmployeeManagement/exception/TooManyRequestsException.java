@@ -0,0 +1,28 @@
+package com.heriel.EmployeeManagement.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a request is rejected because the server cannot take on more work right now.
+ * Handled by {@link GlobalExceptionHandler} and mapped to HTTP status TOO_MANY_REQUESTS with a Retry-After header.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+    /**
+     * How long the client should wait before retrying.
+     */
+    private final Duration retryAfter;
+
+    /**
+     * Constructor for TooManyRequestsException.
+     *
+     * @param message    the detail message describing why the request was rejected
+     * @param retryAfter how long the client should wait before retrying
+     */
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -1,23 +1,35 @@
 package com.heriel.EmployeeManagement.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
 
 /**
  * Entity class representing an Employee.
+ * The table, its sequence and indexes are created by the Flyway migrations in db/migration; the indexes are
+ * repeated here for reference. They back the search filters, and the email index keeps emails unique; the name
+ * prefix indexes need the PostgreSQL text_pattern_ops operator class and only exist in the PostgreSQL migrations.
  */
 @Data
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_employee_department_salary", columnList = "department, salary"),
+        @Index(name = "idx_employee_email", columnList = "email", unique = true),
+        @Index(name = "idx_employee_salary", columnList = "salary")
+})
 public class Employee {
     /**
      * The unique identifier for the employee.
-     * Generated automatically.
+     * Generated from the employee_seq sequence, which hands out blocks of 50 IDs per call.
+     * With sharding, the ID also encodes the shard the employee is stored in.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @ShardedSequence(name = "employee_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -44,4 +56,13 @@ public class Employee {
      * The salary of the employee.
      */
     private Double salary;
+
+    /**
+     * The version of the employee, incremented by every update and used as its ETag.
+     * Defaults to 0 in the database so rows written by the bulk import start at version 0.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
\ No newline at end of file
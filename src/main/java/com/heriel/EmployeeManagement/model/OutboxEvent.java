@@ -0,0 +1,78 @@
+package com.heriel.EmployeeManagement.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Entity class representing a change of an employee in the transactional outbox.
+ * Written in the same transaction as the change itself, so an event exists exactly for every committed change.
+ * The position is assigned once the event is relayed to the change feed, in the order events become visible.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "employee_outbox", indexes = {
+        @Index(name = "idx_employee_outbox_position", columnList = "position")
+})
+public class OutboxEvent {
+    /**
+     * The unique identifier for the event, in no particular order.
+     */
+    @Id
+    @ShardedSequence(name = "employee_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * The kind of change.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Type type;
+
+    /**
+     * The ID of the changed employee.
+     */
+    @Column(nullable = false)
+    private Long employeeId;
+
+    /**
+     * When the change was made.
+     */
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    /**
+     * The position of the event in the change feed of its shard, or null until it is relayed.
+     * Positions are consecutive, so a missing position means the event was removed after the retention period.
+     */
+    private Long position;
+
+    /**
+     * Constructor for a new, not yet relayed event.
+     *
+     * @param type       the kind of change
+     * @param employeeId the ID of the changed employee
+     * @param occurredAt when the change was made
+     */
+    public OutboxEvent(Type type, Long employeeId, Instant occurredAt) {
+        this.type = type;
+        this.employeeId = employeeId;
+        this.occurredAt = occurredAt;
+    }
+
+    /**
+     * The kinds of changes of an employee.
+     */
+    public enum Type {
+        ADDED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,46 @@
+package com.heriel.EmployeeManagement.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity class holding the last position assigned to an outbox event, in a single row per database.
+ * Relaying events locks the row, so positions are assigned by one transaction at a time and every position
+ * is visible once a higher one is.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "employee_outbox_relay")
+public class OutboxRelay {
+    /**
+     * The ID of the only row.
+     */
+    public static final int ID = 1;
+
+    /**
+     * The identifier of the row, always {@link #ID}.
+     */
+    @Id
+    private Integer id;
+
+    /**
+     * The last position assigned to an outbox event, 0 before the first.
+     */
+    @Column(nullable = false)
+    private Long position;
+
+    /**
+     * Constructor for the row before any event was relayed.
+     *
+     * @param id the identifier of the row
+     */
+    public OutboxRelay(Integer id) {
+        this.id = id;
+        this.position = 0L;
+    }
+}
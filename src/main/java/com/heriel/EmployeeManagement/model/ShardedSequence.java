@@ -0,0 +1,31 @@
+package com.heriel.EmployeeManagement.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates identifiers from a database sequence, encoding the shard of the row in the identifier
+ * when sharding is enabled. See {@link ShardedSequenceGenerator}.
+ */
+@IdGeneratorType(ShardedSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface ShardedSequence {
+    /**
+     * The name of the database sequence.
+     *
+     * @return the sequence name
+     */
+    String name();
+
+    /**
+     * The number of values fetched from the sequence per call.
+     *
+     * @return the allocation size
+     */
+    int allocationSize() default 50;
+}
@@ -0,0 +1,110 @@
+package com.heriel.EmployeeManagement.model;
+
+import com.heriel.EmployeeManagement.config.ShardRoutingDataSource;
+import org.hibernate.HibernateException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.AnnotationBasedGenerator;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.OptimizerDescriptor;
+import org.hibernate.id.enhanced.OptimizerFactory;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Member;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sequence generator for {@link ShardedSequence} identifiers.
+ * <p>
+ * Without sharding it behaves exactly like a {@code @SequenceGenerator} with the same name and allocation size.
+ * With sharding ({@value #SHARDED_SETTING} set), each shard has its own sequence, and the identifier is the next
+ * sequence value of the shard the row is written to, times {@value #MAX_SHARDS}, plus the shard index. Identifiers
+ * are therefore unique across shards without coordination, and {@link #shardOf(long)} tells the shard of a row
+ * from its identifier alone. Each shard also gets its own optimizer, as the values one optimizer hands out from a
+ * block belong to the sequence of a single shard.
+ */
+public class ShardedSequenceGenerator extends SequenceStyleGenerator implements AnnotationBasedGenerator<ShardedSequence> {
+    /**
+     * The Hibernate setting enabling the shard encoding of identifiers.
+     */
+    public static final String SHARDED_SETTING = "employee.sharding.enabled";
+
+    /**
+     * The highest number of shards identifiers can encode.
+     */
+    public static final int MAX_SHARDS = 1024;
+
+    private final Map<Integer, Optimizer> optimizers = new ConcurrentHashMap<>();
+    private ShardedSequence config;
+    private OptimizerDescriptor optimizerDescriptor;
+    private boolean sharded;
+
+    /**
+     * Returns the shard a row was written to.
+     *
+     * @param id the identifier of the row, generated with sharding enabled
+     * @return the shard index
+     */
+    public static int shardOf(long id) {
+        return (int) Math.floorMod(id, (long) MAX_SHARDS);
+    }
+
+    /**
+     * Keeps the annotation for {@link #configure(Type, Properties, ServiceRegistry)}.
+     *
+     * @param annotation the annotation on the identifier
+     * @param member     the annotated identifier
+     * @param context    the creation context
+     */
+    @Override
+    public void initialize(ShardedSequence annotation, Member member, GeneratorCreationContext context) {
+        this.config = annotation;
+    }
+
+    /**
+     * Configures the sequence from the annotation and reads whether sharding is enabled.
+     *
+     * @param type            the identifier type
+     * @param parameters      the generator parameters
+     * @param serviceRegistry the service registry
+     */
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        parameters.setProperty(SEQUENCE_PARAM, config.name());
+        parameters.setProperty(INCREMENT_PARAM, String.valueOf(config.allocationSize()));
+        super.configure(type, parameters, serviceRegistry);
+        optimizerDescriptor = determineOptimizationStrategy(parameters, getDatabaseStructure().getIncrementSize());
+        sharded = serviceRegistry.requireService(ConfigurationService.class)
+                .getSetting(SHARDED_SETTING, StandardConverters.BOOLEAN, false);
+    }
+
+    /**
+     * Generates the next identifier on the shard the current connection is routed to.
+     *
+     * @param session the session fetching the sequence values
+     * @param object  the entity the identifier is for
+     * @return the new identifier
+     * @throws HibernateException if sharding is enabled and no shard is selected
+     */
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        if (!sharded) {
+            return super.generate(session, object);
+        }
+        Integer shard = ShardRoutingDataSource.currentShard();
+        if (shard == null) {
+            throw new HibernateException("No shard selected for the new " + object.getClass().getSimpleName());
+        }
+        Optimizer optimizer = optimizers.computeIfAbsent(shard, key -> OptimizerFactory.buildOptimizer(
+                optimizerDescriptor, Long.class, getDatabaseStructure().getIncrementSize(),
+                getDatabaseStructure().getInitialValue()));
+        long value = ((Number) optimizer.generate(getDatabaseStructure().buildCallback(session))).longValue();
+        return value * MAX_SHARDS + shard;
+    }
+}
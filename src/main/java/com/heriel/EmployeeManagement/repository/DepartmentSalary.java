@@ -0,0 +1,20 @@
+package com.heriel.EmployeeManagement.repository;
+
+/**
+ * Projection of the fields of an employee that the department statistics depend on.
+ */
+public interface DepartmentSalary {
+    /**
+     * Returns the department of the employee.
+     *
+     * @return the department
+     */
+    String getDepartment();
+
+    /**
+     * Returns the salary of the employee.
+     *
+     * @return the salary
+     */
+    Double getSalary();
+}
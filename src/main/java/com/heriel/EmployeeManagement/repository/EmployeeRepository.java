@@ -1,15 +1,33 @@
 package com.heriel.EmployeeManagement.repository;
 
+import com.heriel.EmployeeManagement.dto.DepartmentStats;
 import com.heriel.EmployeeManagement.model.Employee;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Employee entities.
- * Extends JpaRepository to provide CRUD operations and pagination.
+ * Extends JpaRepository to provide CRUD operations and pagination,
+ * JpaSpecificationExecutor to filter with {@link EmployeeSpecifications},
+ * and EmployeeRepositoryCustom to select only some fields.
  */
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee>,
+        EmployeeRepositoryCustom {
     /**
      * Fetches all employees with pagination.
      *
@@ -17,4 +35,134 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
      * @return a page of employees
      */
     Page<Employee> findAll(Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Streams all employees ordered by ID over a server-side cursor.
+     * Must be consumed inside a transaction and closed after use; rows are fetched
+     * from the database in chunks of the configured fetch size and loaded read-only.
+     *
+     * @return a stream of all employees
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select e from Employee e order by e.id")
+    Stream<Employee> streamAll();
+
+    /**
+     * Streams the ID, department and salary of all employees over a server-side cursor.
+     * Must be consumed inside a transaction and closed after use.
+     *
+     * @return a stream of the ID, department and salary of every employee
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e.id as id, e.department as department, e.salary as salary from Employee e")
+    Stream<EmployeeSalary> streamSalaries();
+
+    /**
+     * Fetches only the version of an employee, to answer conditional requests without loading the row.
+     *
+     * @param id the ID of the employee
+     * @return the version, or empty if no employee has the given ID
+     */
+    @Query("select e.version from Employee e where e.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Fetches the employees with the given IDs and locks their rows until the end of the transaction.
+     *
+     * @param ids the IDs of the employees
+     * @return the employees found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Employee e where e.id in :ids")
+    List<Employee> lockAllById(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Computes the headcount and payroll statistics of every department with a single GROUP BY query.
+     *
+     * @return the statistics of each department
+     */
+    @Query("select new com.heriel.EmployeeManagement.dto.DepartmentStats(e.department, count(e), sum(e.salary), "
+            + "min(e.salary), max(e.salary)) from Employee e group by e.department")
+    List<DepartmentStats> summarizeDepartments();
+
+    /**
+     * Computes the headcount and payroll statistics of a single department.
+     *
+     * @param department the name of the department
+     * @return the statistics, or empty if the department has no employees
+     */
+    @Query("select new com.heriel.EmployeeManagement.dto.DepartmentStats(e.department, count(e), sum(e.salary), "
+            + "min(e.salary), max(e.salary)) from Employee e where e.department = :department group by e.department")
+    Optional<DepartmentStats> summarizeDepartment(@Param("department") String department);
+
+    /**
+     * Fetches the ID, department and salary of every employee in a department and locks their rows until
+     * the end of the transaction. Employees added to the department later are neither returned nor locked,
+     * so the following bulk statements are restricted to the returned IDs to affect exactly these employees.
+     *
+     * @param department the name of the department
+     * @return the ID, department and salary of each employee in the department
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e.id as id, e.department as department, e.salary as salary from Employee e "
+            + "where e.department = :department")
+    List<EmployeeSalary> lockSalariesByDepartment(@Param("department") String department);
+
+    /**
+     * Fetches the ID, department and salary of the employees with the given IDs.
+     *
+     * @param ids the IDs of the employees
+     * @return the ID, department and salary of each employee found
+     */
+    @Query("select e.id as id, e.department as department, e.salary as salary from Employee e where e.id in :ids")
+    List<EmployeeSalary> findSalariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Multiplies and then offsets the salary of the given employees of a department, rounded to cents, and
+     * increments their versions with a single UPDATE statement.
+     *
+     * @param department the name of the department
+     * @param ids        the IDs of the employees to update, as locked by {@link #lockSalariesByDepartment(String)}
+     * @param factor     the factor to multiply each salary by
+     * @param amount     the amount to add to each salary after multiplying
+     * @return the number of updated rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Employee e set e.salary = round(e.salary * :factor + :amount, 2), e.version = e.version + 1 "
+            + "where e.department = :department and e.id in :ids")
+    int adjustSalariesByDepartment(@Param("department") String department, @Param("ids") Collection<Long> ids,
+                                   @Param("factor") double factor, @Param("amount") double amount);
+
+    /**
+     * Moves the given employees of a department to another department and increments their versions
+     * with a single UPDATE statement.
+     *
+     * @param source the name of the department to move employees from
+     * @param ids    the IDs of the employees to move, as locked by {@link #lockSalariesByDepartment(String)}
+     * @param target the name of the department to move employees to
+     * @return the number of updated rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Employee e set e.department = :target, e.version = e.version + 1 "
+            + "where e.department = :source and e.id in :ids")
+    int moveDepartment(@Param("source") String source, @Param("ids") Collection<Long> ids,
+                       @Param("target") String target);
+
+    /**
+     * Deletes the given employees of a department with a single DELETE statement.
+     *
+     * @param department the name of the department
+     * @param ids        the IDs of the employees to delete, as locked by {@link #lockSalariesByDepartment(String)}
+     * @return the number of deleted rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Employee e where e.department = :department and e.id in :ids")
+    int deleteByDepartment(@Param("department") String department, @Param("ids") Collection<Long> ids);
+}
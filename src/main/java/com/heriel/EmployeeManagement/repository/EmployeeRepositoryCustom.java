@@ -0,0 +1,69 @@
+package com.heriel.EmployeeManagement.repository;
+
+import com.heriel.EmployeeManagement.model.Employee;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Custom queries of {@link EmployeeRepository} that cannot be derived or declared with {@code @Query}.
+ */
+public interface EmployeeRepositoryCustom {
+    /**
+     * The employee fields that can be selected with {@link #findFields(List, Pageable)}, in their natural order.
+     */
+    List<String> SELECTABLE_FIELDS = List.of("id", "firstName", "lastName", "email", "department", "salary", "version");
+
+    /**
+     * Fetches only the given fields of all employees with pagination.
+     * Only the corresponding columns are selected and no entities are loaded.
+     *
+     * @param fields   the fields to select, each one of {@link #SELECTABLE_FIELDS}
+     * @param pageable the pagination information
+     * @return a page of rows, each mapping the selected fields to their values in the given order
+     */
+    Page<Map<String, Object>> findFields(List<String> fields, Pageable pageable);
+
+    /**
+     * Fetches a window of employees using keyset pagination.
+     * Seeks past the given position instead of using OFFSET and does not run a count query. Null values of the
+     * sort properties are sorted last in either direction, and a position may hold null values.
+     *
+     * @param position the keyset position to continue from
+     * @param sort     the sort order, which must end with a unique, non-null key
+     * @param limit    the maximum number of employees to return
+     * @return a window of employees
+     */
+    Window<Employee> findWindow(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Overwrites all fields of an existing employee and increments its version with a single UPDATE statement,
+     * which also returns the department, salary and version the employee had before, without loading or locking
+     * the row first. Pending changes are flushed before the statement and the employee is detached after it.
+     *
+     * @param employee        the new employee details, including the ID of the employee to update
+     * @param expectedVersion the version the employee must have, or null to update any version
+     * @return the department, salary and version before the update, or empty if no employee has the given ID
+     * and, if given, the expected version
+     */
+    Optional<VersionedDepartmentSalary> updateEmployeeReturningPrevious(Employee employee, Long expectedVersion);
+
+    /**
+     * Deletes an employee with a single DELETE statement, which also returns the department, salary and version
+     * the employee had, without loading or locking the row first. Pending changes are flushed before the statement
+     * and the employee is detached after it.
+     *
+     * @param id              the ID of the employee to delete
+     * @param expectedVersion the version the employee must have, or null to delete any version
+     * @return the department, salary and version of the deleted employee, or empty if no employee has the given
+     * ID and, if given, the expected version
+     */
+    Optional<VersionedDepartmentSalary> deleteEmployeeReturningPrevious(Long id, Long expectedVersion);
+}
@@ -0,0 +1,249 @@
+package com.heriel.EmployeeManagement.repository;
+
+import com.heriel.EmployeeManagement.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.postgresql.core.BaseConnection;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of the custom queries of {@link EmployeeRepository}.
+ */
+public class EmployeeRepositoryImpl implements EmployeeRepositoryCustom {
+    private static final String UPDATED_COLUMNS =
+            "first_name = ?1, last_name = ?2, email = ?3, department = ?4, salary = ?5";
+    private static final String PREVIOUS_COLUMNS = "previous.department, previous.salary, previous.version";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Fetches only the given fields of all employees with a tuple query and a separate count query.
+     * The count query is skipped when the page shows the total is not needed.
+     *
+     * @param fields   the fields to select, each one of {@link #SELECTABLE_FIELDS}
+     * @param pageable the pagination information
+     * @return a page of rows, each mapping the selected fields to their values in the given order
+     */
+    @Override
+    public Page<Map<String, Object>> findFields(List<String> fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> root = query.from(Employee.class);
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            selections.add(root.get(field).alias(field));
+        }
+        query.multiselect(selections);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : typedQuery.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                row.put(field, tuple.get(field));
+            }
+            rows.add(row);
+        }
+
+        return PageableExecutionUtils.getPage(rows, pageable, () -> {
+            CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+            countQuery.select(cb.count(countQuery.from(Employee.class)));
+            return entityManager.createQuery(countQuery).getSingleResult();
+        });
+    }
+
+    /**
+     * Fetches a window of employees with a criteria query seeking past the position. Spring Data's keyset scrolling
+     * compares with every key value, which matches no row for a null value, so the seek is written out here:
+     * a row comes after the position if it is tied on the preceding keys and after it on the next key, where
+     * a null comes after every value and nothing but a null ties with a null.
+     *
+     * @param position the keyset position to continue from
+     * @param sort     the sort order, which must end with a unique, non-null key
+     * @param limit    the maximum number of employees to return
+     * @return a window of employees
+     */
+    @Override
+    public Window<Employee> findWindow(ScrollPosition position, Sort sort, Limit limit) {
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<Employee> query = cb.createQuery(Employee.class);
+        Root<Employee> root = query.from(Employee.class);
+        Map<String, Object> keys = ((KeysetScrollPosition) position).getKeys();
+        if (!keys.isEmpty()) {
+            query.where(after(cb, root, sort, keys));
+        }
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Path<?> path = root.get(order.getProperty());
+            orders.add(order.isAscending() ? cb.asc(path, false) : cb.desc(path, false));
+        }
+        query.orderBy(orders);
+
+        // One more row than requested tells whether there is a next window
+        List<Employee> rows = entityManager.createQuery(query).setMaxResults(limit.max() + 1).getResultList();
+        boolean hasNext = rows.size() > limit.max();
+        List<Employee> content = hasNext ? rows.subList(0, limit.max()) : rows;
+        return Window.from(content, index -> {
+            BeanWrapper employee = new BeanWrapperImpl(content.get(index));
+            Map<String, Object> next = new LinkedHashMap<>();
+            for (Sort.Order order : sort) {
+                next.put(order.getProperty(), employee.getPropertyValue(order.getProperty()));
+            }
+            return ScrollPosition.forward(next);
+        }, hasNext);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate after(CriteriaBuilder cb, Root<Employee> root, Sort sort, Map<String, Object> keys) {
+        List<Sort.Order> orders = sort.toList();
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> tied = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            Sort.Order order = orders.get(i);
+            Expression<Comparable> path = root.get(order.getProperty());
+            Comparable value = (Comparable) keys.get(order.getProperty());
+            if (value == null) {
+                tied.add(cb.isNull(path));
+                continue;
+            }
+            Predicate beyond = order.isAscending() ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+            List<Predicate> alternative = new ArrayList<>(tied);
+            // The last key is unique and never null
+            alternative.add(i == orders.size() - 1 ? beyond : cb.or(beyond, cb.isNull(path)));
+            alternatives.add(cb.and(alternative.toArray(Predicate[]::new)));
+            tied.add(cb.equal(path, value));
+        }
+        return cb.or(alternatives.toArray(Predicate[]::new));
+    }
+
+    /**
+     * Updates an employee and reads its previous values in the same statement. PostgreSQL returns only the new
+     * values from an UPDATE, so the previous ones are selected and locked by a subquery the UPDATE joins;
+     * other databases select them from the old rows of the UPDATE as a data change delta table.
+     *
+     * @param employee        the new employee details, including the ID of the employee to update
+     * @param expectedVersion the version the employee must have, or null to update any version
+     * @return the department, salary and version before the update, or empty if no row matched
+     */
+    @Override
+    public Optional<VersionedDepartmentSalary> updateEmployeeReturningPrevious(Employee employee, Long expectedVersion) {
+        String versionCondition = expectedVersion != null ? " AND previous.version = ?7" : "";
+        String postgresSql = "UPDATE employee e SET " + UPDATED_COLUMNS + ", version = e.version + 1 "
+                + "FROM (SELECT id, department, salary, version FROM employee WHERE id = ?6 FOR UPDATE) previous "
+                + "WHERE e.id = previous.id" + versionCondition + " RETURNING " + PREVIOUS_COLUMNS;
+        String standardSql = "SELECT " + PREVIOUS_COLUMNS + " FROM OLD TABLE (UPDATE employee previous SET "
+                + UPDATED_COLUMNS + ", version = previous.version + 1 WHERE previous.id = ?6" + versionCondition + ") previous";
+        return writeReturningPrevious(employee.getId(), postgresSql, standardSql, query -> {
+            query.setParameter(1, employee.getFirstName(), StandardBasicTypes.STRING);
+            query.setParameter(2, employee.getLastName(), StandardBasicTypes.STRING);
+            query.setParameter(3, employee.getEmail(), StandardBasicTypes.STRING);
+            query.setParameter(4, employee.getDepartment(), StandardBasicTypes.STRING);
+            query.setParameter(5, employee.getSalary(), StandardBasicTypes.DOUBLE);
+            query.setParameter(6, employee.getId(), StandardBasicTypes.LONG);
+            if (expectedVersion != null) {
+                query.setParameter(7, expectedVersion, StandardBasicTypes.LONG);
+            }
+        });
+    }
+
+    /**
+     * Deletes an employee and reads its values in the same statement, with {@code RETURNING} on PostgreSQL and
+     * from the old rows of the DELETE as a data change delta table on other databases.
+     *
+     * @param id              the ID of the employee to delete
+     * @param expectedVersion the version the employee must have, or null to delete any version
+     * @return the department, salary and version of the deleted employee, or empty if no row matched
+     */
+    @Override
+    public Optional<VersionedDepartmentSalary> deleteEmployeeReturningPrevious(Long id, Long expectedVersion) {
+        String delete = "DELETE FROM employee previous WHERE previous.id = ?1"
+                + (expectedVersion != null ? " AND previous.version = ?2" : "");
+        return writeReturningPrevious(id, delete + " RETURNING " + PREVIOUS_COLUMNS,
+                "SELECT " + PREVIOUS_COLUMNS + " FROM OLD TABLE (" + delete + ") previous", query -> {
+                    query.setParameter(1, id, StandardBasicTypes.LONG);
+                    if (expectedVersion != null) {
+                        query.setParameter(2, expectedVersion, StandardBasicTypes.LONG);
+                    }
+                });
+    }
+
+    /**
+     * Runs a write returning the previous values of the employee as a native query, so that it goes through
+     * Hibernate's statement inspection like every other statement.
+     */
+    private Optional<VersionedDepartmentSalary> writeReturningPrevious(Long id, String postgresSql, String standardSql,
+                                                                       Consumer<NativeQuery<?>> binder) {
+        entityManager.flush();
+        Session session = entityManager.unwrap(Session.class);
+        boolean postgres = session.doReturningWork(connection -> connection.isWrapperFor(BaseConnection.class));
+        NativeQuery<Object[]> query = session.createNativeQuery(postgres ? postgresSql : standardSql, Object[].class)
+                .addScalar("department", StandardBasicTypes.STRING)
+                .addScalar("salary", StandardBasicTypes.DOUBLE)
+                .addScalar("version", StandardBasicTypes.LONG);
+        binder.accept(query);
+        Optional<VersionedDepartmentSalary> previous = query.getResultList().stream()
+                .findFirst()
+                .map(row -> new PreviousValues((String) row[0], (Double) row[1], (Long) row[2]));
+        // Like a bulk statement, the write bypasses the persistence context, so a managed copy of the employee
+        // would be stale; getReference returns that copy if there is one, without querying the database
+        entityManager.detach(entityManager.getReference(Employee.class, id));
+        return previous;
+    }
+
+    /**
+     * The department, salary and version of an employee before a write.
+     */
+    private record PreviousValues(String department, Double salary, Long version) implements VersionedDepartmentSalary {
+        @Override
+        public String getDepartment() {
+            return department;
+        }
+
+        @Override
+        public Double getSalary() {
+            return salary;
+        }
+
+        @Override
+        public Long getVersion() {
+            return version;
+        }
+    }
+}
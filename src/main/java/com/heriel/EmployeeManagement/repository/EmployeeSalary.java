@@ -0,0 +1,13 @@
+package com.heriel.EmployeeManagement.repository;
+
+/**
+ * Projection of the ID, department and salary of an employee.
+ */
+public interface EmployeeSalary extends DepartmentSalary {
+    /**
+     * Returns the ID of the employee.
+     *
+     * @return the ID
+     */
+    Long getId();
+}
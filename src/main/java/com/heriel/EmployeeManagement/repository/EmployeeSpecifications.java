@@ -0,0 +1,59 @@
+package com.heriel.EmployeeManagement.repository;
+
+import com.heriel.EmployeeManagement.dto.EmployeeSearchCriteria;
+import com.heriel.EmployeeManagement.model.Employee;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Specifications for filtering Employee entities.
+ * Every predicate is written so that it can be answered from an index on the Employee table:
+ * equality on department and email, a left-anchored LIKE on the names and a range on salary.
+ */
+public class EmployeeSpecifications {
+
+    /**
+     * Creates a specification matching all of the given criteria.
+     * Predicates are added in the order department, email, name, minimum salary, maximum salary.
+     *
+     * @param criteria the search criteria; null fields are ignored
+     * @return the combined specification
+     */
+    public static Specification<Employee> matching(EmployeeSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria.getDepartment() != null) {
+                predicates.add(cb.equal(root.get("department"), criteria.getDepartment()));
+            }
+            if (criteria.getEmail() != null) {
+                predicates.add(cb.equal(root.get("email"), criteria.getEmail()));
+            }
+            if (criteria.getName() != null) {
+                String pattern = escapeLike(criteria.getName()) + "%";
+                predicates.add(cb.or(
+                        cb.like(root.get("firstName"), pattern, '\\'),
+                        cb.like(root.get("lastName"), pattern, '\\')));
+            }
+            if (criteria.getMinSalary() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("salary"), criteria.getMinSalary()));
+            }
+            if (criteria.getMaxSalary() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("salary"), criteria.getMaxSalary()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Escapes the LIKE wildcards in a user supplied prefix.
+     *
+     * @param value the raw prefix
+     * @return the prefix with %, _ and the escape character escaped
+     */
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
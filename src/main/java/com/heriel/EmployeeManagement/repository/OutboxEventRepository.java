@@ -0,0 +1,43 @@
+package com.heriel.EmployeeManagement.repository;
+
+import com.heriel.EmployeeManagement.model.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for the events of the transactional outbox.
+ */
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    /**
+     * Fetches the committed events that have no position yet, oldest ID first.
+     *
+     * @param limit the maximum number of events to return
+     * @return the events waiting to be relayed
+     */
+    List<OutboxEvent> findByPositionIsNullOrderById(Limit limit);
+
+    /**
+     * Fetches the relayed events after a position, in position order.
+     *
+     * @param position the position to continue after
+     * @param limit    the maximum number of events to return
+     * @return the events after the position
+     */
+    List<OutboxEvent> findByPositionGreaterThanOrderByPosition(long position, Limit limit);
+
+    /**
+     * Deletes the relayed events that occurred before the given time.
+     *
+     * @param cutoff the time before which relayed events are deleted
+     * @return the number of deleted events
+     */
+    @Modifying
+    @Query("delete from OutboxEvent e where e.position is not null and e.occurredAt < :cutoff")
+    int deleteRelayedBefore(@Param("cutoff") Instant cutoff);
+}
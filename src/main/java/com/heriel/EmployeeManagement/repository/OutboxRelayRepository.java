@@ -0,0 +1,31 @@
+package com.heriel.EmployeeManagement.repository;
+
+import com.heriel.EmployeeManagement.model.OutboxRelay;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for the row holding the last position assigned to an outbox event.
+ */
+public interface OutboxRelayRepository extends JpaRepository<OutboxRelay, Integer> {
+    /**
+     * Fetches the row and locks it until the end of the transaction.
+     *
+     * @return the row, or empty before the first relay
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from OutboxRelay r where r.id = " + OutboxRelay.ID)
+    Optional<OutboxRelay> lock();
+
+    /**
+     * Fetches the last assigned position without locking.
+     *
+     * @return the last assigned position, or empty before the first relay
+     */
+    @Query("select r.position from OutboxRelay r where r.id = " + OutboxRelay.ID)
+    Optional<Long> findPosition();
+}
@@ -0,0 +1,14 @@
+package com.heriel.EmployeeManagement.repository;
+
+/**
+ * Projection of the department and salary of an employee together with its version,
+ * as it was before an update or delete.
+ */
+public interface VersionedDepartmentSalary extends DepartmentSalary {
+    /**
+     * Returns the version of the employee.
+     *
+     * @return the version
+     */
+    Long getVersion();
+}
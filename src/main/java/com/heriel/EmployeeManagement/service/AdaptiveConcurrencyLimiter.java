@@ -0,0 +1,115 @@
+package com.heriel.EmployeeManagement.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the number of requests in flight, adapting the limit to the observed latency with AIMD
+ * (additive increase, multiplicative decrease).
+ * <p>
+ * Every completed request is a sample. A sample slower than the latency threshold, or a request that failed
+ * with a server error, multiplies the limit by the backoff ratio. A fast sample taken while at least half of
+ * the limit was in use raises the limit by one; while most of the limit is unused the limit is left alone,
+ * so it does not grow far beyond the concurrency actually needed. The limit stays between the minimum and
+ * the maximum.
+ * <p>
+ * When the database slows down, requests get slower, the limit shrinks and the excess requests are rejected
+ * at once instead of queueing for a connection, which keeps the latency of the admitted requests bounded.
+ * Thread-safe.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    /** The raw bits of the limit as a double, so that it can be updated with compare-and-set. */
+    private final AtomicLong limitBits = new AtomicLong();
+
+    /**
+     * Creates a limiter.
+     *
+     * @param initialLimit     the limit before any sample was taken
+     * @param minLimit         the lowest the limit can go
+     * @param maxLimit         the highest the limit can go
+     * @param latencyThreshold the latency above which a request counts as slow
+     * @param backoffRatio     the factor the limit is multiplied by for a slow or failed request, between 0 and 1
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold,
+                                      double backoffRatio) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (!(backoffRatio > 0 && backoffRatio < 1)) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limitBits.set(Double.doubleToRawLongBits(initialLimit));
+    }
+
+    /**
+     * Admits a request if fewer requests than the limit are in flight.
+     * Every admitted request must be completed with {@link #release(long, boolean)}.
+     *
+     * @return true if the request was admitted, false if it should be rejected
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Completes an admitted request and adapts the limit to how it went.
+     *
+     * @param latencyNanos how long the request took, in nanoseconds
+     * @param failed       whether the request failed in a way that indicates overload, such as a server error
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int current = inFlight.getAndDecrement();
+        boolean slow = failed || latencyNanos > latencyThresholdNanos;
+        while (true) {
+            long bits = limitBits.get();
+            double limit = Double.longBitsToDouble(bits);
+            double next;
+            if (slow) {
+                next = Math.max(minLimit, limit * backoffRatio);
+            } else if (current * 2 >= limit) {
+                next = Math.min(maxLimit, limit + 1);
+            } else {
+                return;
+            }
+            if (next == limit || limitBits.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the current limit.
+     *
+     * @return the maximum number of requests admitted at the same time
+     */
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    /**
+     * Returns the number of admitted requests that have not completed yet.
+     *
+     * @return the number of requests in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
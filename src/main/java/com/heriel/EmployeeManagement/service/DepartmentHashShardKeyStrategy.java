@@ -0,0 +1,32 @@
+package com.heriel.EmployeeManagement.service;
+
+import com.heriel.EmployeeManagement.model.Employee;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Default shard key: a CRC32 hash of the department, so new employees of a department are stored together.
+ * Employees without a department go to shard 0.
+ */
+@Component
+public class DepartmentHashShardKeyStrategy implements ShardKeyStrategy {
+
+    /**
+     * Picks the shard of a new employee from its department.
+     *
+     * @param employee   the employee about to be created
+     * @param shardCount the number of shards
+     * @return the index of the shard
+     */
+    @Override
+    public int shardOf(Employee employee, int shardCount) {
+        if (employee.getDepartment() == null) {
+            return 0;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(employee.getDepartment().getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % shardCount);
+    }
+}
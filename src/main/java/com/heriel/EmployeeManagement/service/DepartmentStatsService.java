@@ -0,0 +1,237 @@
+package com.heriel.EmployeeManagement.service;
+
+import com.heriel.EmployeeManagement.config.ReplicaRoutingDataSource;
+import com.heriel.EmployeeManagement.dto.DepartmentStats;
+import com.heriel.EmployeeManagement.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service class maintaining per-department headcount and payroll statistics in memory.
+ * <p>
+ * The statistics are built from a GROUP BY query at startup and then updated incrementally
+ * from the changes published by {@link EmployeeChangeRecorder} after each commit. Headcount and
+ * total salary are adjusted in place; when the lowest or highest salary of a department is removed,
+ * only that department's salary range is recomputed from the database.
+ * <p>
+ * Reads never block: each department maps to an immutable {@link DepartmentStats} snapshot.
+ * A periodic reconciliation compares the statistics with the database and replaces any that drifted,
+ * e.g. because rows were changed outside the application. A department changed while its snapshot was read is
+ * not replaced, as the snapshot may or may not include the change; it is read again on its own, a few times at
+ * most, and otherwise left to the next reconciliation. With sharding, the queries run on every shard and
+ * the statistics of a department are combined from its employees on each shard.
+ */
+@Service
+public class DepartmentStatsService implements EmployeeChangeListener {
+    private static final Logger log = LoggerFactory.getLogger(DepartmentStatsService.class);
+
+    /**
+     * The number of times departments changed during reconciliation are read again before giving up.
+     */
+    private static final int RECONCILE_ROUNDS = 3;
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeShards employeeShards;
+    private final EmployeeChangeRecorder employeeChangeRecorder;
+    private final Map<String, DepartmentStats> stats = new ConcurrentHashMap<>();
+    // Serializes applying changes with replacing reconciled statistics
+    private final Lock changeLock = new ReentrantLock();
+    private final Lock reconcileLock = new ReentrantLock();
+    private Set<String> changedSinceSnapshot;
+
+    /**
+     * Constructor for DepartmentStatsService.
+     *
+     * @param employeeRepository     the repository used to compute the statistics from the database
+     * @param employeeShards         the router of the queries to the shards of the employee table
+     * @param employeeChangeRecorder the recorder of the changes, telling which departments have unpublished changes
+     */
+    public DepartmentStatsService(EmployeeRepository employeeRepository, EmployeeShards employeeShards,
+                                  EmployeeChangeRecorder employeeChangeRecorder) {
+        this.employeeRepository = employeeRepository;
+        this.employeeShards = employeeShards;
+        this.employeeChangeRecorder = employeeChangeRecorder;
+    }
+
+    /**
+     * Returns the statistics of every department, ordered by department name.
+     *
+     * @return the department statistics
+     */
+    public List<DepartmentStats> getDepartmentStats() {
+        List<DepartmentStats> result = new ArrayList<>(stats.values());
+        result.sort(Comparator.comparing(DepartmentStats::getDepartment));
+        return result;
+    }
+
+    /**
+     * Rebuilds the statistics from the database once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+
+    /**
+     * Compares the statistics with a GROUP BY query and replaces every department that drifted.
+     * Departments changed while the query ran are queried again one by one.
+     *
+     * @return the number of departments that were corrected
+     */
+    @Scheduled(initialDelayString = "${employee.stats.reconcile-interval:PT10M}",
+            fixedDelayString = "${employee.stats.reconcile-interval:PT10M}")
+    public int reconcile() {
+        reconcileLock.lock();
+        try {
+            startSnapshot();
+            Map<String, DepartmentStats> actual = new HashMap<>();
+            // Compared against the primary database, which every write recorded in the statistics has reached
+            for (List<DepartmentStats> shard : employeeShards.onEveryShard(true,
+                    () -> ReplicaRoutingDataSource.onPrimary(employeeRepository::summarizeDepartments))) {
+                for (DepartmentStats department : shard) {
+                    if (department.getDepartment() != null) {
+                        actual.merge(department.getDepartment(), department, DepartmentStats::combine);
+                    }
+                }
+            }
+            Set<String> departments = new HashSet<>(actual.keySet());
+            departments.addAll(stats.keySet());
+            int corrected = 0;
+            for (int round = 1; ; round++) {
+                Set<String> changed = new HashSet<>();
+                changeLock.lock();
+                try {
+                    // Transactions yet to apply their changes may have committed before the snapshot was read
+                    changedSinceSnapshot.addAll(employeeChangeRecorder.getPendingDepartments());
+                    for (String department : departments) {
+                        if (changedSinceSnapshot.contains(department)) {
+                            changed.add(department);
+                            continue;
+                        }
+                        DepartmentStats expected = actual.get(department);
+                        DepartmentStats previous = expected == null
+                                ? stats.remove(department) : stats.put(department, expected);
+                        if (expected == null ? previous != null : !matches(previous, expected)) {
+                            corrected++;
+                        }
+                    }
+                    changedSinceSnapshot = null;
+                } finally {
+                    changeLock.unlock();
+                }
+                if (changed.isEmpty()) {
+                    break;
+                }
+                if (round == RECONCILE_ROUNDS) {
+                    log.debug("Left the statistics of {} department(s) changing during reconciliation", changed.size());
+                    break;
+                }
+                departments = changed;
+                startSnapshot();
+                actual = summarizeDepartments(departments);
+            }
+            if (corrected > 0) {
+                log.warn("Corrected the statistics of {} department(s) during reconciliation", corrected);
+            }
+            return corrected;
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    /**
+     * Starts tracking the departments changed from now on, and those with changes not yet applied.
+     */
+    private void startSnapshot() {
+        changeLock.lock();
+        try {
+            changedSinceSnapshot = new HashSet<>(employeeChangeRecorder.getPendingDepartments());
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    private Map<String, DepartmentStats> summarizeDepartments(Set<String> departments) {
+        Map<String, DepartmentStats> actual = new HashMap<>();
+        for (String department : departments) {
+            summarizeDepartment(department).ifPresent(summary -> actual.put(department, summary));
+        }
+        return actual;
+    }
+
+    private Optional<DepartmentStats> summarizeDepartment(String department) {
+        return employeeShards.onEveryShard(true,
+                        () -> ReplicaRoutingDataSource.onPrimary(() -> employeeRepository.summarizeDepartment(department)))
+                .stream()
+                .flatMap(Optional::stream)
+                .reduce(DepartmentStats::combine);
+    }
+
+    private static boolean matches(DepartmentStats expected, DepartmentStats actual) {
+        return expected != null
+                && expected.getHeadcount() == actual.getHeadcount()
+                && expected.getMinSalary() == actual.getMinSalary()
+                && expected.getMaxSalary() == actual.getMaxSalary()
+                // Sums of doubles depend on the order of addition
+                && Math.abs(expected.getTotalSalary() - actual.getTotalSalary())
+                <= 1e-9 * Math.max(1, Math.abs(actual.getTotalSalary()));
+    }
+
+    /**
+     * Applies committed changes to the statistics.
+     *
+     * @param changes the committed changes
+     */
+    @Override
+    public void onChanges(List<EmployeeChange> changes) {
+        List<String> stale = new ArrayList<>();
+        changeLock.lock();
+        try {
+            for (EmployeeChange change : changes) {
+                if (changedSinceSnapshot != null) {
+                    Optional.ofNullable(change.getOldDepartment()).ifPresent(changedSinceSnapshot::add);
+                    Optional.ofNullable(change.getNewDepartment()).ifPresent(changedSinceSnapshot::add);
+                }
+                if (change.hasOld()) {
+                    double salary = change.getOldSalary();
+                    DepartmentStats updated = stats.computeIfPresent(change.getOldDepartment(),
+                            (department, current) -> current.getHeadcount() <= 1 ? null : current.minus(salary));
+                    if (updated != null && (salary <= updated.getMinSalary() || salary >= updated.getMaxSalary())
+                            && !stale.contains(change.getOldDepartment())) {
+                        stale.add(change.getOldDepartment());
+                    }
+                }
+                if (change.hasNew()) {
+                    double salary = change.getNewSalary();
+                    stats.compute(change.getNewDepartment(), (department, current) -> current == null
+                            ? new DepartmentStats(department, 1, salary, salary, salary)
+                            : current.plus(salary));
+                }
+            }
+        } finally {
+            changeLock.unlock();
+        }
+        // The removed salary was the lowest or highest of its department, which the remaining
+        // aggregate cannot tell the replacement of; recompute just the range from the database
+        for (String department : stale) {
+            summarizeDepartment(department).ifPresent(actual -> stats.computeIfPresent(department,
+                    (name, current) -> current.withRange(actual.getMinSalary(), actual.getMaxSalary())));
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.heriel.EmployeeManagement.service;
+
+import com.heriel.EmployeeManagement.config.ReplicaRoutingDataSource;
+import com.heriel.EmployeeManagement.model.Employee;
+import com.heriel.EmployeeManagement.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Loads single employees by ID, batching the lookups of concurrent requests into one query.
+ * <p>
+ * The first lookup opens a batch and waits up to {@code employee.loader.window} for further lookups to join it;
+ * it then runs one {@code IN} query for all of them on its own thread, one per shard holding any of the IDs.
+ * Lookups of an ID already waiting in the open batch share its result instead of adding it again. A batch
+ * reaching {@code employee.loader.max-batch-size} IDs is run at once by the lookup filling it.
+ * <p>
+ * Lookups only join a batch whose query has not started yet, so a lookup never returns a row read before it
+ * was made, e.g. before a write the same client just committed. Concurrent lookups of the same ID whose query
+ * is already running are coalesced by the employee cache in front of {@link EmployeeService#getEmployee(Long)}.
+ * Lookups inside a transaction are run directly, as they must see its writes.
+ * <p>
+ * The number of lookups, of lookups served by another lookup of the same ID, and of queries are published as
+ * {@code employee.loader.requests}, {@code employee.loader.coalesced} and {@code employee.loader.queries}; the
+ * lookups per query, i.e. the coalescing ratio, are the first over the last. {@code employee.loader.batch.size}
+ * records the distinct IDs per query.
+ */
+@Component
+public class EmployeeBatchLoader {
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeShards employeeShards;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter requestCounter;
+    private final Counter coalescedCounter;
+    private final Counter queryCounter;
+    private final DistributionSummary batchSize;
+    // The batch lookups currently join, or null if none is open
+    private Batch open;
+
+    /**
+     * Constructor for EmployeeBatchLoader.
+     *
+     * @param employeeRepository the repository for Employee entities
+     * @param employeeShards     the router of queries to the shards of the employee table
+     * @param meterRegistry      the registry to publish the loader metrics in
+     * @param window             how long a batch waits for further lookups; zero runs it right away
+     * @param maxBatchSize       the maximum number of IDs queried at once
+     */
+    public EmployeeBatchLoader(EmployeeRepository employeeRepository,
+                               EmployeeShards employeeShards,
+                               MeterRegistry meterRegistry,
+                               @Value("${employee.loader.window:2ms}") Duration window,
+                               @Value("${employee.loader.max-batch-size:100}") int maxBatchSize) {
+        if (window.isNegative() || maxBatchSize < 1) {
+            throw new IllegalArgumentException("employee.loader.window must not be negative and "
+                    + "employee.loader.max-batch-size must be positive");
+        }
+        this.employeeRepository = employeeRepository;
+        this.employeeShards = employeeShards;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.requestCounter = Counter.builder("employee.loader.requests")
+                .description("Lookups of single employees by ID")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("employee.loader.coalesced")
+                .description("Lookups served by another lookup of the same ID")
+                .register(meterRegistry);
+        this.queryCounter = Counter.builder("employee.loader.queries")
+                .description("Queries run for lookups of single employees")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("employee.loader.batch.size")
+                .description("Distinct IDs per query")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads an employee by ID, together with the lookups of other requests arriving within the batch window.
+     * Read from the primary database.
+     *
+     * @param id the ID of the employee
+     * @return the Employee entity, or null if not found
+     */
+    public Employee load(Long id) {
+        requestCounter.increment();
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return query(List.of(id)).get(id);
+        }
+        Batch batch;
+        CompletableFuture<Employee> result;
+        boolean opened = false;
+        boolean filled = false;
+        lock.lock();
+        try {
+            if (open == null) {
+                open = new Batch();
+                opened = true;
+            }
+            batch = open;
+            result = batch.loads.get(id);
+            if (result != null) {
+                coalescedCounter.increment();
+            } else {
+                result = new CompletableFuture<>();
+                batch.loads.put(id, result);
+                if (batch.loads.size() >= maxBatchSize) {
+                    open = null;
+                    filled = true;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (filled) {
+            run(batch);
+        } else if (opened) {
+            // Wait for further lookups, unless the batch is filled and run by another lookup first
+            if (windowNanos > 0) {
+                try {
+                    return result.get(windowNanos, TimeUnit.NANOSECONDS);
+                } catch (TimeoutException ex) {
+                    // The window has passed
+                } catch (InterruptedException ex) {
+                    // Still run the batch, as the other lookups in it wait for this one to do so
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ex) {
+                    throw unwrap(ex);
+                }
+            }
+            if (close(batch)) {
+                run(batch);
+            }
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an employee", ex);
+        } catch (ExecutionException ex) {
+            throw unwrap(ex);
+        }
+    }
+
+    /**
+     * Stops further lookups from joining a batch.
+     *
+     * @return true if the batch was still open, false if another lookup has already run it
+     */
+    private boolean close(Batch batch) {
+        lock.lock();
+        try {
+            if (open != batch) {
+                return false;
+            }
+            open = null;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run(Batch batch) {
+        try {
+            Map<Long, Employee> employees = query(batch.loads.keySet().stream().toList());
+            batch.loads.forEach((id, result) -> result.complete(employees.get(id)));
+        } catch (RuntimeException | Error ex) {
+            batch.loads.values().forEach(result -> result.completeExceptionally(ex));
+        }
+    }
+
+    private Map<Long, Employee> query(List<Long> ids) {
+        queryCounter.increment();
+        batchSize.record(ids.size());
+        Map<Long, Employee> employees = new HashMap<>();
+        if (ids.size() == 1) {
+            // A single ID is looked up by primary key, which may be served from the persistence context
+            Long id = ids.get(0);
+            employeeShards.onShard(employeeShards.shardOf(id), () -> ReplicaRoutingDataSource.onPrimary(
+                    () -> employeeRepository.findById(id))).ifPresent(employee -> employees.put(id, employee));
+            return employees;
+        }
+        for (Employee employee : employeeShards.gatherByIds(ids,
+                shardIds -> ReplicaRoutingDataSource.onPrimary(() -> employeeRepository.findAllById(shardIds)))) {
+            employees.put(employee.getId(), employee);
+        }
+        return employees;
+    }
+
+    private static RuntimeException unwrap(ExecutionException ex) {
+        if (ex.getCause() instanceof RuntimeException cause) {
+            return cause;
+        }
+        if (ex.getCause() instanceof Error cause) {
+            throw cause;
+        }
+        return new IllegalStateException(ex.getCause());
+    }
+
+    /**
+     * The lookups of a batch, by ID; only changed while the batch is open.
+     */
+    private static final class Batch {
+        private final Map<Long, CompletableFuture<Employee>> loads = new LinkedHashMap<>();
+    }
+}
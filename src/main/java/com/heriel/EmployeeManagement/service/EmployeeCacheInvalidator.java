@@ -0,0 +1,40 @@
+package com.heriel.EmployeeManagement.service;
+
+import com.heriel.EmployeeManagement.config.CacheConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Evicts employees from the employee cache for writes that touch many IDs at once,
+ * where a {@code @CacheEvict} annotation cannot name the keys. Evictions are deferred until
+ * the surrounding transaction commits. Does nothing when caching is disabled.
+ */
+@Component
+public class EmployeeCacheInvalidator {
+    private final Cache cache;
+
+    /**
+     * Constructor for EmployeeCacheInvalidator.
+     *
+     * @param cacheManager the cache manager, if caching is enabled
+     */
+    public EmployeeCacheInvalidator(ObjectProvider<CacheManager> cacheManager) {
+        CacheManager manager = cacheManager.getIfAvailable();
+        this.cache = manager != null ? manager.getCache(CacheConfig.EMPLOYEES) : null;
+    }
+
+    /**
+     * Evicts the given employee IDs from the cache.
+     *
+     * @param ids the IDs of the employees that were written
+     */
+    public void evict(Collection<Long> ids) {
+        if (cache != null) {
+            ids.forEach(cache::evict);
+        }
+    }
+}
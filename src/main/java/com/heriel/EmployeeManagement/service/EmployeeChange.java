@@ -0,0 +1,53 @@
+package com.heriel.EmployeeManagement.service;
+
+import lombok.Value;
+
+/**
+ * A committed change to the department or salary of a single employee.
+ * The old values are null for an added employee and the new values are null for a removed one.
+ */
+@Value
+public class EmployeeChange {
+    /**
+     * The ID of the employee.
+     */
+    Long id;
+
+    /**
+     * The department before the change, or null if the employee was added.
+     */
+    String oldDepartment;
+
+    /**
+     * The salary before the change, or null if the employee was added.
+     */
+    Double oldSalary;
+
+    /**
+     * The department after the change, or null if the employee was removed.
+     */
+    String newDepartment;
+
+    /**
+     * The salary after the change, or null if the employee was removed.
+     */
+    Double newSalary;
+
+    /**
+     * Returns whether the employee existed before the change.
+     *
+     * @return true unless the employee was added
+     */
+    public boolean hasOld() {
+        return oldDepartment != null && oldSalary != null;
+    }
+
+    /**
+     * Returns whether the employee exists after the change.
+     *
+     * @return true unless the employee was removed
+     */
+    public boolean hasNew() {
+        return newDepartment != null && newSalary != null;
+    }
+}
@@ -0,0 +1,393 @@
+package com.heriel.EmployeeManagement.service;
+
+import com.heriel.EmployeeManagement.dto.ChangePage;
+import com.heriel.EmployeeManagement.dto.EmployeeChangeEvent;
+import com.heriel.EmployeeManagement.exception.BadRequestException;
+import com.heriel.EmployeeManagement.exception.GoneException;
+import com.heriel.EmployeeManagement.exception.ServiceUnavailableException;
+import com.heriel.EmployeeManagement.model.OutboxEvent;
+import com.heriel.EmployeeManagement.model.OutboxRelay;
+import com.heriel.EmployeeManagement.repository.OutboxEventRepository;
+import com.heriel.EmployeeManagement.repository.OutboxRelayRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service class publishing the committed changes of employees as a feed, from the transactional outbox.
+ * <p>
+ * A single poller per instance relays the outbox: it assigns consecutive positions to the committed events
+ * that have none yet, under a lock on the relay row of the database, and appends every event after the last
+ * position it has seen to a shared {@link EmployeeChangeRing}. Subscribers of the event stream read from the ring
+ * on their own virtual thread, so one poll serves any number of subscribers and a slow subscriber only holds up
+ * itself. A subscriber overrun by the ring, or resuming from a position the ring no longer covers, catches up
+ * from the database and then rejoins the ring. The same events are readable over plain HTTP after a position.
+ * <p>
+ * With sharding, every shard has its own outbox and positions, and a position of the feed lists the position of
+ * every shard. Relayed events are removed after {@code employee.changes.retention}; resuming from before that
+ * fails with a {@link GoneException}. The subscribers and relayed events are published as
+ * {@code employee.changes.*} metrics.
+ */
+@Service
+public class EmployeeChangeFeed implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeChangeFeed.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxRelayRepository outboxRelayRepository;
+    private final EmployeeShards employeeShards;
+    private final EmployeeChangeRing ring;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration heartbeat;
+    private final Duration retention;
+    private final TransactionTemplate relayTransaction;
+    private final Clock clock = Clock.systemUTC();
+
+    private final ReentrantLock pollLock = new ReentrantLock();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter relayedCounter;
+    private volatile boolean running = true;
+
+    /**
+     * Constructor for EmployeeChangeFeed.
+     *
+     * @param outboxEventRepository the repository for outbox events
+     * @param outboxRelayRepository the repository for the last assigned position
+     * @param employeeShards        the router of queries to the shards of the employee table
+     * @param transactionManager    the transaction manager committing each relay before its events are published
+     * @param meterRegistry         the registry to publish the feed metrics in
+     * @param ringCapacity          the number of latest events held in memory for subscribers
+     * @param batchSize             the maximum number of events relayed per shard and poll, or sent per read
+     * @param pollInterval          how long the poller waits between polls
+     * @param heartbeat             how long a subscriber waits without events before a keep-alive is sent
+     * @param retention             how long relayed events are kept in the outbox
+     */
+    public EmployeeChangeFeed(OutboxEventRepository outboxEventRepository,
+                              OutboxRelayRepository outboxRelayRepository,
+                              EmployeeShards employeeShards,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${employee.changes.ring-capacity:10000}") int ringCapacity,
+                              @Value("${employee.changes.batch-size:1000}") int batchSize,
+                              @Value("${employee.changes.poll-interval:PT0.5S}") Duration pollInterval,
+                              @Value("${employee.changes.heartbeat:15s}") Duration heartbeat,
+                              @Value("${employee.changes.retention:P7D}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxRelayRepository = outboxRelayRepository;
+        this.employeeShards = employeeShards;
+        this.relayTransaction = new TransactionTemplate(transactionManager);
+        this.relayTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ring = new EmployeeChangeRing(ringCapacity);
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.heartbeat = heartbeat;
+        this.retention = retention;
+
+        Gauge.builder("employee.changes.subscribers", subscribers, Set::size)
+                .description("Clients subscribed to the change stream")
+                .register(meterRegistry);
+        this.relayedCounter = Counter.builder("employee.changes.relayed")
+                .description("Outbox events relayed to the change feed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts the feed once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        poll();
+    }
+
+    /**
+     * Relays the committed outbox events of every shard and appends them to the ring, until no shard has more.
+     * The first poll starts the ring at the last relayed position, so earlier events are only read from the database.
+     *
+     * @return the number of events appended to the ring
+     */
+    @Scheduled(fixedDelayString = "${employee.changes.poll-interval:PT0.5S}")
+    public int poll() {
+        pollLock.lock();
+        try {
+            if (!ring.isStarted()) {
+                ring.start(relayTransaction.execute(status -> employeeShards.onEachShard(false,
+                        shard -> outboxRelayRepository.findPosition().orElse(0L))).stream().mapToLong(Long::longValue).toArray());
+            }
+            int appended = 0;
+            boolean more = true;
+            while (more && running) {
+                long[] seen = ring.latest();
+                // Committed before the events are published, so a published position is never rolled back
+                List<List<OutboxEvent>> relayed = relayTransaction.execute(status ->
+                        employeeShards.onEachShard(false, shard -> relay(seen[shard])));
+                more = false;
+                for (int shard = 0; shard < relayed.size(); shard++) {
+                    ring.append(shard, relayed.get(shard));
+                    appended += relayed.get(shard).size();
+                    more |= relayed.get(shard).size() == batchSize;
+                }
+            }
+            relayedCounter.increment(appended);
+            return appended;
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    private List<OutboxEvent> relay(long seen) {
+        OutboxRelay relay = outboxRelayRepository.lock()
+                .orElseGet(() -> outboxRelayRepository.saveAndFlush(new OutboxRelay(OutboxRelay.ID)));
+        long position = relay.getPosition();
+        for (OutboxEvent event : outboxEventRepository.findByPositionIsNullOrderById(Limit.of(batchSize))) {
+            event.setPosition(++position);
+        }
+        relay.setPosition(position);
+        // Includes the events relayed by other instances since the last poll
+        return outboxEventRepository.findByPositionGreaterThanOrderByPosition(seen, Limit.of(batchSize));
+    }
+
+    /**
+     * Removes the relayed events older than the retention period from the outbox of every shard.
+     *
+     * @return the number of removed events
+     */
+    @Scheduled(initialDelayString = "PT1H", fixedDelayString = "PT1H")
+    @Transactional
+    public int prune() {
+        Instant cutoff = clock.instant().minus(retention);
+        return employeeShards.onEachShard(false, shard -> outboxEventRepository.deleteRelayedBefore(cutoff))
+                .stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Reads the events after a position, from the ring if it still holds them, otherwise from the database.
+     *
+     * @param since the position to continue after, or null to start with the oldest event kept
+     * @param limit the maximum number of events to return per shard
+     * @return the events after the position and the position after them
+     * @throws BadRequestException if the position is malformed
+     * @throws GoneException       if events after the position were removed after the retention period
+     */
+    public ChangePage getChanges(String since, int limit) {
+        long[] after = since != null ? parse(since) : new long[employeeShards.getShardCount()];
+        List<EmployeeChangeRing.Entry> entries = since != null ? readRing(after, limit) : null;
+        if (entries == null) {
+            entries = load(after, limit, since != null);
+        }
+        List<EmployeeChangeEvent> events = new ArrayList<>(entries.size());
+        for (EmployeeChangeRing.Entry entry : entries) {
+            events.add(entry.getEvent());
+            after[entry.getShard()] = entry.getPosition();
+        }
+        return new ChangePage(events, EmployeeChangeRing.format(after));
+    }
+
+    private List<EmployeeChangeRing.Entry> readRing(long[] after, int limit) {
+        long index = ring.indexAfter(after);
+        if (index < 0) {
+            return null;
+        }
+        List<EmployeeChangeRing.Entry> held;
+        try {
+            held = ring.read(index, Integer.MAX_VALUE, Duration.ZERO);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading the change feed", ex);
+        }
+        if (held == null) {
+            return null;
+        }
+        List<EmployeeChangeRing.Entry> entries = new ArrayList<>();
+        for (EmployeeChangeRing.Entry entry : held) {
+            if (entry.getPosition() > after[entry.getShard()] && entries.size() < limit) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    private List<EmployeeChangeRing.Entry> load(long[] after, int limit, boolean resumed) {
+        List<List<OutboxEvent>> shards = employeeShards.onEachShard(true, shard -> {
+            // Read before the events, so every event up to this position is committed when they are read
+            long relayed = resumed ? outboxRelayRepository.findPosition().orElse(0L) : 0;
+            List<OutboxEvent> events = outboxEventRepository.findByPositionGreaterThanOrderByPosition(after[shard],
+                    Limit.of(limit));
+            // Positions are consecutive, so a gap after the position means events were removed
+            boolean removed = events.isEmpty() ? relayed > after[shard] : events.get(0).getPosition() > after[shard] + 1;
+            if (resumed && removed) {
+                throw new GoneException("Changes after " + EmployeeChangeRing.format(after)
+                        + " are no longer kept; start over without a position");
+            }
+            return events;
+        });
+        long[] positions = after.clone();
+        List<EmployeeChangeRing.Entry> entries = new ArrayList<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            for (OutboxEvent event : shards.get(shard)) {
+                positions[shard] = event.getPosition();
+                entries.add(new EmployeeChangeRing.Entry(shard, event.getPosition(), new EmployeeChangeEvent(
+                        EmployeeChangeRing.format(positions), event.getType(), event.getEmployeeId(), event.getOccurredAt())));
+            }
+        }
+        return entries;
+    }
+
+    private long[] parse(String sequence) {
+        try {
+            return EmployeeChangeRing.parse(sequence, employeeShards.getShardCount());
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid change feed position: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Subscribes to the event stream. Each event carries its position as event ID, so a client reconnecting with
+     * a Last-Event-ID header continues after the last event it received. If the events after the position are no
+     * longer kept, a {@code gone} event is sent and the stream ends.
+     *
+     * @param since the position to continue after, or null to receive only events relayed from now on
+     * @return the emitter the events are sent to, until it times out or the client disconnects
+     * @throws BadRequestException         if the position is malformed
+     * @throws ServiceUnavailableException if no position is given and the feed has not started yet
+     */
+    public SseEmitter subscribe(String since) {
+        long[] after;
+        if (since != null) {
+            after = parse(since);
+        } else if (ring.isStarted()) {
+            after = ring.latest();
+        } else {
+            throw new ServiceUnavailableException("The change feed is starting", pollInterval);
+        }
+        Subscriber subscriber = new Subscriber(new SseEmitter(), after);
+        subscriber.emitter.onCompletion(subscriber::close);
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        executor.submit(subscriber::run);
+        return subscriber.emitter;
+    }
+
+    /**
+     * Ends every subscription and stops the threads sending events.
+     */
+    @Override
+    public void close() {
+        running = false;
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        executor.shutdownNow();
+    }
+
+    /**
+     * A subscriber of the event stream, sending from the ring or the database on its own thread.
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final long[] after;
+        private volatile boolean open = true;
+
+        private Subscriber(SseEmitter emitter, long[] after) {
+            this.emitter = emitter;
+            this.after = after;
+        }
+
+        private void close() {
+            open = false;
+        }
+
+        private void run() {
+            try {
+                while (open && running) {
+                    long index = ring.indexAfter(after);
+                    if (index < 0) {
+                        catchUp();
+                    } else {
+                        follow(index);
+                    }
+                }
+            } catch (GoneException ex) {
+                send(SseEmitter.event().name("gone").data(ex.getMessage()));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | RuntimeException ex) {
+                // The client disconnected or the database failed; the client reconnects with its last event ID
+                log.debug("Ending change stream subscription: {}", ex.toString());
+            } finally {
+                subscribers.remove(this);
+                emitter.complete();
+            }
+        }
+
+        private void catchUp() throws IOException, InterruptedException {
+            List<EmployeeChangeRing.Entry> entries = load(after, batchSize, true);
+            if (entries.isEmpty()) {
+                // Only before the ring has started; wait for the first poll
+                Thread.sleep(pollInterval.toMillis());
+                return;
+            }
+            for (EmployeeChangeRing.Entry entry : entries) {
+                sendEntry(entry);
+            }
+        }
+
+        private void follow(long index) throws IOException, InterruptedException {
+            while (open && running) {
+                List<EmployeeChangeRing.Entry> entries = ring.read(index, batchSize, heartbeat);
+                if (entries == null) {
+                    // Overrun by the ring
+                    return;
+                }
+                if (entries.isEmpty()) {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                }
+                for (EmployeeChangeRing.Entry entry : entries) {
+                    if (entry.getPosition() > after[entry.getShard()]) {
+                        sendEntry(entry);
+                    }
+                    index++;
+                }
+            }
+        }
+
+        private void sendEntry(EmployeeChangeRing.Entry entry) throws IOException {
+            EmployeeChangeEvent event = entry.getEvent();
+            emitter.send(SseEmitter.event().id(event.getSequence()).data(event, MediaType.APPLICATION_JSON));
+            after[entry.getShard()] = entry.getPosition();
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+            } catch (IOException | RuntimeException ex) {
+                log.debug("Could not send to change stream subscriber: {}", ex.toString());
+            }
+        }
+    }
+}
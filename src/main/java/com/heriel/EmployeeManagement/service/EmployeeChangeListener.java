@@ -0,0 +1,16 @@
+package com.heriel.EmployeeManagement.service;
+
+import java.util.List;
+
+/**
+ * Receives the department and salary changes of employees once they have been committed.
+ * Implemented by the in-memory views derived from the employee table.
+ */
+public interface EmployeeChangeListener {
+    /**
+     * Applies the changes committed by a single transaction, in the order they were made.
+     *
+     * @param changes the committed changes
+     */
+    void onChanges(List<EmployeeChange> changes);
+}
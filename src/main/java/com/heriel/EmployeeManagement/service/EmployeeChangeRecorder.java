@@ -0,0 +1,130 @@
+package com.heriel.EmployeeManagement.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Collects the department and salary changes made by the write paths and hands them to every
+ * {@link EmployeeChangeListener}. Changes made inside a transaction are delivered after it commits,
+ * and are dropped if it rolls back; changes made outside a transaction are delivered immediately.
+ * <p>
+ * The departments of changes recorded by transactions that have not completed yet are tracked, so that a view
+ * rebuilt from a database snapshot can tell which departments it may not be notified of in step with the snapshot.
+ */
+@Component
+public class EmployeeChangeRecorder {
+    private final ObjectProvider<EmployeeChangeListener> listeners;
+    private final Map<String, Integer> pendingDepartments = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for EmployeeChangeRecorder.
+     *
+     * @param listeners the listeners notified of committed changes
+     */
+    public EmployeeChangeRecorder(ObjectProvider<EmployeeChangeListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    /**
+     * Records that an employee was added.
+     *
+     * @param id         the ID of the added employee
+     * @param department the department of the added employee
+     * @param salary     the salary of the added employee
+     */
+    public void recordAdded(Long id, String department, Double salary) {
+        record(new EmployeeChange(id, null, null, department, salary));
+    }
+
+    /**
+     * Records that an employee was removed.
+     *
+     * @param id         the ID of the removed employee
+     * @param department the department of the removed employee
+     * @param salary     the salary of the removed employee
+     */
+    public void recordRemoved(Long id, String department, Double salary) {
+        record(new EmployeeChange(id, department, salary, null, null));
+    }
+
+    /**
+     * Records that an employee moved from one department or salary to another.
+     * Nothing is recorded if neither the department nor the salary changed.
+     *
+     * @param id            the ID of the employee
+     * @param oldDepartment the department before the change
+     * @param oldSalary     the salary before the change
+     * @param newDepartment the department after the change
+     * @param newSalary     the salary after the change
+     */
+    public void recordChanged(Long id, String oldDepartment, Double oldSalary, String newDepartment, Double newSalary) {
+        if (Objects.equals(oldDepartment, newDepartment) && Objects.equals(oldSalary, newSalary)) {
+            return;
+        }
+        record(new EmployeeChange(id, oldDepartment, oldSalary, newDepartment, newSalary));
+    }
+
+    /**
+     * Returns the departments changed by transactions that have not completed yet. A department stays pending
+     * until the listeners have been notified of its committed changes, or until its transaction rolled back.
+     *
+     * @return the departments with changes that are not yet committed or not yet published
+     */
+    public Set<String> getPendingDepartments() {
+        return Set.copyOf(pendingDepartments.keySet());
+    }
+
+    private void record(EmployeeChange change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(List.of(change));
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.changes.add(change);
+        departmentsOf(change).forEach(department -> pendingDepartments.merge(department, 1, Integer::sum));
+    }
+
+    private static List<String> departmentsOf(EmployeeChange change) {
+        return Stream.of(change.getOldDepartment(), change.getNewDepartment()).filter(Objects::nonNull).toList();
+    }
+
+    private void publish(List<EmployeeChange> changes) {
+        listeners.orderedStream().forEach(listener -> listener.onChanges(changes));
+    }
+
+    /**
+     * Changes recorded in the current transaction, published after it commits.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+        private final List<EmployeeChange> changes = new ArrayList<>();
+
+        @Override
+        public void afterCommit() {
+            publish(changes);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            for (EmployeeChange change : changes) {
+                departmentsOf(change).forEach(department ->
+                        pendingDepartments.computeIfPresent(department, (name, count) -> count == 1 ? null : count - 1));
+            }
+            TransactionSynchronizationManager.unbindResourceIfPossible(EmployeeChangeRecorder.this);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.heriel.EmployeeManagement.service;
+
+import com.heriel.EmployeeManagement.dto.EmployeeChangeEvent;
+import com.heriel.EmployeeManagement.model.OutboxEvent;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * The latest events of the change feed, shared by all subscribers in a fixed-size ring.
+ * <p>
+ * Events are appended by the poller and read by every subscriber at its own index, so memory does not grow with
+ * the number of subscribers or with how far they lag behind. Once an event is overwritten, a subscriber that has
+ * not read it yet is told it was overrun and has to catch up from the database.
+ * <p>
+ * A position of the feed is the last position seen on every shard. The ring covers a position if it still holds
+ * every event after it, i.e. if no shard has dropped an event after the position of that shard.
+ */
+public final class EmployeeChangeRing {
+    private final Entry[] entries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    // The last position appended, and the last position no longer held, of each shard
+    private long[] latest;
+    private long[] dropped;
+    // The index of the next appended entry, counted since the start
+    private long head;
+
+    /**
+     * Constructor for EmployeeChangeRing.
+     *
+     * @param capacity the number of events held
+     */
+    public EmployeeChangeRing(int capacity) {
+        this.entries = new Entry[capacity];
+    }
+
+    /**
+     * Starts the ring at the current position of the feed, before which no events are held.
+     *
+     * @param positions the last relayed position of each shard
+     */
+    public void start(long[] positions) {
+        lock.lock();
+        try {
+            latest = positions.clone();
+            dropped = positions.clone();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns whether the ring was started.
+     *
+     * @return true once {@link #start(long[])} was called
+     */
+    public boolean isStarted() {
+        lock.lock();
+        try {
+            return latest != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the position of the feed after the last appended event.
+     *
+     * @return the last position of each shard
+     * @throws IllegalStateException if the ring was not started
+     */
+    public long[] latest() {
+        lock.lock();
+        try {
+            if (latest == null) {
+                throw new IllegalStateException("The change ring was not started");
+            }
+            return latest.clone();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends the newly relayed events of a shard and wakes up waiting readers.
+     *
+     * @param shard  the index of the shard
+     * @param events the events, in position order, after the last position appended for the shard
+     */
+    public void append(int shard, List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            for (OutboxEvent event : events) {
+                int slot = (int) (head % entries.length);
+                Entry evicted = entries[slot];
+                if (evicted != null) {
+                    dropped[evicted.getShard()] = evicted.getPosition();
+                }
+                latest[shard] = event.getPosition();
+                entries[slot] = new Entry(shard, event.getPosition(), new EmployeeChangeEvent(format(latest),
+                        event.getType(), event.getEmployeeId(), event.getOccurredAt()));
+                head++;
+            }
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the index to start reading at for a reader continuing after a position.
+     * Reading from there returns events at or before the position as well, which the reader skips.
+     *
+     * @param after the position to continue after
+     * @return the index of the oldest event held, or -1 if events after the position are no longer held
+     */
+    public long indexAfter(long[] after) {
+        lock.lock();
+        try {
+            if (dropped == null) {
+                return -1;
+            }
+            for (int shard = 0; shard < dropped.length; shard++) {
+                if (after[shard] < dropped[shard]) {
+                    return -1;
+                }
+            }
+            return Math.max(0, head - entries.length);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the events from an index on, waiting for the first one if there is none yet.
+     *
+     * @param index   the index of the first event to read
+     * @param max     the maximum number of events to read
+     * @param timeout how long to wait for an event
+     * @return the events read, empty if none arrived in time, or null if the event at the index was overwritten
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public List<Entry> read(long index, int max, Duration timeout) throws InterruptedException {
+        lock.lock();
+        try {
+            long nanos = timeout.toNanos();
+            while (index >= head && nanos > 0) {
+                nanos = appended.awaitNanos(nanos);
+            }
+            if (index < head - entries.length) {
+                return null;
+            }
+            List<Entry> result = new ArrayList<>((int) Math.min(max, Math.max(0, head - index)));
+            for (long i = index; i < head && result.size() < max; i++) {
+                result.add(entries[(int) (i % entries.length)]);
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Formats a position of the feed as it is passed to clients.
+     *
+     * @param positions the last position of each shard
+     * @return the positions joined by dots
+     */
+    public static String format(long[] positions) {
+        return Arrays.stream(positions).mapToObj(Long::toString).collect(Collectors.joining("."));
+    }
+
+    /**
+     * Parses a position of the feed passed by a client.
+     *
+     * @param sequence the positions joined by dots
+     * @param shards   the number of shards
+     * @return the last position of each shard
+     * @throws IllegalArgumentException if the sequence is malformed or has another number of shards
+     */
+    public static long[] parse(String sequence, int shards) {
+        String[] parts = sequence.trim().split("\\.", -1);
+        if (parts.length != shards) {
+            throw new IllegalArgumentException("Expected " + shards + " position(s) in '" + sequence + "'");
+        }
+        long[] positions = new long[shards];
+        for (int shard = 0; shard < shards; shard++) {
+            positions[shard] = Long.parseLong(parts[shard]);
+            if (positions[shard] < 0) {
+                throw new IllegalArgumentException("Negative position in '" + sequence + "'");
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * An event held by the ring, with the shard and position it was relayed at.
+     */
+    @Value
+    public static class Entry {
+        /**
+         * The index of the shard.
+         */
+        int shard;
+
+        /**
+         * The position of the event on its shard.
+         */
+        long position;
+
+        /**
+         * The event as published.
+         */
+        EmployeeChangeEvent event;
+    }
+}
@@ -0,0 +1,108 @@
+package com.heriel.EmployeeManagement.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.heriel.EmployeeManagement.dto.EmployeeCsv;
+import com.heriel.EmployeeManagement.model.Employee;
+import com.heriel.EmployeeManagement.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service class for exporting all employees as a stream.
+ * Rows are read through a server-side database cursor and written one at a time,
+ * so memory use does not depend on the size of the table. With sharding, the shards are exported one after the
+ * other, each ordered by ID.
+ */
+@Service
+public class EmployeeExportService {
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeShards employeeShards;
+    private final EntityManager entityManager;
+    private final ObjectWriter employeeWriter;
+
+    /**
+     * Constructor for EmployeeExportService.
+     *
+     * @param employeeRepository the repository for Employee entities
+     * @param employeeShards     the router of the export to the shards of the employee table
+     * @param entityManager      the entity manager used to detach exported entities
+     * @param objectMapper       the object mapper used to write NDJSON
+     */
+    public EmployeeExportService(EmployeeRepository employeeRepository, EmployeeShards employeeShards,
+                                 EntityManager entityManager, ObjectMapper objectMapper) {
+        this.employeeRepository = employeeRepository;
+        this.employeeShards = employeeShards;
+        this.entityManager = entityManager;
+        // Let the generator buffer rows instead of flushing the socket after every employee
+        this.employeeWriter = objectMapper.writerFor(Employee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes all employees as newline-delimited JSON, one employee per line.
+     *
+     * @param out the output stream to write to
+     * @return the number of employees written
+     * @throws IOException if writing to the output stream fails
+     */
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream out) throws IOException {
+        long[] count = new long[1];
+        try (JsonGenerator generator = employeeWriter.createGenerator(out)) {
+            employeeShards.forEachShard(() -> {
+                try (Stream<Employee> employees = employeeRepository.streamAll()) {
+                    Iterator<Employee> iterator = employees.iterator();
+                    while (iterator.hasNext()) {
+                        Employee employee = iterator.next();
+                        employeeWriter.writeValue(generator, employee);
+                        generator.writeRaw('\n');
+                        entityManager.detach(employee);
+                        count[0]++;
+                    }
+                }
+            });
+        }
+        return count[0];
+    }
+
+    /**
+     * Writes all employees as CSV with a header line.
+     *
+     * @param out the output stream to write to
+     * @return the number of employees written
+     * @throws IOException if writing to the output stream fails
+     */
+    @Transactional(readOnly = true)
+    public long exportCsv(OutputStream out) throws IOException {
+        long[] count = new long[1];
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            writer.write(EmployeeCsv.HEADER);
+            writer.write("\r\n");
+            employeeShards.forEachShard(() -> {
+                try (Stream<Employee> employees = employeeRepository.streamAll()) {
+                    Iterator<Employee> iterator = employees.iterator();
+                    while (iterator.hasNext()) {
+                        Employee employee = iterator.next();
+                        writer.write(EmployeeCsv.toRow(employee));
+                        writer.write("\r\n");
+                        entityManager.detach(employee);
+                        count[0]++;
+                    }
+                }
+            });
+        }
+        return count[0];
+    }
+}
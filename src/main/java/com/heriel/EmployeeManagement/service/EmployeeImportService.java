@@ -0,0 +1,329 @@
+package com.heriel.EmployeeManagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.heriel.EmployeeManagement.dto.EmployeeCsv;
+import com.heriel.EmployeeManagement.dto.EmployeeDTO;
+import com.heriel.EmployeeManagement.dto.EmployeeMapper;
+import com.heriel.EmployeeManagement.dto.ImportReport;
+import com.heriel.EmployeeManagement.exception.BadRequestException;
+import com.heriel.EmployeeManagement.model.Employee;
+import com.heriel.EmployeeManagement.model.OutboxEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.core.BaseConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Service class for bulk importing employees from CSV or NDJSON uploads.
+ * The upload is parsed line by line and valid rows are written in chunks, each in its own
+ * transaction, so memory use is bounded by the chunk size and not by the size of the upload.
+ * On PostgreSQL chunks are written with COPY; other databases fall back to batched inserts.
+ * With sharding, the rows of a chunk are written per shard, each shard in its own transaction.
+ * If a chunk violates a constraint of the schema, e.g. the unique email of an employee, it is split in halves
+ * that are written again, each in its own transaction, until the single rows still violating it are rejected.
+ */
+@Service
+public class EmployeeImportService {
+    private static final String COPY_SQL =
+            "COPY employee (id, first_name, last_name, email, department, salary) FROM STDIN WITH (FORMAT csv)";
+    private static final String INSERT_SQL =
+            "insert into employee (id, first_name, last_name, email, department, salary) values (?, ?, ?, ?, ?, ?)";
+
+    private final EntityManager entityManager;
+    private final EmployeeShards employeeShards;
+    private final EmployeeCacheInvalidator employeeCacheInvalidator;
+    private final EmployeeChangeRecorder employeeChangeRecorder;
+    private final EmployeeOutbox employeeOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectReader dtoReader;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    /**
+     * Constructor for EmployeeImportService.
+     *
+     * @param entityManager            the entity manager used to allocate IDs and obtain the JDBC connection
+     * @param employeeShards           the router of the rows to the shards of the employee table
+     * @param employeeCacheInvalidator the invalidator for cached misses of the imported IDs
+     * @param employeeChangeRecorder   the recorder notifying in-memory views of the imported rows
+     * @param employeeOutbox           the outbox the imported rows are recorded in, for the change feed
+     * @param transactionManager       the transaction manager used to write each chunk
+     * @param validator                the validator used to check rows against the EmployeeDTO constraints
+     * @param objectMapper             the object mapper used to read NDJSON rows
+     * @param chunkSize                the number of valid rows written per chunk
+     * @param maxReportedErrors        the maximum number of rejected rows listed in the report
+     */
+    public EmployeeImportService(EntityManager entityManager,
+                                 EmployeeShards employeeShards,
+                                 EmployeeCacheInvalidator employeeCacheInvalidator,
+                                 EmployeeChangeRecorder employeeChangeRecorder,
+                                 EmployeeOutbox employeeOutbox,
+                                 PlatformTransactionManager transactionManager,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 @Value("${employee.import.chunk-size:5000}") int chunkSize,
+                                 @Value("${employee.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.entityManager = entityManager;
+        this.employeeShards = employeeShards;
+        this.employeeCacheInvalidator = employeeCacheInvalidator;
+        this.employeeChangeRecorder = employeeChangeRecorder;
+        this.employeeOutbox = employeeOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.dtoReader = objectMapper.readerFor(EmployeeDTO.class);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Imports employees from a CSV upload with a header line.
+     *
+     * @param in the CSV input stream
+     * @return the import report
+     * @throws IOException if reading the upload fails
+     */
+    public ImportReport importCsv(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            throw new BadRequestException("CSV upload is empty");
+        }
+        Map<String, Integer> columns = EmployeeCsv.parseHeader(header);
+        return importRows(reader, 1, line -> EmployeeCsv.toDto(EmployeeCsv.parseRow(line), columns));
+    }
+
+    /**
+     * Imports employees from an NDJSON upload, one EmployeeDTO JSON document per line.
+     *
+     * @param in the NDJSON input stream
+     * @return the import report
+     * @throws IOException if reading the upload fails
+     */
+    public ImportReport importNdjson(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        return importRows(reader, 0, dtoReader::readValue);
+    }
+
+    private ImportReport importRows(BufferedReader reader, long lineNumber, RowParser parser) throws IOException {
+        long start = System.nanoTime();
+        long rowsRead = 0;
+        long rowsImported = 0;
+        List<ImportReport.RowError> errors = new ArrayList<>();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            rowsRead++;
+            Map<String, String> rowErrors = new HashMap<>();
+            EmployeeDTO dto = parse(parser, line, rowErrors);
+            if (dto != null) {
+                for (ConstraintViolation<EmployeeDTO> violation : validator.validate(dto)) {
+                    rowErrors.put(violation.getPropertyPath().toString(), violation.getMessage());
+                }
+            }
+            if (!rowErrors.isEmpty()) {
+                reject(errors, lineNumber, rowErrors);
+                continue;
+            }
+            chunk.add(new Row(lineNumber, EmployeeMapper.toEntity(dto)));
+            if (chunk.size() == chunkSize) {
+                rowsImported += writeChunk(chunk, errors);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            rowsImported += writeChunk(chunk, errors);
+        }
+
+        // Every row read is either imported or rejected
+        long rowsRejected = rowsRead - rowsImported;
+        long elapsedNanos = System.nanoTime() - start;
+        double rowsPerSecond = elapsedNanos == 0 ? 0 : rowsRead * 1_000_000_000.0 / elapsedNanos;
+        return new ImportReport(rowsRead, rowsImported, rowsRejected, elapsedNanos / 1_000_000, rowsPerSecond,
+                errors, rowsRejected > errors.size());
+    }
+
+    private void reject(List<ImportReport.RowError> errors, long lineNumber, Map<String, String> rowErrors) {
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new ImportReport.RowError(lineNumber, rowErrors));
+        }
+    }
+
+    private static EmployeeDTO parse(RowParser parser, String line, Map<String, String> rowErrors) {
+        try {
+            return parser.parse(line);
+        } catch (NumberFormatException ex) {
+            rowErrors.put("salary", "Salary must be a number");
+        } catch (JsonProcessingException ex) {
+            rowErrors.put("row", ex.getOriginalMessage());
+        } catch (IllegalArgumentException ex) {
+            rowErrors.put("row", ex.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Writes a chunk of employees in a single transaction per shard.
+     * The rows of a shard violating a constraint of the schema are rejected, and the others still written.
+     *
+     * @param chunk  the employees to write, with their line numbers
+     * @param errors the rejected rows to add the rows violating a constraint to
+     * @return the number of rows written
+     */
+    private int writeChunk(List<Row> chunk, List<ImportReport.RowError> errors) {
+        Map<Integer, List<Row>> shards = new TreeMap<>();
+        for (Row row : chunk) {
+            shards.computeIfAbsent(employeeShards.shardOf(row.employee()), shard -> new ArrayList<>()).add(row);
+        }
+        int written = 0;
+        for (Map.Entry<Integer, List<Row>> shard : shards.entrySet()) {
+            written += employeeShards.onShard(shard.getKey(), () -> write(shard.getValue(), errors));
+        }
+        return written;
+    }
+
+    /**
+     * Writes rows in a single transaction, or, if they violate a constraint, each half of them again.
+     * Halving until the conflicting rows are alone takes a number of transactions growing with the conflicts
+     * and only logarithmically with the rows, so a single duplicate does not write a whole chunk row by row.
+     *
+     * @param rows   the employees to write, with their line numbers
+     * @param errors the rejected rows to add the rows violating a constraint to
+     * @return the number of rows written
+     */
+    private int write(List<Row> rows, List<ImportReport.RowError> errors) {
+        try {
+            insert(rows);
+            return rows.size();
+        } catch (ConstraintViolationException ex) {
+            if (rows.size() == 1) {
+                reject(errors, rows.get(0).line(), conflict(ex));
+                return 0;
+            }
+            // Some rows conflict with stored employees or with each other; the earlier half is written first,
+            // so of two rows of the upload conflicting with each other the later one is rejected
+            int half = rows.size() / 2;
+            return write(rows.subList(0, half), errors) + write(rows.subList(half, rows.size()), errors);
+        }
+    }
+
+    private void insert(List<Row> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+            // Use Hibernate's own generator so imported IDs never collide with IDs handed out to save()
+            BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session.getFactory().getMappingMetamodel()
+                    .getEntityDescriptor(Employee.class).getGenerator();
+            List<Employee> chunk = new ArrayList<>(rows.size());
+            List<Long> ids = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                Employee employee = row.employee();
+                employee.setId((Long) generator.generate(session, employee, null, EventType.INSERT));
+                chunk.add(employee);
+                ids.add(employee.getId());
+            }
+            entityManager.unwrap(Session.class).doWork(connection -> {
+                if (connection.isWrapperFor(BaseConnection.class)) {
+                    copy(connection.unwrap(BaseConnection.class), chunk);
+                } else {
+                    batchInsert(connection, chunk);
+                }
+            });
+            employeeCacheInvalidator.evict(ids);
+            employeeOutbox.appendAll(OutboxEvent.Type.ADDED, ids);
+            for (Employee employee : chunk) {
+                employeeChangeRecorder.recordAdded(employee.getId(), employee.getDepartment(), employee.getSalary());
+            }
+        });
+    }
+
+    /**
+     * Describes the constraint a rejected row violates, without the conflicting values of stored employees.
+     */
+    private static Map<String, String> conflict(ConstraintViolationException ex) {
+        String constraint = ex.getConstraintName();
+        if (constraint != null && constraint.toLowerCase(Locale.ROOT).contains("email")) {
+            return Map.of("email", "Email is already taken");
+        }
+        return Map.of("row", "Row conflicts with a stored employee");
+    }
+
+    private static void copy(BaseConnection connection, List<Employee> chunk) throws SQLException {
+        StringBuilder data = new StringBuilder(chunk.size() * 96);
+        for (Employee employee : chunk) {
+            data.append(EmployeeCsv.toRow(employee)).append('\n');
+        }
+        try {
+            new CopyManager(connection).copyIn(COPY_SQL, new StringReader(data.toString()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void batchInsert(Connection connection, List<Employee> chunk) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            for (Employee employee : chunk) {
+                statement.setLong(1, employee.getId());
+                statement.setString(2, employee.getFirstName());
+                statement.setString(3, employee.getLastName());
+                statement.setString(4, employee.getEmail());
+                statement.setString(5, employee.getDepartment());
+                if (employee.getSalary() == null) {
+                    statement.setNull(6, Types.DOUBLE);
+                } else {
+                    statement.setDouble(6, employee.getSalary());
+                }
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * A valid row of an upload, with its line number.
+     */
+    private record Row(long line, Employee employee) {
+    }
+
+    /**
+     * Parses a single line of an upload into an EmployeeDTO.
+     */
+    @FunctionalInterface
+    private interface RowParser {
+        EmployeeDTO parse(String line) throws JsonProcessingException;
+    }
+}
@@ -0,0 +1,61 @@
+package com.heriel.EmployeeManagement.service;
+
+import com.heriel.EmployeeManagement.model.OutboxEvent;
+import com.heriel.EmployeeManagement.repository.OutboxEventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes the changes of employees to the transactional outbox, from which {@link EmployeeChangeFeed} relays them.
+ * Every method must be called in the transaction making the change, so the event is committed or rolled back with it.
+ * The events are inserted with the other statements of the transaction, in JDBC batches.
+ */
+@Component
+public class EmployeeOutbox {
+    private final OutboxEventRepository outboxEventRepository;
+    private final Clock clock;
+
+    /**
+     * Constructor for EmployeeOutbox.
+     *
+     * @param outboxEventRepository the repository for outbox events
+     */
+    public EmployeeOutbox(OutboxEventRepository outboxEventRepository) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.clock = Clock.systemUTC();
+    }
+
+    /**
+     * Writes the change of an employee to the outbox.
+     *
+     * @param type       the kind of change
+     * @param employeeId the ID of the changed employee
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OutboxEvent.Type type, Long employeeId) {
+        outboxEventRepository.save(new OutboxEvent(type, employeeId, clock.instant()));
+    }
+
+    /**
+     * Writes the same change of many employees to the outbox.
+     *
+     * @param type        the kind of change
+     * @param employeeIds the IDs of the changed employees
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(OutboxEvent.Type type, Collection<Long> employeeIds) {
+        Instant now = clock.instant();
+        List<OutboxEvent> events = new ArrayList<>(employeeIds.size());
+        for (Long employeeId : employeeIds) {
+            events.add(new OutboxEvent(type, employeeId, now));
+        }
+        outboxEventRepository.saveAll(events);
+    }
+}
@@ -1,91 +1,529 @@
 package com.heriel.EmployeeManagement.service;
 
+import com.heriel.EmployeeManagement.config.CacheConfig;
+import com.heriel.EmployeeManagement.config.ReplicaRoutingDataSource;
+import com.heriel.EmployeeManagement.dto.BatchOperation;
+import com.heriel.EmployeeManagement.dto.BatchResult;
 import com.heriel.EmployeeManagement.dto.EmployeeDTO;
 import com.heriel.EmployeeManagement.dto.EmployeeMapper;
+import com.heriel.EmployeeManagement.dto.EmployeeSearchCriteria;
+import com.heriel.EmployeeManagement.exception.BadRequestException;
+import com.heriel.EmployeeManagement.exception.PreconditionFailedException;
 import com.heriel.EmployeeManagement.model.Employee;
+import com.heriel.EmployeeManagement.model.OutboxEvent;
 import com.heriel.EmployeeManagement.repository.EmployeeRepository;
+import com.heriel.EmployeeManagement.repository.EmployeeSalary;
+import com.heriel.EmployeeManagement.repository.EmployeeSpecifications;
+import com.heriel.EmployeeManagement.repository.VersionedDepartmentSalary;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.ToIntFunction;
 
 /**
  * Service class for managing Employee entities.
+ * Every public method is timed as {@code employee.service}, tagged with the method name.
  */
 @Service
+@Timed(value = "employee.service", histogram = true)
 public class EmployeeService {
+    // The most IDs bound to one bulk statement restricted to locked employees
+    private static final int MAX_IDS_PER_STATEMENT = 1000;
+
     @Autowired
     private final EmployeeRepository employeeRepository;
+    private final EmployeeCacheInvalidator employeeCacheInvalidator;
+    private final EmployeeChangeRecorder employeeChangeRecorder;
+    private final EmployeeShards employeeShards;
+    private final EmployeeOutbox employeeOutbox;
+    private final EmployeeBatchLoader employeeBatchLoader;
 
     /**
      * Constructor for EmployeeService.
      *
-     * @param employeeRepository the repository for Employee entities
+     * @param employeeRepository       the repository for Employee entities
+     * @param employeeCacheInvalidator the invalidator for writes touching many employees
+     * @param employeeChangeRecorder   the recorder notifying in-memory views of every write
+     * @param employeeShards           the router of queries to the shards of the employee table
+     * @param employeeOutbox           the outbox every write records its changes in, for the change feed
+     * @param employeeBatchLoader      the loader batching the lookups of single employees
      */
-    public EmployeeService(EmployeeRepository employeeRepository) {
+    public EmployeeService(EmployeeRepository employeeRepository,
+                           EmployeeCacheInvalidator employeeCacheInvalidator,
+                           EmployeeChangeRecorder employeeChangeRecorder,
+                           EmployeeShards employeeShards,
+                           EmployeeOutbox employeeOutbox,
+                           EmployeeBatchLoader employeeBatchLoader) {
         this.employeeRepository = employeeRepository;
+        this.employeeCacheInvalidator = employeeCacheInvalidator;
+        this.employeeChangeRecorder = employeeChangeRecorder;
+        this.employeeShards = employeeShards;
+        this.employeeOutbox = employeeOutbox;
+        this.employeeBatchLoader = employeeBatchLoader;
     }
 
     /**
-     * Adds a new employee.
+     * Adds a new employee, on the shard picked by the shard key.
+     * Like every write, records the change in the outbox in the same transaction.
      *
      * @param employeeDTO the data transfer object containing employee details
      * @return the saved Employee entity
      */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES, key = "#result.id")
     public Employee addEmployee(EmployeeDTO employeeDTO) {
-        Employee employee = EmployeeMapper.toEntity(employeeDTO);
-        return employeeRepository.save(employee);
+        Employee entity = EmployeeMapper.toEntity(employeeDTO);
+        Employee employee = employeeShards.onShard(employeeShards.shardOf(entity), () -> {
+            Employee saved = employeeRepository.save(entity);
+            employeeOutbox.append(OutboxEvent.Type.ADDED, saved.getId());
+            // Flush while the shard is selected; with IDs allocated from memory nothing has touched the database yet
+            employeeRepository.flush();
+            return saved;
+        });
+        employeeChangeRecorder.recordAdded(employee.getId(), employee.getDepartment(), employee.getSalary());
+        return employee;
     }
 
     /**
-     * Retrieves all employees with pagination.
+     * Retrieves all employees with pagination, merged from every shard.
      *
      * @param pageable the pagination information
      * @return an iterable of Employee entities
      */
+    @Transactional(readOnly = true)
     public Iterable<Employee> getEmployees(Pageable pageable) {
-        return employeeRepository.findAll(pageable);
+        return employeeShards.gatherPage(pageable, employeeRepository::findAll, EmployeeService::property);
+    }
+
+    /**
+     * Retrieves only the given fields of all employees with pagination, without loading entities.
+     * With sharding, the sort fields are selected as well to merge the shards, and removed afterwards.
+     *
+     * @param fields   the fields to return, or null or empty for all fields; duplicates are ignored
+     * @param pageable the pagination information
+     * @return a page of rows, each mapping the requested fields to their values in the requested order
+     * @throws BadRequestException if a field is unknown
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getEmployeeFields(List<String> fields, Pageable pageable) {
+        List<String> selected = EmployeeRepository.SELECTABLE_FIELDS;
+        if (fields != null && !fields.isEmpty()) {
+            selected = fields.stream().map(String::trim).distinct().toList();
+            for (String field : selected) {
+                if (!EmployeeRepository.SELECTABLE_FIELDS.contains(field)) {
+                    throw new BadRequestException("Unknown field '" + field + "', allowed fields are "
+                            + EmployeeRepository.SELECTABLE_FIELDS);
+                }
+            }
+        }
+        if (!employeeShards.isSharded()) {
+            return employeeRepository.findFields(selected, pageable);
+        }
+        List<String> columns = new ArrayList<>(selected);
+        for (Sort.Order order : TopKMerge.withUniqueKey(pageable.getSort())) {
+            if (!columns.contains(order.getProperty())) {
+                columns.add(order.getProperty());
+            }
+        }
+        List<String> requested = selected;
+        return employeeShards.gatherPage(pageable, page -> employeeRepository.findFields(columns, page), Map::get)
+                .map(row -> {
+                    row.keySet().retainAll(requested);
+                    return row;
+                });
+    }
+
+    /**
+     * Retrieves employees with keyset pagination, continuing after the given position, merged from every shard.
+     *
+     * @param position the keyset position to continue from
+     * @param sort     the sort order, ending with the employee ID
+     * @param size     the maximum number of employees to return
+     * @return a window of Employee entities
+     */
+    @Transactional(readOnly = true)
+    public Window<Employee> getEmployees(ScrollPosition position, Sort sort, int size) {
+        return employeeShards.gatherWindow(sort, size, () -> employeeRepository.findWindow(position, sort, Limit.of(size)),
+                EmployeeService::property);
     }
 
     /**
-     * Retrieves an employee by ID.
+     * Searches employees matching all of the given criteria, with pagination, merged from every shard.
+     *
+     * @param criteria the search criteria; null fields are ignored
+     * @param pageable the pagination information
+     * @return a page of matching Employee entities
+     */
+    @Transactional(readOnly = true)
+    public Page<Employee> searchEmployees(EmployeeSearchCriteria criteria, Pageable pageable) {
+        Specification<Employee> specification = EmployeeSpecifications.matching(criteria);
+        return employeeShards.gatherPage(pageable, page -> employeeRepository.findAll(specification, page),
+                EmployeeService::property);
+    }
+
+    private static Object property(Employee employee, String name) {
+        return switch (name) {
+            case "id" -> employee.getId();
+            case "firstName" -> employee.getFirstName();
+            case "lastName" -> employee.getLastName();
+            case "email" -> employee.getEmail();
+            case "department" -> employee.getDepartment();
+            case "salary" -> employee.getSalary();
+            case "version" -> employee.getVersion();
+            default -> throw new BadRequestException("Cannot sort by '" + name + "'");
+        };
+    }
+
+    /**
+     * Retrieves an employee by ID from its shard. Always read from the primary database, because the result is
+     * cached for every client and a lagging replica would keep a stale copy in the cache after a write.
+     * Concurrent lookups of the same ID load it once; cache misses of concurrent requests are batched into one
+     * query by the {@link EmployeeBatchLoader}.
      *
      * @param id the ID of the employee
      * @return the Employee entity, or null if not found
      */
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES, sync = true)
     public Employee getEmployee(Long id) {
-        return employeeRepository.findById(id).orElse(null);
+        return employeeBatchLoader.load(id);
     }
 
     /**
-     * Updates an existing employee.
+     * Retrieves several employees by ID with one query per shard holding any of them.
+     * Like the lists, the query bypasses the employee cache and may be served by a replica.
      *
-     * @param id          the ID of the employee to update
-     * @param employeeDTO the data transfer object containing updated employee details
-     * @return true if the employee was updated, false if the employee was not found
+     * @param ids the IDs of the employees; duplicates are ignored
+     * @return the employees found, in the order of their first ID; unknown IDs are left out
      */
-    public boolean updateEmployee(Long id, EmployeeDTO employeeDTO) {
+    @Transactional(readOnly = true)
+    public List<Employee> getEmployees(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Employee> employees = new HashMap<>();
+        for (Employee employee : employeeShards.gatherByIds(distinctIds, employeeRepository::findAllById)) {
+            employees.put(employee.getId(), employee);
+        }
+        return distinctIds.stream().map(employees::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Retrieves only the version of an employee, without loading the row. Read from the primary database,
+     * like {@link #getEmployee(Long)}, so that a conditional request never sees an older version than a full one.
+     *
+     * @param id the ID of the employee
+     * @return the version, or null if not found
+     */
+    public Long getEmployeeVersion(Long id) {
+        return employeeShards.onShard(employeeShards.shardOf(id),
+                () -> ReplicaRoutingDataSource.onPrimary(() -> employeeRepository.findVersionById(id).orElse(null)));
+    }
+
+    /**
+     * Updates an existing employee, optionally only if it still has the expected version.
+     *
+     * @param id              the ID of the employee to update
+     * @param employeeDTO     the data transfer object containing updated employee details
+     * @param expectedVersion the version the employee must have, or null to update any version
+     * @return the new version of the employee, or null if the employee was not found
+     * @throws PreconditionFailedException if the employee has a different version than expected
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES, key = "#id")
+    public Long updateEmployee(Long id, EmployeeDTO employeeDTO, Long expectedVersion) {
+        return employeeShards.onShard(employeeShards.shardOf(id), () -> update(id, employeeDTO, expectedVersion));
+    }
+
+    private Long update(Long id, EmployeeDTO employeeDTO, Long expectedVersion) {
         Employee employee = EmployeeMapper.toEntity(employeeDTO);
         employee.setId(id);
-        if (employeeRepository.existsById(id)) {
-            employeeRepository.save(employee);
-            return true;
-        } else {
-            return false;
+        // The UPDATE returns what the in-memory views need, instead of a preceding query loading or locking the row
+        Optional<VersionedDepartmentSalary> previous =
+                employeeRepository.updateEmployeeReturningPrevious(employee, expectedVersion);
+        if (previous.isEmpty()) {
+            checkNotWritten(id, expectedVersion);
+            return null;
         }
+        employeeChangeRecorder.recordChanged(id, previous.get().getDepartment(), previous.get().getSalary(),
+                employee.getDepartment(), employee.getSalary());
+        employeeOutbox.append(OutboxEvent.Type.UPDATED, id);
+        return previous.get().getVersion() + 1;
     }
 
     /**
-     * Deletes an employee by ID.
+     * Deletes an employee by ID, optionally only if it still has the expected version.
      *
-     * @param id the ID of the employee to delete
+     * @param id              the ID of the employee to delete
+     * @param expectedVersion the version the employee must have, or null to delete any version
      * @return true if the employee was deleted, false if the employee was not found
+     * @throws PreconditionFailedException if the employee has a different version than expected
      */
-    public boolean deleteEmployee(Long id) {
-        if (employeeRepository.existsById(id)) {
-            employeeRepository.deleteById(id);
-            return true;
-        } else {
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES, key = "#id")
+    public boolean deleteEmployee(Long id, Long expectedVersion) {
+        return employeeShards.onShard(employeeShards.shardOf(id), () -> delete(id, expectedVersion));
+    }
+
+    private boolean delete(Long id, Long expectedVersion) {
+        Optional<VersionedDepartmentSalary> previous =
+                employeeRepository.deleteEmployeeReturningPrevious(id, expectedVersion);
+        if (previous.isEmpty()) {
+            checkNotWritten(id, expectedVersion);
             return false;
         }
+        employeeChangeRecorder.recordRemoved(id, previous.get().getDepartment(), previous.get().getSalary());
+        employeeOutbox.append(OutboxEvent.Type.DELETED, id);
+        return true;
+    }
+
+    /**
+     * Changes the salary of every employee in a department by a percentage or an absolute amount with a
+     * single UPDATE statement. The rows are locked and read first, so that the cache and the in-memory
+     * views can be updated for exactly the affected employees; the new salaries are read back after the
+     * statement, as the database computed them. With sharding, the statement runs on every shard, and each
+     * shard commits its part separately.
+     *
+     * @param department the name of the department
+     * @param percent    the relative change in percent, or null to apply an absolute amount
+     * @param amount     the absolute change, or null to apply a percentage
+     * @return the number of updated employees
+     * @throws BadRequestException if not exactly one change is given or a salary would become negative
+     */
+    @Transactional
+    public int adjustDepartmentSalaries(String department, Double percent, Double amount) {
+        if ((percent == null) == (amount == null)) {
+            throw new BadRequestException("Exactly one of percent and amount is mandatory");
+        }
+        double factor = percent != null ? 1 + percent / 100 : 1;
+        double offset = amount != null ? amount : 0;
+        return sum(employeeShards.onEveryShard(false, () -> adjustSalaries(department, factor, offset)));
+    }
+
+    private static int sum(List<Integer> counts) {
+        return counts.stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private int adjustSalaries(String department, double factor, double offset) {
+        List<EmployeeSalary> previous = employeeRepository.lockSalariesByDepartment(department);
+        for (EmployeeSalary employee : previous) {
+            if (employee.getSalary() != null && employee.getSalary() * factor + offset < 0) {
+                throw new BadRequestException("The change would make the salary of employee "
+                        + employee.getId() + " negative");
+            }
+        }
+        if (previous.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Double> oldSalaries = new HashMap<>();
+        previous.forEach(employee -> oldSalaries.put(employee.getId(), employee.getSalary()));
+        int updated = inChunks(new ArrayList<>(oldSalaries.keySet()),
+                ids -> employeeRepository.adjustSalariesByDepartment(department, ids, factor, offset));
+
+        for (EmployeeSalary employee : employeeRepository.findSalariesByIdIn(oldSalaries.keySet())) {
+            employeeChangeRecorder.recordChanged(employee.getId(), department, oldSalaries.get(employee.getId()),
+                    employee.getDepartment(), employee.getSalary());
+        }
+        employeeCacheInvalidator.evict(oldSalaries.keySet());
+        employeeOutbox.appendAll(OutboxEvent.Type.UPDATED, oldSalaries.keySet());
+        return updated;
+    }
+
+    /**
+     * Moves every employee of a department to another department with a single UPDATE statement.
+     * With sharding, the statement runs on every shard, and each shard commits its part separately.
+     *
+     * @param source the name of the department to move employees from
+     * @param target the name of the department to move employees to
+     * @return the number of moved employees
+     */
+    @Transactional
+    public int moveDepartment(String source, String target) {
+        return sum(employeeShards.onEveryShard(false, () -> moveEmployees(source, target)));
+    }
+
+    private int moveEmployees(String source, String target) {
+        List<EmployeeSalary> previous = employeeRepository.lockSalariesByDepartment(source);
+        if (previous.isEmpty() || source.equals(target)) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(previous.size());
+        for (EmployeeSalary employee : previous) {
+            ids.add(employee.getId());
+            employeeChangeRecorder.recordChanged(employee.getId(), source, employee.getSalary(), target, employee.getSalary());
+        }
+        int updated = inChunks(ids, chunk -> employeeRepository.moveDepartment(source, chunk, target));
+        employeeCacheInvalidator.evict(ids);
+        employeeOutbox.appendAll(OutboxEvent.Type.UPDATED, ids);
+        return updated;
+    }
+
+    /**
+     * Deletes every employee of a department with a single DELETE statement.
+     * With sharding, the statement runs on every shard, and each shard commits its part separately.
+     *
+     * @param department the name of the department
+     * @return the number of deleted employees
+     */
+    @Transactional
+    public int deleteDepartment(String department) {
+        return sum(employeeShards.onEveryShard(false, () -> deleteEmployees(department)));
+    }
+
+    private int deleteEmployees(String department) {
+        List<EmployeeSalary> previous = employeeRepository.lockSalariesByDepartment(department);
+        if (previous.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(previous.size());
+        for (EmployeeSalary employee : previous) {
+            ids.add(employee.getId());
+            employeeChangeRecorder.recordRemoved(employee.getId(), department, employee.getSalary());
+        }
+        int deleted = inChunks(ids, chunk -> employeeRepository.deleteByDepartment(department, chunk));
+        employeeCacheInvalidator.evict(ids);
+        employeeOutbox.appendAll(OutboxEvent.Type.DELETED, ids);
+        return deleted;
+    }
+
+    /**
+     * Runs a bulk statement restricted to the given IDs, in chunks that keep its bind parameters bounded.
+     * All chunks run in the current transaction.
+     *
+     * @return the total number of affected rows
+     */
+    private static int inChunks(List<Long> ids, ToIntFunction<List<Long>> statement) {
+        int affected = 0;
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_STATEMENT) {
+            affected += statement.applyAsInt(ids.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, ids.size())));
+        }
+        return affected;
+    }
+
+    /**
+     * Tells a missing employee from one with another version than expected, after a conditional write
+     * matched no row.
+     *
+     * @throws PreconditionFailedException if the employee exists, i.e. had a different version than expected
+     */
+    private void checkNotWritten(Long id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return;
+        }
+        Optional<Long> version = employeeRepository.findVersionById(id);
+        if (version.isPresent()) {
+            throw new PreconditionFailedException("Employee " + id + " has version " + version.get()
+                    + ", not the expected version " + expectedVersion);
+        }
+    }
+
+    /**
+     * Applies a batch of create, update and delete operations in a single transaction.
+     * All targeted employees are loaded and locked with one query; if any of them does not exist, nothing
+     * is applied. Otherwise the resulting statements are flushed as JDBC batches on commit.
+     * With sharding, all operations must target the same shard, so that they stay in one transaction.
+     *
+     * @param operations the operations to apply, in order
+     * @return the batch result with the outcome of each operation
+     * @throws BadRequestException if an operation is malformed, targets an employee deleted earlier in the batch,
+     *                             or targets another shard than the other operations
+     */
+    @Transactional
+    public BatchResult applyBatch(List<BatchOperation> operations) {
+        List<Long> targetIds = new ArrayList<>();
+        Integer shard = null;
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            boolean isCreate = operation.getOp() == BatchOperation.Type.CREATE;
+            if (isCreate != (operation.getId() == null)
+                    || (operation.getOp() == BatchOperation.Type.DELETE) != (operation.getEmployee() == null)) {
+                throw new BadRequestException("Operation " + i + " is malformed: CREATE needs an employee, "
+                        + "UPDATE needs an id and an employee, DELETE needs an id");
+            }
+            if (!isCreate) {
+                targetIds.add(operation.getId());
+            }
+            int target = isCreate ? employeeShards.shardOf(EmployeeMapper.toEntity(operation.getEmployee()))
+                    : employeeShards.shardOf(operation.getId());
+            if (shard != null && shard != target) {
+                throw new BadRequestException("Operation " + i + " targets another shard than the operations before it");
+            }
+            shard = target;
+        }
+        return employeeShards.onShard(shard != null ? shard : 0, () -> apply(operations, targetIds));
+    }
+
+    private BatchResult apply(List<BatchOperation> operations, List<Long> targetIds) {
+
+        Map<Long, Employee> employees = new HashMap<>();
+        for (Employee employee : employeeRepository.lockAllById(targetIds)) {
+            employees.put(employee.getId(), employee);
+        }
+
+        List<BatchResult.OperationResult> results = new ArrayList<>(operations.size());
+        List<Long> writtenIds = new ArrayList<>(operations.size());
+        if (!employees.keySet().containsAll(targetIds)) {
+            for (int i = 0; i < operations.size(); i++) {
+                BatchOperation operation = operations.get(i);
+                boolean missing = operation.getId() != null && !employees.containsKey(operation.getId());
+                results.add(new BatchResult.OperationResult(i, operation.getOp(), operation.getId(),
+                        missing ? BatchResult.Status.NOT_FOUND : BatchResult.Status.NOT_APPLIED));
+            }
+            return new BatchResult(false, results);
+        }
+
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            if (operation.getOp() == BatchOperation.Type.CREATE) {
+                Employee employee = employeeRepository.save(EmployeeMapper.toEntity(operation.getEmployee()));
+                results.add(new BatchResult.OperationResult(i, operation.getOp(), employee.getId(), BatchResult.Status.CREATED));
+                writtenIds.add(employee.getId());
+                employeeChangeRecorder.recordAdded(employee.getId(), employee.getDepartment(), employee.getSalary());
+                employeeOutbox.append(OutboxEvent.Type.ADDED, employee.getId());
+                continue;
+            }
+            Employee employee = employees.get(operation.getId());
+            if (employee == null) {
+                throw new BadRequestException("Operation " + i + " targets employee " + operation.getId()
+                        + " which was deleted earlier in the batch");
+            }
+            if (operation.getOp() == BatchOperation.Type.UPDATE) {
+                // The entity is managed, so the change is flushed by dirty checking as a batched UPDATE
+                String oldDepartment = employee.getDepartment();
+                Double oldSalary = employee.getSalary();
+                EmployeeMapper.updateEntity(operation.getEmployee(), employee);
+                employeeChangeRecorder.recordChanged(employee.getId(), oldDepartment, oldSalary, employee.getDepartment(), employee.getSalary());
+                employeeOutbox.append(OutboxEvent.Type.UPDATED, employee.getId());
+                results.add(new BatchResult.OperationResult(i, operation.getOp(), employee.getId(), BatchResult.Status.UPDATED));
+            } else {
+                employeeRepository.delete(employee);
+                employeeChangeRecorder.recordRemoved(employee.getId(), employee.getDepartment(), employee.getSalary());
+                employeeOutbox.append(OutboxEvent.Type.DELETED, employee.getId());
+                employees.remove(operation.getId());
+                results.add(new BatchResult.OperationResult(i, operation.getOp(), employee.getId(), BatchResult.Status.DELETED));
+            }
+            writtenIds.add(employee.getId());
+        }
+        employeeCacheInvalidator.evict(writtenIds);
+        // Flush while the shard is selected, rather than on commit
+        employeeRepository.flush();
+        return new BatchResult(true, results);
     }
-}
\ No newline at end of file
+}
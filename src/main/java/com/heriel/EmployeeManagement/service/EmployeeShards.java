@@ -0,0 +1,329 @@
+package com.heriel.EmployeeManagement.service;
+
+import com.heriel.EmployeeManagement.config.ShardRoutingDataSource;
+import com.heriel.EmployeeManagement.model.Employee;
+import com.heriel.EmployeeManagement.model.ShardedSequenceGenerator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Routes employee queries to the shards of the employee table, see {@link com.heriel.EmployeeManagement.config.ShardingConfig}.
+ * <p>
+ * An employee is stored on the shard picked by the {@link ShardKeyStrategy} when it is created, and the shard is
+ * encoded in its ID, so a query for one employee runs on one shard. Queries for many employees run on every
+ * shard in parallel, each in its own transaction on a virtual thread, and their results are merged: a page is
+ * the merge of the first {@code offset + size} rows of every shard, a keyset window the merge of the first
+ * {@code size} rows of every shard. The latency of a list is therefore that of the slowest shard plus a merge of
+ * {@code O(size log shards)}, not the sum over the shards.
+ * <p>
+ * Writes to many employees commit on each shard separately. Without sharding there is a single shard, and every
+ * method runs its action directly, in the caller's transaction.
+ */
+@Service
+public class EmployeeShards implements AutoCloseable {
+    private final ShardRoutingDataSource shardRoutingDataSource;
+    private final ShardKeyStrategy shardKeyStrategy;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Constructor for EmployeeShards.
+     *
+     * @param shardRoutingDataSource the routing data source, available only if sharding is enabled
+     * @param shardKeyStrategy       the strategy picking the shard of new employees
+     * @param transactionManager     the transaction manager used for the transaction on each shard
+     */
+    public EmployeeShards(ObjectProvider<ShardRoutingDataSource> shardRoutingDataSource,
+                          ShardKeyStrategy shardKeyStrategy,
+                          PlatformTransactionManager transactionManager) {
+        this.shardRoutingDataSource = shardRoutingDataSource.getIfAvailable();
+        this.shardKeyStrategy = shardKeyStrategy;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Returns whether the employee table is sharded.
+     *
+     * @return true if there are several shards
+     */
+    public boolean isSharded() {
+        return shardRoutingDataSource != null;
+    }
+
+    /**
+     * Returns the number of shards.
+     *
+     * @return the number of shards, 1 without sharding
+     */
+    public int getShardCount() {
+        return isSharded() ? shardRoutingDataSource.getShardCount() : 1;
+    }
+
+    /**
+     * Returns the shard of an existing employee.
+     *
+     * @param id the ID of the employee
+     * @return the index of the shard; an ID no shard can hold maps to an arbitrary shard, where it is not found
+     */
+    public int shardOf(Long id) {
+        return isSharded() ? ShardedSequenceGenerator.shardOf(id) % getShardCount() : 0;
+    }
+
+    /**
+     * Returns the shard a new employee is stored in.
+     *
+     * @param employee the employee about to be created
+     * @return the index of the shard
+     */
+    public int shardOf(Employee employee) {
+        return isSharded() ? shardKeyStrategy.shardOf(employee, getShardCount()) : 0;
+    }
+
+    /**
+     * Runs an action on one shard, in the caller's transaction, which must not have used another shard yet.
+     *
+     * @param shard  the index of the shard
+     * @param action the action to run
+     * @param <T>    the type of the result
+     * @return the result of the action
+     */
+    public <T> T onShard(int shard, Supplier<T> action) {
+        return isSharded() ? ShardRoutingDataSource.onShard(shard, action) : action.get();
+    }
+
+    /**
+     * Runs an action on every shard in parallel, each in its own transaction.
+     *
+     * @param readOnly whether the transactions are read-only
+     * @param action   the action to run
+     * @param <T>      the type of the results
+     * @return the result of each shard, shard 0 first
+     */
+    public <T> List<T> onEveryShard(boolean readOnly, Supplier<T> action) {
+        return onEachShard(readOnly, shard -> action.get());
+    }
+
+    /**
+     * Runs an action on every shard in parallel, each in its own transaction, passing it the index of the shard.
+     *
+     * @param readOnly whether the transactions are read-only
+     * @param action   the action to run
+     * @param <T>      the type of the results
+     * @return the result of each shard, shard 0 first
+     */
+    public <T> List<T> onEachShard(boolean readOnly, IntFunction<T> action) {
+        if (!isSharded()) {
+            return List.of(action.apply(0));
+        }
+        TransactionTemplate transaction = readOnly ? readOnlyTransaction : writeTransaction;
+        List<Future<T>> futures = new ArrayList<>();
+        for (int shard = 0; shard < getShardCount(); shard++) {
+            int target = shard;
+            futures.add(executor.submit(() -> ShardRoutingDataSource.onShard(target,
+                    () -> transaction.execute(status -> action.apply(target)))));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        for (Future<T> future : futures) {
+            results.add(join(future));
+        }
+        return results;
+    }
+
+    private static <T> T join(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shard", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    /**
+     * Runs an action on every shard one after the other, each in its own read-only transaction,
+     * for reads streaming into a single consumer.
+     *
+     * @param action the action to run
+     * @param <E>    the type of the checked exception thrown by the action
+     * @throws E if the action fails on a shard; the remaining shards are skipped
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends Exception> void forEachShard(ShardAction<E> action) throws E {
+        if (!isSharded()) {
+            action.run();
+            return;
+        }
+        for (int shard = 0; shard < getShardCount(); shard++) {
+            try {
+                ShardRoutingDataSource.onShard(shard, () -> readOnlyTransaction.execute(status -> {
+                    try {
+                        action.run();
+                    } catch (RuntimeException ex) {
+                        throw ex;
+                    } catch (Exception ex) {
+                        throw new CheckedFailure(ex);
+                    }
+                    return null;
+                }));
+            } catch (CheckedFailure failure) {
+                throw (E) failure.getCause();
+            }
+        }
+    }
+
+    /**
+     * Fetches a page from every shard and merges them. Each shard is asked for its first {@code offset + size}
+     * rows, sorted by the requested sort followed by the ID, and the total is the sum of the shard totals.
+     *
+     * @param pageable the requested page
+     * @param query    the query fetching a page from the current shard
+     * @param property the accessor of a property of a row by name, to merge by the sort
+     * @param <T>      the type of the rows
+     * @return the requested page
+     */
+    public <T> Page<T> gatherPage(Pageable pageable, Function<Pageable, Page<T>> query,
+                                  BiFunction<T, String, Object> property) {
+        if (!isSharded()) {
+            return query.apply(pageable);
+        }
+        Sort sort = TopKMerge.withUniqueKey(pageable.getSort());
+        Pageable topK = pageable.isPaged()
+                ? PageRequest.of(0, Math.toIntExact(pageable.getOffset() + pageable.getPageSize()), sort)
+                : Pageable.unpaged(sort);
+        List<Page<T>> pages = onEveryShard(true, () -> query.apply(topK));
+        List<T> merged = TopKMerge.merge(pages.stream().map(Page::getContent).toList(),
+                TopKMerge.comparator(sort, property), topK.isPaged() ? topK.getPageSize() : Integer.MAX_VALUE);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(merged);
+        }
+        List<T> content = merged.subList(Math.min(merged.size(), (int) pageable.getOffset()), merged.size());
+        return new PageImpl<>(new ArrayList<>(content), pageable,
+                pages.stream().mapToLong(Page::getTotalElements).sum());
+    }
+
+    /**
+     * Fetches employees by ID from the shards holding them, in parallel, each in its own read-only transaction.
+     * Every shard is queried once, with only the IDs it holds; shards holding none of them are not queried.
+     *
+     * @param ids   the IDs to fetch
+     * @param query the query fetching the rows of the given IDs from the current shard
+     * @param <T>   the type of the rows
+     * @return the rows of every shard queried, in no particular order
+     */
+    public <T> List<T> gatherByIds(Collection<Long> ids, Function<List<Long>, List<T>> query) {
+        if (!isSharded()) {
+            return query.apply(List.copyOf(ids));
+        }
+        Map<Integer, List<Long>> idsByShard = new TreeMap<>();
+        for (Long id : ids) {
+            idsByShard.computeIfAbsent(shardOf(id), shard -> new ArrayList<>()).add(id);
+        }
+        List<Future<List<T>>> futures = new ArrayList<>(idsByShard.size());
+        idsByShard.forEach((shard, shardIds) -> futures.add(executor.submit(() -> ShardRoutingDataSource.onShard(
+                shard, () -> readOnlyTransaction.execute(status -> query.apply(shardIds))))));
+        List<T> results = new ArrayList<>(ids.size());
+        for (Future<List<T>> future : futures) {
+            results.addAll(join(future));
+        }
+        return results;
+    }
+
+    /**
+     * Fetches a keyset window from every shard and merges them. Each shard is asked for its first {@code size}
+     * rows after the same position, which is global as the sort ends with the unique ID.
+     *
+     * @param sort     the sort order, ending with the employee ID
+     * @param size     the maximum number of rows to return
+     * @param query    the query fetching a window from the current shard
+     * @param property the accessor of a property of a row by name, to merge by the sort and build positions
+     * @param <T>      the type of the rows
+     * @return the merged window
+     */
+    public <T> Window<T> gatherWindow(Sort sort, int size, Supplier<Window<T>> query,
+                                      BiFunction<T, String, Object> property) {
+        if (!isSharded()) {
+            return query.get();
+        }
+        List<Window<T>> windows = onEveryShard(true, query);
+        List<T> merged = TopKMerge.merge(windows.stream().map(Window::getContent).toList(),
+                TopKMerge.comparator(sort, property), size + 1);
+        boolean hasNext = merged.size() > size || windows.stream().anyMatch(Window::hasNext);
+        List<T> content = new ArrayList<>(merged.subList(0, Math.min(size, merged.size())));
+        return Window.from(content, index -> {
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (Sort.Order order : sort) {
+                keys.put(order.getProperty(), property.apply(content.get(index), order.getProperty()));
+            }
+            return ScrollPosition.forward(keys);
+        }, hasNext);
+    }
+
+    /**
+     * Stops the threads of pending shard queries.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * An action run on each shard by {@link #forEachShard(ShardAction)}.
+     *
+     * @param <E> the type of the checked exception thrown by the action
+     */
+    @FunctionalInterface
+    public interface ShardAction<E extends Exception> {
+        /**
+         * Runs the action on the current shard.
+         *
+         * @throws E if the action fails
+         */
+        void run() throws E;
+    }
+
+    /**
+     * Carries a checked exception of a {@link ShardAction} out of its transaction, rolling it back.
+     */
+    private static final class CheckedFailure extends RuntimeException {
+        private CheckedFailure(Exception cause) {
+            super(cause);
+        }
+    }
+}
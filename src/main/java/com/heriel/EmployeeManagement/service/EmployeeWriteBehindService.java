@@ -0,0 +1,392 @@
+package com.heriel.EmployeeManagement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.heriel.EmployeeManagement.dto.BatchOperation;
+import com.heriel.EmployeeManagement.dto.BatchResult;
+import com.heriel.EmployeeManagement.dto.EmployeeDTO;
+import com.heriel.EmployeeManagement.dto.WriteStatus;
+import com.heriel.EmployeeManagement.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service class accepting employee creates and updates for asynchronous (write-behind) processing.
+ * <p>
+ * Accepted writes wait in a bounded in-memory queue and are written by a background flusher, either as soon as
+ * a full batch is waiting or once the oldest waiting write is {@code employee.write-behind.max-delay} old. Each
+ * batch goes through {@link EmployeeService#applyBatch}, so it is written in one transaction with JDBC batching,
+ * and cache evictions, versions and change notifications work as for synchronous writes. Updates of an employee
+ * that already has an update waiting are coalesced into it, so only the latest one is written; the tracking IDs
+ * of the coalesced updates are kept with it, up to {@code employee.write-behind.max-coalesced} per employee. Writes whose batch
+ * fails are retried one by one, so a single bad write only fails itself.
+ * <p>
+ * A write is rejected with a {@link TooManyRequestsException} when the queue is full, and an update when its
+ * employee already has the maximum number of coalesced updates waiting. On shutdown, after the web
+ * server has stopped accepting requests, the queue is drained before the database connections are closed.
+ * Accepted writes are lost if the process dies before they are flushed.
+ * <p>
+ * The queue size, flushes, and written, failed, coalesced and rejected writes are published as
+ * {@code employee.write_behind.*} metrics. Enabled with {@code employee.write-behind.enabled=true}.
+ */
+@Service
+@ConditionalOnProperty(name = "employee.write-behind.enabled", havingValue = "true")
+public class EmployeeWriteBehindService implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeWriteBehindService.class);
+
+    private final EmployeeService employeeService;
+    private final int capacity;
+    private final int batchSize;
+    private final Duration maxDelay;
+    private final int maxCoalesced;
+    private final Cache<String, WriteStatus> statuses;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition writesWaiting = lock.newCondition();
+    // Keyed by employee ID for updates, so a later update replaces a waiting one, and by tracking ID for creates
+    private final LinkedHashMap<Object, PendingWrite> pending = new LinkedHashMap<>();
+    private long oldestPendingAt;
+    private volatile boolean running;
+    private Thread flusher;
+
+    private final Timer flushTimer;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Counter coalescedCounter;
+    private final Counter rejectedCounter;
+
+    /**
+     * Constructor for EmployeeWriteBehindService.
+     *
+     * @param employeeService  the service writing the batches
+     * @param meterRegistry    the registry to publish the queue metrics in
+     * @param capacity         the maximum number of waiting writes
+     * @param batchSize        the maximum number of writes per batch
+     * @param maxDelay         how long a write waits at most for its batch to fill up
+     * @param maxCoalesced     the maximum number of updates of one employee coalesced into a waiting write
+     * @param statusRetention  the maximum number of write statuses kept for lookup by tracking ID
+     */
+    public EmployeeWriteBehindService(EmployeeService employeeService, MeterRegistry meterRegistry,
+                                      @Value("${employee.write-behind.capacity:10000}") int capacity,
+                                      @Value("${employee.write-behind.batch-size:500}") int batchSize,
+                                      @Value("${employee.write-behind.max-delay:200ms}") Duration maxDelay,
+                                      @Value("${employee.write-behind.max-coalesced:100}") int maxCoalesced,
+                                      @Value("${employee.write-behind.status-retention:100000}") long statusRetention) {
+        this.employeeService = employeeService;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.maxDelay = maxDelay;
+        this.maxCoalesced = maxCoalesced;
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(statusRetention)
+                .expireAfterWrite(Duration.ofHours(1))
+                .build();
+
+        Gauge.builder("employee.write_behind.queue.size", this, EmployeeWriteBehindService::size)
+                .description("Writes waiting to be flushed")
+                .register(meterRegistry);
+        Gauge.builder("employee.write_behind.queue.capacity", () -> capacity)
+                .description("Maximum number of writes waiting to be flushed")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("employee.write_behind.flush")
+                .description("Time to write a batch of waiting writes")
+                .register(meterRegistry);
+        this.writtenCounter = writes(meterRegistry, "written");
+        this.failedCounter = writes(meterRegistry, "failed");
+        this.coalescedCounter = writes(meterRegistry, "coalesced");
+        this.rejectedCounter = writes(meterRegistry, "rejected");
+    }
+
+    private static Counter writes(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("employee.write_behind.writes")
+                .description("Writes accepted for write-behind, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Accepts a new employee for writing.
+     *
+     * @param employeeDTO the validated employee details
+     * @return the status of the accepted write
+     * @throws TooManyRequestsException if the queue is full
+     */
+    public WriteStatus enqueueCreate(EmployeeDTO employeeDTO) {
+        String trackingId = UUID.randomUUID().toString();
+        enqueue(trackingId, new PendingWrite(BatchOperation.Type.CREATE, null, employeeDTO, trackingId));
+        return pendingStatus(trackingId, null);
+    }
+
+    /**
+     * Accepts an update of an employee for writing, replacing an update of the same employee that is still waiting.
+     *
+     * @param id          the ID of the employee
+     * @param employeeDTO the validated employee details
+     * @return the status of the accepted write
+     * @throws TooManyRequestsException if the queue is full, or the employee has the maximum number of
+     *                                  coalesced updates waiting
+     */
+    public WriteStatus enqueueUpdate(Long id, EmployeeDTO employeeDTO) {
+        String trackingId = UUID.randomUUID().toString();
+        enqueue(id, new PendingWrite(BatchOperation.Type.UPDATE, id, employeeDTO, trackingId));
+        return pendingStatus(trackingId, id);
+    }
+
+    /**
+     * Retrieves the status of an accepted write.
+     *
+     * @param trackingId the tracking ID returned when the write was accepted
+     * @return the status, or null if the tracking ID is unknown or has expired
+     */
+    public WriteStatus getStatus(String trackingId) {
+        return statuses.getIfPresent(trackingId);
+    }
+
+    /**
+     * Returns the number of writes waiting to be flushed.
+     *
+     * @return the queue size
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private WriteStatus pendingStatus(String trackingId, Long employeeId) {
+        WriteStatus status = new WriteStatus(trackingId, WriteStatus.State.PENDING, employeeId, null);
+        // The flusher may already have written it
+        return statuses.asMap().putIfAbsent(trackingId, status) == null ? status : statuses.getIfPresent(trackingId);
+    }
+
+    private void enqueue(Object key, PendingWrite write) {
+        lock.lock();
+        try {
+            PendingWrite waiting = pending.get(key);
+            if (waiting != null) {
+                if (waiting.trackingIds.size() >= maxCoalesced) {
+                    // Bounds the tracking IDs held per waiting write, for clients updating one employee in a loop
+                    rejectedCounter.increment();
+                    throw new TooManyRequestsException("Too many updates of employee " + key + " are waiting", maxDelay);
+                }
+                waiting.coalesce(write);
+                coalescedCounter.increment();
+                return;
+            }
+            if (pending.size() >= capacity) {
+                rejectedCounter.increment();
+                throw new TooManyRequestsException("The write-behind queue is full", maxDelay);
+            }
+            if (pending.isEmpty()) {
+                oldestPendingAt = System.nanoTime();
+            }
+            pending.put(key, write);
+            if (pending.size() == 1 || pending.size() >= batchSize) {
+                writesWaiting.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Starts the background flusher.
+     */
+    @Override
+    public void start() {
+        running = true;
+        flusher = Thread.ofPlatform().name("employee-write-behind").start(this::flushContinuously);
+    }
+
+    /**
+     * Stops the background flusher once every waiting write has been flushed.
+     */
+    @Override
+    public void stop() {
+        lock.lock();
+        try {
+            running = false;
+            writesWaiting.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (flusher != null) {
+            try {
+                flusher.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        drain();
+    }
+
+    /**
+     * Returns whether the background flusher is running.
+     *
+     * @return true between start and stop
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns a phase below the web server's, so the flusher starts before requests are accepted and
+     * stops only after the web server has stopped accepting them.
+     *
+     * @return the lifecycle phase
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void flushContinuously() {
+        while (true) {
+            List<PendingWrite> batch;
+            lock.lock();
+            try {
+                while (running && !batchDue()) {
+                    if (pending.isEmpty()) {
+                        writesWaiting.await();
+                    } else {
+                        writesWaiting.awaitNanos(oldestPendingAt + maxDelay.toNanos() - System.nanoTime());
+                    }
+                }
+                if (!running) {
+                    return;
+                }
+                batch = takeBatch();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            write(batch);
+        }
+    }
+
+    private boolean batchDue() {
+        return pending.size() >= batchSize
+                || (!pending.isEmpty() && System.nanoTime() - oldestPendingAt >= maxDelay.toNanos());
+    }
+
+    private List<PendingWrite> takeBatch() {
+        List<PendingWrite> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        Iterator<PendingWrite> iterator = pending.values().iterator();
+        while (iterator.hasNext() && batch.size() < batchSize) {
+            batch.add(iterator.next());
+            iterator.remove();
+        }
+        // The remaining writes arrived later, so restarting their clock only delays them by less than a batch
+        oldestPendingAt = System.nanoTime();
+        return batch;
+    }
+
+    /**
+     * Flushes every waiting write on the calling thread.
+     */
+    void drain() {
+        while (true) {
+            List<PendingWrite> batch;
+            lock.lock();
+            try {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = takeBatch();
+            } finally {
+                lock.unlock();
+            }
+            log.info("Flushing {} waiting writes", batch.size());
+            write(batch);
+        }
+    }
+
+    private void write(List<PendingWrite> batch) {
+        flushTimer.record(() -> {
+            try {
+                BatchResult result = employeeService.applyBatch(batch.stream().map(PendingWrite::toOperation).toList());
+                List<PendingWrite> retry = new ArrayList<>();
+                for (BatchResult.OperationResult operationResult : result.getResults()) {
+                    PendingWrite write = batch.get(operationResult.getIndex());
+                    switch (operationResult.getStatus()) {
+                        case NOT_FOUND -> complete(write, WriteStatus.State.FAILED, write.id,
+                                "Employee " + write.id + " not found");
+                        case NOT_APPLIED -> retry.add(write);
+                        default -> complete(write, WriteStatus.State.WRITTEN, operationResult.getId(), null);
+                    }
+                }
+                if (!retry.isEmpty()) {
+                    // The batch was not applied because some updates target missing employees; write the others
+                    write(retry);
+                }
+            } catch (RuntimeException ex) {
+                if (batch.size() == 1) {
+                    log.warn("Write-behind {} of employee {} failed", batch.get(0).op, batch.get(0).id, ex);
+                    complete(batch.get(0), WriteStatus.State.FAILED, batch.get(0).id, ex.getMessage());
+                } else {
+                    batch.forEach(write -> write(List.of(write)));
+                }
+            }
+        });
+    }
+
+    private void complete(PendingWrite write, WriteStatus.State state, Long employeeId, String error) {
+        (state == WriteStatus.State.WRITTEN ? writtenCounter : failedCounter).increment(write.trackingIds.size());
+        for (String trackingId : write.trackingIds) {
+            statuses.put(trackingId, new WriteStatus(trackingId, state, employeeId, error));
+        }
+    }
+
+    /**
+     * A write waiting to be flushed, with the tracking IDs of every write coalesced into it.
+     */
+    private static final class PendingWrite {
+        private final BatchOperation.Type op;
+        private final Long id;
+        private final List<String> trackingIds = new ArrayList<>(1);
+        private EmployeeDTO employee;
+
+        private PendingWrite(BatchOperation.Type op, Long id, EmployeeDTO employee, String trackingId) {
+            this.op = op;
+            this.id = id;
+            this.employee = employee;
+            this.trackingIds.add(trackingId);
+        }
+
+        private void coalesce(PendingWrite later) {
+            employee = later.employee;
+            trackingIds.addAll(later.trackingIds);
+        }
+
+        private BatchOperation toOperation() {
+            BatchOperation operation = new BatchOperation();
+            operation.setOp(op);
+            operation.setId(id);
+            operation.setEmployee(employee);
+            return operation;
+        }
+    }
+}
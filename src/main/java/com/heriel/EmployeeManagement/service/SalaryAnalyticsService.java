@@ -0,0 +1,190 @@
+package com.heriel.EmployeeManagement.service;
+
+import com.heriel.EmployeeManagement.config.ReplicaRoutingDataSource;
+import com.heriel.EmployeeManagement.dto.SalaryHistogram;
+import com.heriel.EmployeeManagement.dto.SalaryPercentiles;
+import com.heriel.EmployeeManagement.dto.SalaryRank;
+import com.heriel.EmployeeManagement.repository.EmployeeRepository;
+import com.heriel.EmployeeManagement.repository.EmployeeSalary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Service class answering salary distribution queries from a {@link SalaryColumnStore}
+ * instead of the database.
+ * <p>
+ * The store is loaded with a single streaming query at startup and then kept up to date from the
+ * changes published by {@link EmployeeChangeRecorder}. Changes committed while a load is running are
+ * replayed onto the new store before it replaces the old one. Enabled with {@code employee.analytics.enabled=true}.
+ */
+@Service
+@ConditionalOnProperty(name = "employee.analytics.enabled", havingValue = "true")
+public class SalaryAnalyticsService implements EmployeeChangeListener {
+    private static final Logger log = LoggerFactory.getLogger(SalaryAnalyticsService.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeShards employeeShards;
+    private final TransactionTemplate readOnlyTransaction;
+    // A ReentrantLock rather than a monitor, so that waiting virtual threads do not pin their carrier
+    private final Lock loadLock = new ReentrantLock();
+
+    private volatile SalaryColumnStore store = new SalaryColumnStore(0);
+    private List<EmployeeChange> replay;
+
+    /**
+     * Constructor for SalaryAnalyticsService.
+     *
+     * @param employeeRepository the repository used to load the store
+     * @param employeeShards     the router of the load to the shards of the employee table
+     * @param transactionManager the transaction manager used for the streaming load
+     */
+    public SalaryAnalyticsService(EmployeeRepository employeeRepository, EmployeeShards employeeShards,
+                                  PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.employeeShards = employeeShards;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Loads the store once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reload();
+    }
+
+    /**
+     * Replaces the store with a fresh copy of the employee table, loading one shard after the other.
+     *
+     * @return the number of rows loaded
+     */
+    public int reload() {
+        long start = System.nanoTime();
+        loadLock.lock();
+        try {
+            replay = new ArrayList<>();
+        } finally {
+            loadLock.unlock();
+        }
+        // Loaded from the primary database: the replayed changes are only complete relative to its snapshot
+        SalaryColumnStore loaded = ReplicaRoutingDataSource.onPrimary(() -> {
+            long count = employeeShards.onEveryShard(true, employeeRepository::count).stream()
+                    .mapToLong(Long::longValue)
+                    .sum();
+            SalaryColumnStore store = new SalaryColumnStore((int) count);
+            employeeShards.forEachShard(() -> readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<EmployeeSalary> rows = employeeRepository.streamSalaries()) {
+                    rows.forEach(row -> {
+                        if (row.getDepartment() != null && row.getSalary() != null) {
+                            store.put(row.getId(), row.getDepartment(), row.getSalary());
+                        }
+                    });
+                }
+            }));
+            return store;
+        });
+        loadLock.lock();
+        try {
+            // Changes may or may not be part of the loaded snapshot; applying them again is harmless
+            apply(loaded, replay);
+            replay = null;
+            store = loaded;
+        } finally {
+            loadLock.unlock();
+        }
+        log.info("Loaded {} employees into the salary column store in {} ms",
+                loaded.size(), (System.nanoTime() - start) / 1_000_000);
+        return loaded.size();
+    }
+
+    /**
+     * Applies committed changes to the store.
+     *
+     * @param changes the committed changes
+     */
+    @Override
+    public void onChanges(List<EmployeeChange> changes) {
+        loadLock.lock();
+        try {
+            if (replay != null) {
+                replay.addAll(changes);
+            }
+            apply(store, changes);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private static void apply(SalaryColumnStore target, List<EmployeeChange> changes) {
+        for (EmployeeChange change : changes) {
+            if (change.hasNew()) {
+                target.put(change.getId(), change.getNewDepartment(), change.getNewSalary());
+            } else {
+                target.remove(change.getId());
+            }
+        }
+    }
+
+    /**
+     * Computes salary percentiles.
+     *
+     * @param department  the department to restrict to, or null for all employees
+     * @param percentiles the percentiles to compute, each between 0 and 100
+     * @return the salary at each percentile; empty if there are no matching employees
+     */
+    public SalaryPercentiles getPercentiles(String department, double[] percentiles) {
+        double[] values = store.percentiles(department, percentiles);
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            double percentile = percentiles[i];
+            String key = percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+            result.put("p" + key, values[i]);
+        }
+        return new SalaryPercentiles(department, result);
+    }
+
+    /**
+     * Computes a salary histogram spanning the lowest to the highest salary.
+     * The last bucket includes the highest salary.
+     *
+     * @param department the department to restrict to, or null for all employees
+     * @param buckets    the number of buckets
+     * @return the histogram
+     */
+    public SalaryHistogram getHistogram(String department, int buckets) {
+        SalaryColumnStore current = store;
+        double[] range = current.range(department);
+        if (range.length == 0) {
+            return new SalaryHistogram(department, 0, 0, new long[buckets]);
+        }
+        // The highest salary is counted in the last bucket
+        return new SalaryHistogram(department, range[0], (range[1] - range[0]) / buckets,
+                current.histogram(department, range[0], range[1], buckets));
+    }
+
+    /**
+     * Finds the employees with the highest salaries.
+     *
+     * @param department the department to restrict to, or null for all employees
+     * @param n          the number of employees to return
+     * @return the employees with the highest salaries, highest first
+     */
+    public List<SalaryRank> getTopEarners(String department, int n) {
+        return store.topN(department, n);
+    }
+}
@@ -0,0 +1,368 @@
+package com.heriel.EmployeeManagement.service;
+
+import com.heriel.EmployeeManagement.dto.SalaryRank;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Columnar in-memory copy of the employee ID, department and salary columns, for salary analytics.
+ * <p>
+ * Rows are stored in parallel primitive arrays; departments are dictionary-encoded as ints.
+ * Scans (histograms, top-N) are split across cores with fork/join. Percentiles are answered from
+ * per-department sorted salary arrays, which are built on first use and discarded only for the
+ * departments touched by a write.
+ * <p>
+ * Reads share a read lock and writes take the write lock, so a query always sees a consistent set of rows.
+ */
+public class SalaryColumnStore {
+    /**
+     * The key of the sorted index covering all departments.
+     */
+    private static final int ALL_DEPARTMENTS = -1;
+
+    /**
+     * The number of rows below which a scan is not split further.
+     */
+    private static final int SCAN_THRESHOLD = 1 << 15;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> rowById = new HashMap<>();
+    private final Map<String, Integer> codeByDepartment = new HashMap<>();
+    private final List<String> departments = new ArrayList<>();
+    private final Map<Integer, double[]> sortedSalaries = new ConcurrentHashMap<>();
+
+    private long[] ids;
+    private int[] departmentCodes;
+    private double[] salaries;
+    private int size;
+
+    /**
+     * Creates an empty store.
+     *
+     * @param initialCapacity the number of rows to allocate space for
+     */
+    public SalaryColumnStore(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.ids = new long[capacity];
+        this.departmentCodes = new int[capacity];
+        this.salaries = new double[capacity];
+    }
+
+    /**
+     * Returns the number of rows in the store.
+     *
+     * @return the number of rows
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts or replaces the row of an employee.
+     *
+     * @param id         the ID of the employee
+     * @param department the department of the employee
+     * @param salary     the salary of the employee
+     */
+    public void put(long id, String department, double salary) {
+        lock.writeLock().lock();
+        try {
+            int code = codeByDepartment.computeIfAbsent(department, name -> {
+                departments.add(name);
+                return departments.size() - 1;
+            });
+            Integer row = rowById.get(id);
+            if (row == null) {
+                if (size == ids.length) {
+                    int capacity = size + (size >> 1);
+                    ids = Arrays.copyOf(ids, capacity);
+                    departmentCodes = Arrays.copyOf(departmentCodes, capacity);
+                    salaries = Arrays.copyOf(salaries, capacity);
+                }
+                row = size++;
+                rowById.put(id, row);
+                ids[row] = id;
+            } else {
+                invalidate(departmentCodes[row]);
+            }
+            departmentCodes[row] = code;
+            salaries[row] = salary;
+            invalidate(code);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the row of an employee, if present.
+     * The last row is moved into the gap so the columns stay dense.
+     *
+     * @param id the ID of the employee
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowById.remove(id);
+            if (row == null) {
+                return;
+            }
+            invalidate(departmentCodes[row]);
+            int last = --size;
+            if (row != last) {
+                ids[row] = ids[last];
+                departmentCodes[row] = departmentCodes[last];
+                salaries[row] = salaries[last];
+                rowById.put(ids[row], row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Computes salary percentiles using the nearest-rank method.
+     *
+     * @param department  the department to restrict to, or null for all employees
+     * @param percentiles the percentiles to compute, each between 0 and 100
+     * @return the salary at each percentile, or an empty array if there are no matching rows
+     */
+    public double[] percentiles(String department, double[] percentiles) {
+        lock.readLock().lock();
+        try {
+            Integer code = codeOf(department);
+            if (code == null) {
+                return new double[0];
+            }
+            double[] sorted = sortedSalaries.get(code);
+            if (sorted == null) {
+                // Sorted outside of the map, as computeIfAbsent would hold a lock of the map for the whole sort,
+                // blocking other lookups and pinning the carrier of a virtual thread. Writers are kept out by the
+                // read lock, so readers racing on a department sort the same rows and the first array put is kept
+                double[] unsorted = sort(code);
+                sorted = sortedSalaries.putIfAbsent(code, unsorted);
+                if (sorted == null) {
+                    sorted = unsorted;
+                }
+            }
+            if (sorted.length == 0) {
+                return new double[0];
+            }
+            double[] result = new double[percentiles.length];
+            for (int i = 0; i < percentiles.length; i++) {
+                int rank = (int) Math.ceil(percentiles[i] / 100 * sorted.length);
+                result[i] = sorted[Math.max(0, rank - 1)];
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts salaries in equally wide buckets between the given bounds.
+     * Salaries below the lower bound are counted in the first bucket and salaries at or above
+     * the upper bound in the last one.
+     *
+     * @param department the department to restrict to, or null for all employees
+     * @param min        the lower bound of the first bucket
+     * @param max        the upper bound of the last bucket
+     * @param buckets    the number of buckets
+     * @return the number of salaries in each bucket
+     */
+    public long[] histogram(String department, double min, double max, int buckets) {
+        lock.readLock().lock();
+        try {
+            Integer code = codeOf(department);
+            if (code == null) {
+                return new long[buckets];
+            }
+            return new HistogramTask(code, 0, size, min, (max - min) / buckets, buckets).invoke();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the lowest and highest salary.
+     *
+     * @param department the department to restrict to, or null for all employees
+     * @return the lowest and highest salary, or an empty array if there are no matching rows
+     */
+    public double[] range(String department) {
+        return percentiles(department, new double[]{0, 100});
+    }
+
+    /**
+     * Finds the employees with the highest salaries, highest first.
+     *
+     * @param department the department to restrict to, or null for all employees
+     * @param n          the number of employees to return
+     * @return the employees with the highest salaries; ties are ordered by ascending ID
+     */
+    public List<SalaryRank> topN(String department, int n) {
+        lock.readLock().lock();
+        try {
+            Integer code = codeOf(department);
+            if (code == null || n <= 0) {
+                return List.of();
+            }
+            PriorityQueue<Integer> top = new TopNTask(code, 0, size, n).invoke();
+            SalaryRank[] result = new SalaryRank[top.size()];
+            for (int i = result.length - 1; i >= 0; i--) {
+                int row = top.poll();
+                result[i] = new SalaryRank(ids[row], departments.get(departmentCodes[row]), salaries[row]);
+            }
+            return Arrays.asList(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Integer codeOf(String department) {
+        if (department == null) {
+            return ALL_DEPARTMENTS;
+        }
+        return codeByDepartment.get(department);
+    }
+
+    private void invalidate(int code) {
+        sortedSalaries.remove(code);
+        sortedSalaries.remove(ALL_DEPARTMENTS);
+    }
+
+    private double[] sort(int code) {
+        double[] sorted;
+        if (code == ALL_DEPARTMENTS) {
+            sorted = Arrays.copyOf(salaries, size);
+        } else {
+            sorted = new double[size];
+            int count = 0;
+            for (int row = 0; row < size; row++) {
+                if (departmentCodes[row] == code) {
+                    sorted[count++] = salaries[row];
+                }
+            }
+            sorted = Arrays.copyOf(sorted, count);
+        }
+        Arrays.parallelSort(sorted);
+        return sorted;
+    }
+
+    private boolean matches(int row, int code) {
+        return code == ALL_DEPARTMENTS || departmentCodes[row] == code;
+    }
+
+    /**
+     * Counts the salaries of a range of rows per bucket, splitting large ranges in two.
+     */
+    private final class HistogramTask extends RecursiveTask<long[]> {
+        private final int code;
+        private final int from;
+        private final int to;
+        private final double min;
+        private final double width;
+        private final int buckets;
+
+        private HistogramTask(int code, int from, int to, double min, double width, int buckets) {
+            this.code = code;
+            this.from = from;
+            this.to = to;
+            this.min = min;
+            this.width = width;
+            this.buckets = buckets;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from > SCAN_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                HistogramTask left = new HistogramTask(code, from, middle, min, width, buckets);
+                left.fork();
+                long[] counts = new HistogramTask(code, middle, to, min, width, buckets).compute();
+                long[] leftCounts = left.join();
+                for (int i = 0; i < buckets; i++) {
+                    counts[i] += leftCounts[i];
+                }
+                return counts;
+            }
+            long[] counts = new long[buckets];
+            for (int row = from; row < to; row++) {
+                if (matches(row, code)) {
+                    int bucket = width > 0 ? (int) ((salaries[row] - min) / width) : 0;
+                    counts[Math.min(buckets - 1, Math.max(0, bucket))]++;
+                }
+            }
+            return counts;
+        }
+    }
+
+    /**
+     * Keeps the rows with the highest salaries of a range of rows in a bounded min-heap,
+     * splitting large ranges in two and merging the heaps.
+     */
+    private final class TopNTask extends RecursiveTask<PriorityQueue<Integer>> {
+        private final int code;
+        private final int from;
+        private final int to;
+        private final int n;
+
+        private TopNTask(int code, int from, int to, int n) {
+            this.code = code;
+            this.from = from;
+            this.to = to;
+            this.n = n;
+        }
+
+        @Override
+        protected PriorityQueue<Integer> compute() {
+            if (to - from > SCAN_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                TopNTask left = new TopNTask(code, from, middle, n);
+                left.fork();
+                PriorityQueue<Integer> top = new TopNTask(code, middle, to, n).compute();
+                for (int row : left.join()) {
+                    offer(top, row);
+                }
+                return top;
+            }
+            PriorityQueue<Integer> top = new PriorityQueue<>(n + 1, this::compareRows);
+            for (int row = from; row < to; row++) {
+                if (matches(row, code)) {
+                    offer(top, row);
+                }
+            }
+            return top;
+        }
+
+        private void offer(PriorityQueue<Integer> top, int row) {
+            if (top.size() < n) {
+                top.add(row);
+            } else if (compareRows(row, top.peek()) > 0) {
+                top.poll();
+                top.add(row);
+            }
+        }
+
+        /**
+         * Orders rows by salary, then by ID so that ties are resolved deterministically.
+         */
+        private int compareRows(int a, int b) {
+            int bySalary = Double.compare(salaries[a], salaries[b]);
+            return bySalary != 0 ? bySalary : Long.compare(ids[b], ids[a]);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.heriel.EmployeeManagement.service;
+
+import com.heriel.EmployeeManagement.model.Employee;
+
+/**
+ * Picks the shard a new employee is stored in. The shard is encoded in the employee's ID, so the employee
+ * stays on it for good, even when the fields the strategy looked at change later.
+ * Declare a {@code @Primary} bean of this type to replace the default {@link DepartmentHashShardKeyStrategy}.
+ */
+@FunctionalInterface
+public interface ShardKeyStrategy {
+    /**
+     * Picks the shard of a new employee.
+     *
+     * @param employee   the employee about to be created
+     * @param shardCount the number of shards
+     * @return the index of the shard, from 0 to shardCount - 1
+     */
+    int shardOf(Employee employee, int shardCount);
+}
@@ -0,0 +1,111 @@
+package com.heriel.EmployeeManagement.service;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.BiFunction;
+
+/**
+ * Merges sorted runs, such as the first rows of every shard for the same query, into their first rows overall.
+ * <p>
+ * A k-way merge with a heap holding the next row of each run: taking the first {@code limit} rows of {@code k}
+ * runs costs {@code O(limit log k)} comparisons, independent of how many rows each run has beyond its first
+ * {@code limit}. The order of the merge must match the order the runs were sorted in by the database. Strings are
+ * compared by {@link String#compareTo}, which matches databases using the C collation; the shards are checked to
+ * use it at startup by {@link com.heriel.EmployeeManagement.config.ShardRoutingDataSource}.
+ */
+public final class TopKMerge {
+
+    private TopKMerge() {
+    }
+
+    /**
+     * Merges sorted runs and returns their first rows.
+     *
+     * @param runs  the runs, each sorted by the given order
+     * @param order the order of the runs
+     * @param limit the maximum number of rows to return
+     * @param <T>   the type of the rows
+     * @return the first rows of all runs, sorted by the given order
+     */
+    public static <T> List<T> merge(List<? extends List<? extends T>> runs, Comparator<? super T> order, int limit) {
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>(Math.max(1, runs.size()),
+                (a, b) -> order.compare(a.row, b.row));
+        for (List<? extends T> run : runs) {
+            Iterator<? extends T> rows = run.iterator();
+            if (rows.hasNext()) {
+                heads.add(new Head<>(rows.next(), rows));
+            }
+        }
+        List<T> merged = new ArrayList<>(Math.min(limit, runs.stream().mapToInt(List::size).sum()));
+        while (merged.size() < limit && !heads.isEmpty()) {
+            Head<T> head = heads.poll();
+            merged.add(head.row);
+            if (head.rows.hasNext()) {
+                head.row = head.rows.next();
+                heads.add(head);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Returns the sort followed by the ID, if it does not contain it yet, so that rows with equal sort values
+     * are merged in the same order on every page.
+     *
+     * @param sort the requested sort
+     * @return the sort ending with a unique key
+     */
+    public static Sort withUniqueKey(Sort sort) {
+        return sort.getOrderFor("id") != null ? sort : sort.and(Sort.by("id"));
+    }
+
+    /**
+     * Creates the comparator matching the order the database applies for a sort.
+     * Nulls are sorted as PostgreSQL does unless the sort says otherwise: after all values in ascending order,
+     * before them in descending order.
+     *
+     * @param sort     the sort
+     * @param property the accessor of a property of a row by name
+     * @param <T>      the type of the rows
+     * @return the comparator
+     */
+    public static <T> Comparator<T> comparator(Sort sort, BiFunction<T, String, Object> property) {
+        Comparator<T> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            comparator = comparator.thenComparing((a, b) -> compare(property.apply(a, order.getProperty()),
+                    property.apply(b, order.getProperty()), order));
+        }
+        return comparator;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(Object a, Object b, Sort.Order order) {
+        if (a == null || b == null) {
+            if (a == b) {
+                return 0;
+            }
+            boolean nullsFirst = order.getNullHandling() == Sort.NullHandling.NULLS_FIRST
+                    || (order.getNullHandling() == Sort.NullHandling.NATIVE && order.isDescending());
+            return (a == null) == nullsFirst ? -1 : 1;
+        }
+        int result = order.isIgnoreCase() && a instanceof String first && b instanceof String second
+                ? first.compareToIgnoreCase(second)
+                : ((Comparable<Object>) a).compareTo(b);
+        return order.isAscending() ? result : -result;
+    }
+
+    private static final class Head<T> {
+        private T row;
+        private final Iterator<? extends T> rows;
+
+        private Head(T row, Iterator<? extends T> rows) {
+            this.row = row;
+            this.rows = rows;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.heriel.EmployeeManagement.service;
+
+import lombok.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The claims of an access token whose signature has been verified.
+ */
+@Value
+public class VerifiedToken {
+    /**
+     * The random ID of the token, distinct for every issued token even for the same user.
+     */
+    String id;
+
+    /**
+     * The name of the user the token was issued to.
+     */
+    String subject;
+
+    /**
+     * The authorities of the user at the time the token was issued.
+     */
+    List<GrantedAuthority> authorities;
+
+    /**
+     * The instant after which the token is no longer accepted.
+     */
+    Instant expiresAt;
+
+    /**
+     * Returns whether the token has expired.
+     *
+     * @param now the current instant
+     * @return true if the token is no longer accepted
+     */
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+
+    /**
+     * Returns an authenticated Authentication for the token's subject and authorities, with the token ID as details.
+     *
+     * @return the authentication
+     */
+    public Authentication toAuthentication() {
+        UsernamePasswordAuthenticationToken authentication =
+                UsernamePasswordAuthenticationToken.authenticated(subject, null, authorities);
+        authentication.setDetails(id);
+        return authentication;
+    }
+}
@@ -0,0 +1,4 @@
+-- Makes the email index unique. Fails if the table already holds duplicate emails, which have to be resolved
+-- first. With sharding, emails are unique per shard.
+DROP INDEX IF EXISTS idx_employee_email;
+CREATE UNIQUE INDEX idx_employee_email ON employee (email);
@@ -0,0 +1,4 @@
+-- Name prefix indexes, which need a PostgreSQL operator class and cannot be declared on the entity.
+-- text_pattern_ops lets left-anchored LIKE 'prefix%' use the index regardless of the database collation.
+CREATE INDEX IF NOT EXISTS idx_employee_first_name_pattern ON employee (first_name text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_employee_last_name_pattern ON employee (last_name text_pattern_ops);
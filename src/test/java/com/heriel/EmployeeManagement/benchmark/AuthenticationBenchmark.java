@@ -0,0 +1,101 @@
+package com.heriel.EmployeeManagement.benchmark;
+
+import com.heriel.EmployeeManagement.service.TokenService;
+import com.heriel.EmployeeManagement.service.VerifiedToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request cost of authenticating with a password against authenticating with an access token.
+ * <p>
+ * With HTTP Basic, every request checks the password against its BCrypt hash (strength 10, Spring Security's
+ * default). With access tokens, a request either verifies the token's HMAC signature or, for a token seen
+ * before, finds it in the cache of verified tokens. Each benchmark runs on one thread, so its throughput is
+ * the number of authentications one core can do per second, which bounds the requests per second per core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationBenchmark {
+    private static final String PASSWORD = "correct horse battery staple";
+
+    private PasswordEncoder passwordEncoder;
+    private String passwordHash;
+    private TokenService tokenService;
+    private String token;
+
+    /**
+     * Hashes the password and issues a token.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        passwordEncoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        passwordHash = "{bcrypt}" + new BCryptPasswordEncoder().encode(PASSWORD);
+        tokenService = new TokenService("", Duration.ofHours(1), 10000);
+        token = tokenService.issue(UsernamePasswordAuthenticationToken.authenticated(
+                "admin", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+    }
+
+    /**
+     * Checks a password against its BCrypt hash, as HTTP Basic does on every request.
+     *
+     * @return whether the password matches
+     */
+    @Benchmark
+    public boolean basicPassword() {
+        return passwordEncoder.matches(PASSWORD, passwordHash);
+    }
+
+    /**
+     * Verifies the signature of a token and decodes its claims, as for the first request with a token.
+     *
+     * @return the verified claims
+     */
+    @Benchmark
+    public VerifiedToken tokenSignature() {
+        return tokenService.verifySignature(token);
+    }
+
+    /**
+     * Looks up a previously verified token, as for every further request with the same token.
+     *
+     * @return the verified claims
+     */
+    @Benchmark
+    public VerifiedToken tokenCached() {
+        return tokenService.verify(token);
+    }
+
+    /**
+     * Runs this benchmark from the IDE or the command line.
+     *
+     * @param args ignored
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AuthenticationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,374 @@
+package com.heriel.EmployeeManagement.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.heriel.EmployeeManagement.EmployeeManagementApplication;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Self-contained load test of the employee REST API.
+ * <p>
+ * Unless {@code load.base-url} points at a running instance, the application is started in-process on a
+ * random port with the {@code h2} profile, so nothing outside this JVM is needed. The harness seeds employees
+ * through the batch endpoint, then sends a weighted mix of GET-by-id, paged list, create, update and delete
+ * requests at a fixed arrival rate. Latency is measured from the moment each request was scheduled to be sent,
+ * so a slow server is not hidden by the harness falling behind. Run the main method, optionally with:
+ * <ul>
+ *     <li>{@code -Dload.base-url=http://localhost:8080} test a running instance instead of starting one</li>
+ *     <li>{@code -Dload.username=admin} and {@code -Dload.password} the user requesting the access token sent with
+ *     every request; the in-process instance is started with a generated password</li>
+ *     <li>{@code -Dload.profiles=h2} the profiles of the in-process instance; empty uses the PostgreSQL database</li>
+ *     <li>{@code -Dload.employees=10000} the number of employees to seed</li>
+ *     <li>{@code -Dload.rate=500} the target number of requests per second</li>
+ *     <li>{@code -Dload.seconds=60} the measured duration, after {@code -Dload.warmup-seconds=10}</li>
+ *     <li>{@code -Dload.mix=get=60,list=20,create=10,update=5,delete=5} the relative weight of each operation</li>
+ *     <li>{@code -Dload.result=target/load-test-result.json} the JSON result file</li>
+ * </ul>
+ * Deletes take employees from the second half of the seeded ones and gets and updates use the first half,
+ * so reads never race with deletes. Once the deletable employees run out, delete requests are skipped.
+ * The result file holds the configuration, per-operation counts and percentiles, and each latency
+ * distribution as a compressed, base64-encoded HdrHistogram that can be decoded for further analysis.
+ */
+public class LoadTestHarness {
+    private static final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final int LIST_PAGE_SIZE = 20;
+
+    /**
+     * The operations of the load mix and the status each one is expected to return.
+     */
+    enum Operation {
+        GET(200), LIST(200), CREATE(201), UPDATE(200), DELETE(200);
+
+        private final int expectedStatus;
+
+        Operation(int expectedStatus) {
+            this.expectedStatus = expectedStatus;
+        }
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final String baseUrl;
+    private final String authorization;
+    private final Map<Operation, Integer> mix;
+    private final List<Long> stableIds = new ArrayList<>();
+    private final ConcurrentLinkedQueue<Long> deletableIds = new ConcurrentLinkedQueue<>();
+
+    private LoadTestHarness(String baseUrl, String token, Map<Operation, Integer> mix) {
+        this.baseUrl = baseUrl;
+        this.authorization = "Bearer " + token;
+        this.mix = mix;
+    }
+
+    /**
+     * Runs the load test and writes the result file.
+     *
+     * @param args ignored
+     * @throws Exception if the application cannot be started, seeding fails or the result cannot be written
+     */
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("load.base-url");
+        String profiles = System.getProperty("load.profiles", "h2");
+        String username = System.getProperty("load.username", "admin");
+        String password = System.getProperty("load.password", UUID.randomUUID().toString());
+        int employees = Integer.getInteger("load.employees", 10000);
+        int rate = Integer.getInteger("load.rate", 500);
+        int seconds = Integer.getInteger("load.seconds", 60);
+        int warmupSeconds = Integer.getInteger("load.warmup-seconds", 10);
+        String mixSpec = System.getProperty("load.mix", "get=60,list=20,create=10,update=5,delete=5");
+        File resultFile = new File(System.getProperty("load.result", "target/load-test-result.json"));
+
+        ConfigurableApplicationContext context = null;
+        try {
+            if (baseUrl == null) {
+                context = start(profiles, username, password);
+                baseUrl = "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            }
+            LoadTestHarness harness = new LoadTestHarness(baseUrl, requestToken(baseUrl, username, password), parseMix(mixSpec));
+            harness.seed(employees);
+            harness.run(rate, warmupSeconds);
+            Instant startedAt = Instant.now();
+            Map<String, Object> phase = harness.run(rate, seconds);
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("startedAt", startedAt.toString());
+            result.put("target", context == null ? baseUrl : "in-process, profiles [" + profiles + "]");
+            result.put("employees", employees);
+            result.put("targetRate", rate);
+            result.put("durationSeconds", seconds);
+            result.put("warmupSeconds", warmupSeconds);
+            result.put("mix", mixSpec);
+            result.putAll(phase);
+            if (resultFile.getParentFile() != null) {
+                resultFile.getParentFile().mkdirs();
+            }
+            objectMapper.writeValue(resultFile, result);
+            System.out.println("Wrote " + resultFile.getAbsolutePath());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String profiles, String username, String password) {
+        return new SpringApplication(EmployeeManagementApplication.class).run(
+                "--server.port=0",
+                "--spring.profiles.active=" + profiles,
+                "--spring.security.user.name=" + username,
+                "--spring.security.user.password={bcrypt}" + new BCryptPasswordEncoder().encode(password),
+                "--logging.level.root=WARN");
+    }
+
+    /**
+     * Requests an access token with HTTP Basic, which is the only request checking the password.
+     *
+     * @param baseUrl  the base URL of the application
+     * @param username the user name
+     * @param password the password
+     * @return the access token
+     * @throws IOException          if the request fails
+     * @throws InterruptedException if the request is interrupted
+     */
+    static String requestToken(String baseUrl, String username, String password) throws IOException, InterruptedException {
+        String credentials = Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/token"))
+                            .header("Authorization", "Basic " + credentials)
+                            .POST(HttpRequest.BodyPublishers.noBody())
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Requesting an access token failed with status " + response.statusCode());
+            }
+            return objectMapper.readTree(response.body()).get("accessToken").asText();
+        }
+    }
+
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("The mix must contain at least one operation");
+        }
+        return mix;
+    }
+
+    /**
+     * Creates employees through the batch endpoint and splits their IDs into stable and deletable ones.
+     */
+    private void seed(int employees) throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>(employees);
+        for (int from = 0; from < employees; from += SEED_BATCH_SIZE) {
+            List<Map<String, Object>> operations = new ArrayList<>();
+            for (int i = from; i < Math.min(employees, from + SEED_BATCH_SIZE); i++) {
+                operations.add(Map.of("op", "CREATE", "employee", employee("Seed", i)));
+            }
+            HttpResponse<String> response = client.send(
+                    json(newRequest(baseUrl + "/api/employees/batch"), "POST",
+                            Map.of("operations", operations)),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode() + ": " + response.body());
+            }
+            for (JsonNode result : objectMapper.readTree(response.body()).get("results")) {
+                ids.add(result.get("id").asLong());
+            }
+        }
+        Collections.shuffle(ids);
+        stableIds.addAll(ids.subList(0, (ids.size() + 1) / 2));
+        deletableIds.addAll(ids.subList((ids.size() + 1) / 2, ids.size()));
+    }
+
+    /**
+     * Sends requests at the given rate for the given duration and summarizes the latencies.
+     */
+    private Map<String, Object> run(int rate, int seconds) {
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+        LongAdder skipped = new LongAdder();
+        for (Operation operation : mix.keySet()) {
+            histograms.put(operation, new ConcurrentHistogram(3));
+            errors.put(operation, new LongAdder());
+        }
+        Operation[] weighted = mix.entrySet().stream()
+                .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(Operation[]::new);
+
+        long interval = 1_000_000_000L / rate;
+        long requests = (long) rate * seconds;
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < requests; i++) {
+                long scheduled = start + i * interval;
+                long delay = scheduled - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+                Operation operation = weighted[ThreadLocalRandom.current().nextInt(weighted.length)];
+                executor.submit(() -> {
+                    HttpRequest request = request(operation);
+                    if (request == null) {
+                        skipped.increment();
+                        return;
+                    }
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != operation.expectedStatus) {
+                            errors.get(operation).increment();
+                        }
+                    } catch (Exception ex) {
+                        errors.get(operation).increment();
+                    }
+                    histograms.get(operation).recordValue((System.nanoTime() - scheduled) / 1000);
+                });
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        Map<String, Object> operations = new LinkedHashMap<>();
+        System.out.printf("%n%-8s %10s %8s %10s %10s %10s %10s %10s%n",
+                "op", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : mix.keySet()) {
+            Histogram histogram = histograms.get(operation);
+            total.add(histogram);
+            totalErrors += errors.get(operation).sum();
+            operations.put(operation.name().toLowerCase(Locale.ROOT),
+                    summarize(operation.name().toLowerCase(Locale.ROOT), histogram, errors.get(operation).sum(), elapsedSeconds));
+        }
+        Map<String, Object> phase = new LinkedHashMap<>();
+        phase.put("elapsedSeconds", elapsedSeconds);
+        phase.put("skippedDeletes", skipped.sum());
+        phase.put("total", summarize("total", total, totalErrors, elapsedSeconds));
+        phase.put("operations", operations);
+        System.out.println("\nLatency distribution of all requests (ms):");
+        total.outputPercentileDistribution(System.out, 5, 1000.0);
+        return phase;
+    }
+
+    private static Map<String, Object> summarize(String name, Histogram histogram, long errors, double elapsedSeconds) {
+        double throughput = histogram.getTotalCount() / elapsedSeconds;
+        System.out.printf("%-8s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", name, histogram.getTotalCount(), errors,
+                throughput, histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0, histogram.getMaxValue() / 1000.0);
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("min", histogram.getMinValue());
+        latency.put("mean", histogram.getMean());
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            latency.put("p" + String.valueOf(percentile).replace(".0", "").replace('.', '_'),
+                    histogram.getValueAtPercentile(percentile));
+        }
+        latency.put("max", histogram.getMaxValue());
+
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", histogram.getTotalCount());
+        summary.put("errors", errors);
+        summary.put("throughputPerSecond", throughput);
+        summary.put("latencyMicros", latency);
+        summary.put("histogram", Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length)));
+        return summary;
+    }
+
+    /**
+     * Builds the request for an operation, or returns null if there is no employee left to delete.
+     */
+    private HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String employees = baseUrl + "/api/employees";
+        return switch (operation) {
+            case GET -> newRequest(employees + "/" + randomStableId()).GET().build();
+            case LIST -> newRequest(employees + "?size=" + LIST_PAGE_SIZE
+                    + "&page=" + random.nextInt(Math.max(1, stableIds.size() / LIST_PAGE_SIZE))).GET().build();
+            case CREATE -> json(newRequest(employees), "POST",
+                    employee("Load", createdCount.getAndIncrement()));
+            case UPDATE -> json(newRequest(employees + "/" + randomStableId()), "PUT",
+                    employee("Updated", random.nextInt(1_000_000)));
+            case DELETE -> {
+                Long id = deletableIds.poll();
+                yield id == null ? null : newRequest(employees + "/" + id).DELETE().build();
+            }
+        };
+    }
+
+    private HttpRequest.Builder newRequest(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).header("Authorization", authorization);
+    }
+
+    private long randomStableId() {
+        return stableIds.get(ThreadLocalRandom.current().nextInt(stableIds.size()));
+    }
+
+    private static Map<String, Object> employee(String prefix, long n) {
+        Map<String, Object> employee = new LinkedHashMap<>();
+        employee.put("firstName", prefix + n);
+        employee.put("lastName", "Employee");
+        employee.put("email", prefix.toLowerCase(Locale.ROOT) + n + "@example.com");
+        employee.put("department", "Department" + n % 10);
+        employee.put("salary", 30000.0 + n % 100000);
+        return employee;
+    }
+
+    private static HttpRequest json(HttpRequest.Builder builder, String method, Object body) {
+        try {
+            return builder.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+}
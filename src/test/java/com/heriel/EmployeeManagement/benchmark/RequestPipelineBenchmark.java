@@ -0,0 +1,252 @@
+package com.heriel.EmployeeManagement.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heriel.EmployeeManagement.controller.EmployeeController;
+import com.heriel.EmployeeManagement.dto.EmployeeDTO;
+import com.heriel.EmployeeManagement.dto.EmployeeMapper;
+import com.heriel.EmployeeManagement.dto.OffsetPage;
+import com.heriel.EmployeeManagement.model.Employee;
+import com.heriel.EmployeeManagement.service.EmployeeService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Measures the CPU and allocation cost of the stages of an employee request without a database:
+ * mapping an EmployeeDTO to an entity, validating it, serializing an Employee and a page of employees
+ * with Jackson, and the full request pipeline through MockMvc for listing and adding employees.
+ * <p>
+ * The controller is backed by an EmployeeService stub returning prepared results, so the MockMvc
+ * benchmarks cover argument resolution, validation, message conversion and the controller itself.
+ * Run all benchmarks with the GC profiler, which reports allocated bytes per operation, with
+ * {@code mvn -Pbenchmark verify}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestPipelineBenchmark {
+
+    @Param({"10"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private EmployeeDTO employeeDTO;
+    private Employee employee;
+    private Page<Map<String, Object>> page;
+    private byte[] employeeJson;
+    private MockMvc mockMvc;
+
+    /**
+     * Prepares the inputs and a MockMvc instance configured like the application.
+     *
+     * @throws JsonProcessingException if serializing the request body fails
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        employeeDTO = new EmployeeDTO();
+        employeeDTO.setFirstName("John");
+        employeeDTO.setLastName("Doe");
+        employeeDTO.setEmail("john.doe@example.com");
+        employeeDTO.setDepartment("Engineering");
+        employeeDTO.setSalary(75000.0);
+        employeeJson = objectMapper.writeValueAsBytes(employeeDTO);
+
+        employee = EmployeeMapper.toEntity(employeeDTO);
+        employee.setId(1L);
+        List<Map<String, Object>> rows = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", id);
+            row.put("firstName", employeeDTO.getFirstName());
+            row.put("lastName", employeeDTO.getLastName());
+            row.put("email", employeeDTO.getEmail());
+            row.put("department", employeeDTO.getDepartment());
+            row.put("salary", employeeDTO.getSalary());
+            rows.add(row);
+        }
+        page = new PageImpl<>(rows, PageRequest.of(0, pageSize), 1000);
+
+        LocalValidatorFactoryBean mvcValidator = new LocalValidatorFactoryBean();
+        mvcValidator.afterPropertiesSet();
+        EmployeeController controller = new EmployeeController(new StubEmployeeService(page), null, null, null);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .setValidator(mvcValidator)
+                .build();
+    }
+
+    /**
+     * Closes the validator factory.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    /**
+     * Maps an EmployeeDTO to a new Employee entity.
+     *
+     * @return the entity
+     */
+    @Benchmark
+    public Employee mapToEntity() {
+        return EmployeeMapper.toEntity(employeeDTO);
+    }
+
+    /**
+     * Validates a valid EmployeeDTO with Bean Validation.
+     *
+     * @return the constraint violations, which are empty
+     */
+    @Benchmark
+    public Set<ConstraintViolation<EmployeeDTO>> validateDto() {
+        return validator.validate(employeeDTO);
+    }
+
+    /**
+     * Deserializes an EmployeeDTO from a request body.
+     *
+     * @return the deserialized DTO
+     * @throws Exception if deserialization fails
+     */
+    @Benchmark
+    public EmployeeDTO deserializeDto() throws Exception {
+        return objectMapper.readValue(employeeJson, EmployeeDTO.class);
+    }
+
+    /**
+     * Serializes a single Employee.
+     *
+     * @return the JSON bytes
+     * @throws JsonProcessingException if serialization fails
+     */
+    @Benchmark
+    public byte[] serializeEmployee() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(employee);
+    }
+
+    /**
+     * Serializes a page of employees in the envelope returned by getAllEmployees.
+     *
+     * @return the JSON bytes
+     * @throws JsonProcessingException if serialization fails
+     */
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(OffsetPage.of(page));
+    }
+
+    /**
+     * Lists employees through the full MockMvc request pipeline.
+     *
+     * @return the response body
+     * @throws Exception if the request fails
+     */
+    @Benchmark
+    public byte[] getAllEmployeesRequest() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/employees")
+                        .param("size", String.valueOf(pageSize)))
+                .andReturn();
+        return result.getResponse().getContentAsByteArray();
+    }
+
+    /**
+     * Adds an employee through the full MockMvc request pipeline, including validation.
+     *
+     * @return the response status
+     * @throws Exception if the request fails
+     */
+    @Benchmark
+    public int addEmployeeRequest() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(employeeJson))
+                .andReturn();
+        return result.getResponse().getStatus();
+    }
+
+    /**
+     * Runs this benchmark with the GC profiler from the IDE or the command line.
+     *
+     * @param args ignored
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RequestPipelineBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+
+    /**
+     * EmployeeService returning prepared results instead of querying the database.
+     */
+    private static final class StubEmployeeService extends EmployeeService {
+        private final Page<Map<String, Object>> page;
+
+        private StubEmployeeService(Page<Map<String, Object>> page) {
+            super(null, null, null, null, null, null);
+            this.page = page;
+        }
+
+        @Override
+        public Employee addEmployee(EmployeeDTO employeeDTO) {
+            Employee added = EmployeeMapper.toEntity(employeeDTO);
+            added.setId(1L);
+            return added;
+        }
+
+        @Override
+        public Page<Map<String, Object>> getEmployeeFields(List<String> fields, Pageable pageable) {
+            return page;
+        }
+    }
+}
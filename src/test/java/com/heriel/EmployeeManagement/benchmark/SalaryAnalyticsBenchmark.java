@@ -0,0 +1,211 @@
+package com.heriel.EmployeeManagement.benchmark;
+
+import com.heriel.EmployeeManagement.dto.SalaryRank;
+import com.heriel.EmployeeManagement.service.SalaryColumnStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.core.BaseConnection;
+
+import java.io.StringReader;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares salary percentile, histogram and top-N queries on the {@link SalaryColumnStore}
+ * with the equivalent SQL on PostgreSQL.
+ * <p>
+ * Both sides are loaded with the same random rows. The SQL side uses its own table,
+ * {@code salary_benchmark}, indexed like the employee table, which is dropped afterwards.
+ * The database defaults to the one in application.properties and can be changed with the
+ * {@code benchmark.jdbc.url}, {@code benchmark.jdbc.username} and {@code benchmark.jdbc.password}
+ * system properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SalaryAnalyticsBenchmark {
+    private static final String[] DEPARTMENTS = {"Engineering", "Finance", "Marketing", "Sales", "Support"};
+    private static final double[] PERCENTILES = {50, 90, 99};
+
+    @Param({"1000000"})
+    private int rows;
+
+    private SalaryColumnStore store;
+    private Connection connection;
+
+    /**
+     * Loads the same random rows into the column store and into the benchmark table.
+     *
+     * @throws Exception if loading the table fails
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        store = new SalaryColumnStore(rows);
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/xxxxxxxxxx"),
+                System.getProperty("benchmark.jdbc.username", "xxxxxxxx"),
+                System.getProperty("benchmark.jdbc.password", "xxxxxxxx"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists salary_benchmark");
+            statement.execute("create table salary_benchmark (id bigint primary key, department varchar(255), "
+                    + "salary double precision)");
+        }
+
+        Random random = new Random(42);
+        StringBuilder data = new StringBuilder(rows * 32);
+        for (int id = 1; id <= rows; id++) {
+            String department = DEPARTMENTS[random.nextInt(DEPARTMENTS.length)];
+            double salary = Math.max(0, Math.round(90000 + random.nextGaussian() * 15000));
+            store.put(id, department, salary);
+            data.append(id).append(',').append(department).append(',').append(salary).append('\n');
+        }
+        new CopyManager(connection.unwrap(BaseConnection.class))
+                .copyIn("COPY salary_benchmark FROM STDIN WITH (FORMAT csv)", new StringReader(data.toString()));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create index on salary_benchmark (department, salary)");
+            statement.execute("create index on salary_benchmark (salary)");
+            statement.execute("analyze salary_benchmark");
+        }
+    }
+
+    /**
+     * Drops the benchmark table.
+     *
+     * @throws SQLException if dropping the table fails
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists salary_benchmark");
+        }
+        connection.close();
+    }
+
+    /**
+     * Percentiles of one department from the column store.
+     *
+     * @return the percentiles
+     */
+    @Benchmark
+    public double[] percentilesColumnStore() {
+        return store.percentiles("Marketing", PERCENTILES);
+    }
+
+    /**
+     * Percentiles of one department with percentile_disc in SQL.
+     *
+     * @return the percentiles
+     * @throws SQLException if the query fails
+     */
+    @Benchmark
+    public Object percentilesSql() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select percentile_disc(?) within group (order by salary) from salary_benchmark where department = ?")) {
+            Array fractions = connection.createArrayOf("float8", new Object[]{0.5, 0.9, 0.99});
+            statement.setArray(1, fractions);
+            statement.setString(2, "Marketing");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getArray(1).getArray();
+            }
+        }
+    }
+
+    /**
+     * A 20-bucket histogram of all salaries from the column store.
+     *
+     * @return the bucket counts
+     */
+    @Benchmark
+    public long[] histogramColumnStore() {
+        double[] range = store.range(null);
+        return store.histogram(null, range[0], range[1], 20);
+    }
+
+    /**
+     * A 20-bucket histogram of all salaries with width_bucket in SQL.
+     *
+     * @return the bucket counts
+     * @throws SQLException if the query fails
+     */
+    @Benchmark
+    public long[] histogramSql() throws SQLException {
+        long[] counts = new long[20];
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "with r as (select min(salary) lo, max(salary) hi from salary_benchmark) "
+                             + "select least(width_bucket(salary, r.lo, r.hi, 20), 20) b, count(*) "
+                             + "from salary_benchmark, r group by b")) {
+            while (resultSet.next()) {
+                counts[resultSet.getInt(1) - 1] = resultSet.getLong(2);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * The ten highest salaries of all employees from the column store.
+     *
+     * @return the top earners
+     */
+    @Benchmark
+    public List<SalaryRank> topNColumnStore() {
+        return store.topN(null, 10);
+    }
+
+    /**
+     * The ten highest salaries of all employees with ORDER BY ... LIMIT in SQL.
+     *
+     * @return the IDs of the top earners
+     * @throws SQLException if the query fails
+     */
+    @Benchmark
+    public List<Long> topNSql() throws SQLException {
+        List<Long> ids = new ArrayList<>(10);
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "select id from salary_benchmark order by salary desc, id limit 10")) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Runs this benchmark from the IDE or the command line.
+     *
+     * @param args ignored
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SalaryAnalyticsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,157 @@
+package com.heriel.EmployeeManagement.benchmark;
+
+import com.heriel.EmployeeManagement.model.Employee;
+import com.heriel.EmployeeManagement.service.TopKMerge;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures the latency of a sorted page of employees as the number of shards grows.
+ * <p>
+ * Each shard answers with its first {@code offset + size} rows after a fixed query latency, as the database would.
+ * {@code scatterGather} queries every shard in parallel on virtual threads and merges their rows, as
+ * {@link com.heriel.EmployeeManagement.service.EmployeeShards} does, so its latency should stay close to one query
+ * latency for any number of shards. {@code sequential} queries the shards one after the other for comparison, and
+ * {@code merge} measures only the merge of the shard rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShardedListBenchmark {
+    private static final long QUERY_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int shards;
+
+    @Param({"0", "500"})
+    private int offset;
+
+    private final Sort sort = TopKMerge.withUniqueKey(Sort.by(Sort.Direction.DESC, "salary"));
+    private final Comparator<Employee> comparator = TopKMerge.comparator(sort,
+            (employee, property) -> property.equals("id") ? employee.getId() : employee.getSalary());
+    private List<List<Employee>> shardRows;
+    private ExecutorService executor;
+
+    /**
+     * Creates the sorted rows each shard returns for the page.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        shardRows = new ArrayList<>();
+        for (int shard = 0; shard < shards; shard++) {
+            List<Employee> rows = new ArrayList<>();
+            for (int i = 0; i < offset + PAGE_SIZE; i++) {
+                Employee employee = new Employee();
+                employee.setId((long) i * 1024 + shard);
+                employee.setSalary((double) random.nextInt(200_000));
+                rows.add(employee);
+            }
+            rows.sort(comparator);
+            shardRows.add(rows);
+        }
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Stops the virtual thread executor.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queries every shard in parallel and merges the page.
+     *
+     * @return the page
+     * @throws ExecutionException   if a shard query fails
+     * @throws InterruptedException if interrupted while waiting for a shard
+     */
+    @Benchmark
+    public List<Employee> scatterGather() throws ExecutionException, InterruptedException {
+        List<Future<List<Employee>>> futures = new ArrayList<>(shards);
+        for (List<Employee> rows : shardRows) {
+            futures.add(executor.submit(() -> query(rows)));
+        }
+        List<List<Employee>> results = new ArrayList<>(shards);
+        for (Future<List<Employee>> future : futures) {
+            results.add(future.get());
+        }
+        return page(results);
+    }
+
+    /**
+     * Queries every shard one after the other and merges the page.
+     *
+     * @return the page
+     */
+    @Benchmark
+    public List<Employee> sequential() {
+        List<List<Employee>> results = new ArrayList<>(shards);
+        for (List<Employee> rows : shardRows) {
+            results.add(query(rows));
+        }
+        return page(results);
+    }
+
+    /**
+     * Merges the page from the shard rows, without query latency.
+     *
+     * @return the page
+     */
+    @Benchmark
+    public List<Employee> merge() {
+        return page(shardRows);
+    }
+
+    private static List<Employee> query(List<Employee> rows) {
+        LockSupport.parkNanos(QUERY_LATENCY_NANOS);
+        return rows;
+    }
+
+    private List<Employee> page(List<List<Employee>> results) {
+        List<Employee> merged = TopKMerge.merge(results, comparator, offset + PAGE_SIZE);
+        return merged.subList(Math.min(offset, merged.size()), merged.size());
+    }
+
+    /**
+     * Runs this benchmark from the IDE or the command line.
+     *
+     * @param args ignored
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ShardedListBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,100 @@
+package com.heriel.EmployeeManagement.benchmark;
+
+import com.heriel.EmployeeManagement.EmployeeManagementApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to start the application with each way of managing the schema.
+ * <p>
+ * {@code update} is the former setup, where Hibernate introspects the whole schema and alters it on every start.
+ * {@code validate} is the current one, where Flyway finds no pending migration and Hibernate only checks the
+ * entities against the schema. {@code none} skips both and is the floor either can reach. Every start runs
+ * against an already migrated database, as a rollout would. The database is the PostgreSQL one of
+ * application.properties, or the in-memory one with {@code -Dbenchmark.profiles=h2}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+
+    @Param({"update", "validate", "none"})
+    private String schemaManagement;
+
+    private ConfigurableApplicationContext context;
+
+    /**
+     * Migrates the database once, so that no start has pending migrations.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        start("validate").close();
+    }
+
+    /**
+     * Starts the application.
+     *
+     * @return the started application context
+     */
+    @Benchmark
+    public ConfigurableApplicationContext startup() {
+        context = start(schemaManagement);
+        return context;
+    }
+
+    /**
+     * Stops the application started by the benchmark.
+     */
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String schemaManagement) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.profiles.active=" + System.getProperty("benchmark.profiles", ""),
+                "--spring.jpa.hibernate.ddl-auto=" + schemaManagement,
+                "--logging.level.root=WARN"));
+        if (!schemaManagement.equals("validate")) {
+            args.add("--spring.flyway.enabled=false");
+        }
+        return new SpringApplication(EmployeeManagementApplication.class).run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Runs this benchmark from the IDE or the command line.
+     *
+     * @param args ignored
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StartupBenchmark.class.getSimpleName()).build()).run();
+    }
+}
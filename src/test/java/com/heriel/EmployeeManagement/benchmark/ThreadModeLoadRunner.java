@@ -0,0 +1,151 @@
+package com.heriel.EmployeeManagement.benchmark;
+
+import com.heriel.EmployeeManagement.EmployeeManagementApplication;
+import com.heriel.EmployeeManagement.model.Employee;
+import com.heriel.EmployeeManagement.repository.EmployeeRepository;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test comparing request handling on platform threads with virtual threads.
+ * <p>
+ * Starts the application once per thread mode, with caching off so that every request reaches the
+ * database, and lets a fixed number of concurrent clients fetch random employees for a fixed duration.
+ * Prints the throughput and latency percentiles of each mode. Run the main method with the database
+ * from application.properties available, optionally with:
+ * <ul>
+ *     <li>{@code -Dload.clients=2000} the number of concurrent clients</li>
+ *     <li>{@code -Dload.seconds=30} the measured duration per mode, after a warm-up of a third of it</li>
+ *     <li>{@code -Dload.pool-size=50} the size of the JDBC connection pool</li>
+ *     <li>{@code -Djdk.tracePinnedThreads=short} to print stack traces of virtual threads that pin their carrier</li>
+ * </ul>
+ */
+public class ThreadModeLoadRunner {
+    private static final int EMPLOYEES = 1000;
+
+    /**
+     * Runs the load test for both thread modes.
+     *
+     * @param args ignored
+     * @throws Exception if the application cannot be started or the load test is interrupted
+     */
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("load.clients", 2000);
+        int seconds = Integer.getInteger("load.seconds", 30);
+        int poolSize = Integer.getInteger("load.pool-size", 50);
+
+        String password = UUID.randomUUID().toString();
+        List<String> results = new ArrayList<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = start(virtual, poolSize, password)) {
+                List<Long> ids = seed(context.getBean(EmployeeRepository.class));
+                int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+                String token = LoadTestHarness.requestToken("http://localhost:" + port, "admin", password);
+                run(port, token, ids, clients, Math.max(1, seconds / 3));
+                results.add((virtual ? "virtual " : "platform") + " " + run(port, token, ids, clients, seconds));
+            }
+        }
+        System.out.printf("%n%d concurrent clients, %d s per mode, pool size %d%n", clients, seconds, poolSize);
+        System.out.println("threads   requests/s    errors    p50 ms    p99 ms  p99.9 ms    max ms");
+        results.forEach(System.out::println);
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual, int poolSize, String password) {
+        return new SpringApplication(EmployeeManagementApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--employee.cache.enabled=false",
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "--server.tomcat.max-connections=" + (Integer.getInteger("load.clients", 2000) + 100),
+                "--spring.security.user.name=admin",
+                "--spring.security.user.password={bcrypt}" + new BCryptPasswordEncoder().encode(password),
+                "--logging.level.root=WARN");
+    }
+
+    private static List<Long> seed(EmployeeRepository repository) {
+        repository.deleteAll();
+        List<Employee> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = new Employee();
+            employee.setFirstName("Load" + i);
+            employee.setLastName("Test");
+            employee.setEmail("load" + i + "@example.com");
+            employee.setDepartment("Department" + i % 10);
+            employee.setSalary(30000.0 + i);
+            employees.add(employee);
+        }
+        return repository.saveAll(employees).stream().map(Employee::getId).toList();
+    }
+
+    private static String run(int port, String token, List<Long> ids, int clients, int seconds) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        long[][] latencies = new long[clients][];
+        AtomicLong errors = new AtomicLong();
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int clientIndex = c;
+                executor.submit(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/employees/" + id))
+                                .header("Authorization", "Bearer " + token)
+                                .timeout(Duration.ofSeconds(60))
+                                .build();
+                        long begin = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception ex) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = System.nanoTime() - begin;
+                    }
+                    latencies[clientIndex] = Arrays.copyOf(samples, count);
+                });
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        return String.format("%12.0f %9d %9.1f %9.1f %9.1f %9.1f",
+                all.length / elapsedSeconds, errors.get(),
+                percentile(all, 50), percentile(all, 99), percentile(all, 99.9), all.length == 0 ? 0 : all[all.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+}
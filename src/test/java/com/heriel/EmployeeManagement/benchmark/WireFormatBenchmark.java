@@ -0,0 +1,142 @@
+package com.heriel.EmployeeManagement.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heriel.EmployeeManagement.dto.OffsetPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares the wire formats of the employee list page: JSON, Smile and CBOR, each uncompressed and gzipped.
+ * <p>
+ * The setup prints the size of the encoded page for every combination, and the benchmarks measure the CPU
+ * and allocation cost of encoding and decoding it. The mappers are built like the application's, so the
+ * page carries the same fields as a response of {@code GET /api/employees}. Run with the GC profiler with
+ * {@code mvn -Pbenchmark verify -Djmh.include=WireFormatBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+    private static final String[] DEPARTMENTS = {"Engineering", "Finance", "Marketing", "Sales", "Support"};
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    @Param({"50"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private OffsetPage<Map<String, Object>> page;
+    private byte[] encoded;
+
+    /**
+     * Builds a page of employees and encodes it once, printing its size.
+     *
+     * @throws IOException if encoding fails
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        objectMapper = switch (format) {
+            case "smile" -> builder.smile().build();
+            case "cbor" -> builder.cbor().build();
+            default -> builder.build();
+        };
+
+        Random random = new Random(42);
+        List<Map<String, Object>> rows = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", id);
+            row.put("firstName", "First" + random.nextInt(10000));
+            row.put("lastName", "Last" + random.nextInt(10000));
+            row.put("email", "employee" + id + "@example.com");
+            row.put("department", DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]);
+            row.put("salary", (double) Math.round(90000 + random.nextGaussian() * 15000));
+            row.put("version", 0L);
+            rows.add(row);
+        }
+        page = OffsetPage.of(new PageImpl<>(rows, PageRequest.of(0, pageSize), 1000));
+        encoded = encode();
+        System.out.printf("%n%s%s: %d bytes for %d employees%n", format, gzip ? "+gzip" : "", encoded.length, pageSize);
+    }
+
+    /**
+     * Encodes the page, as the server does when writing a response.
+     *
+     * @return the encoded page
+     * @throws IOException if encoding fails
+     */
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes, 8192) : bytes) {
+            objectMapper.writeValue(out, page);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes the page into a tree, as a generic client does when reading a response.
+     *
+     * @return the decoded page
+     * @throws IOException if decoding fails
+     */
+    @Benchmark
+    public JsonNode decode() throws IOException {
+        InputStream bytes = new ByteArrayInputStream(encoded);
+        try (InputStream in = gzip ? new GZIPInputStream(bytes, 8192) : bytes) {
+            return objectMapper.readTree(in);
+        }
+    }
+
+    /**
+     * Runs this benchmark with the GC profiler from the IDE or the command line.
+     *
+     * @param args ignored
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WireFormatBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,148 @@
+package com.heriel.EmployeeManagement.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heriel.EmployeeManagement.dto.EmployeeDTO;
+import com.heriel.EmployeeManagement.service.TokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the AuthController and the access token security of the API.
+ */
+@SpringBootTest(properties = {"spring.security.user.name=admin", "spring.security.user.password={noop}secret",
+        "employee.security.metrics-token=scrape-secret"})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@Transactional
+class AuthControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TokenService tokenService;
+
+    /**
+     * Tests that a token is issued for a valid user name and password and is accepted by the API.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testIssueAndUseToken() throws Exception {
+        // Act
+        String body = mockMvc.perform(post("/api/auth/token").with(httpBasic("admin", "secret")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andExpect(jsonPath("$.expiresIn").value(3600))
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(body).get("accessToken").asText();
+
+        // Assert
+        mockMvc.perform(get("/api/employees").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/employees")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employeeDTO())))
+                .andExpect(status().isCreated());
+    }
+
+    /**
+     * Tests that requests without valid credentials are rejected.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testRejectsInvalidCredentials() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/token").with(httpBasic("admin", "wrong")))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/employees"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string("WWW-Authenticate", "Bearer"));
+        mockMvc.perform(get("/api/employees").header("Authorization", "Bearer forged.token"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/employees").with(httpBasic("admin", "secret")))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Tests that the metrics endpoints accept the scrape token or an ADMIN access token, and that the scrape token
+     * is not accepted anywhere else.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testMetricsAcceptScrapeToken() throws Exception {
+        // Arrange
+        String adminToken = tokenService.issue(UsernamePasswordAuthenticationToken.authenticated(
+                "admin", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+        String userToken = tokenService.issue(UsernamePasswordAuthenticationToken.authenticated(
+                "reader", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer scrape-secret"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics/jvm.memory.used").header("Authorization", "Bearer scrape-secret"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer wrong-secret"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string("WWW-Authenticate", "Bearer"));
+        mockMvc.perform(get("/api/employees").header("Authorization", "Bearer scrape-secret"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    /**
+     * Tests that a user without the ADMIN role can read but not change employees.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testWritesRequireAdminRole() throws Exception {
+        // Arrange
+        String token = tokenService.issue(UsernamePasswordAuthenticationToken.authenticated(
+                "reader", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/employees")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employeeDTO())))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/employees/{id}", 1L).header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    private static EmployeeDTO employeeDTO() {
+        EmployeeDTO employeeDTO = new EmployeeDTO();
+        employeeDTO.setFirstName("John");
+        employeeDTO.setLastName("Doe");
+        employeeDTO.setEmail("johndoe@gmail.com");
+        employeeDTO.setDepartment("Marketing");
+        employeeDTO.setSalary(50000.0);
+        return employeeDTO;
+    }
+}
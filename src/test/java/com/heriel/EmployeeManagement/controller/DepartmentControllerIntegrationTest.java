@@ -0,0 +1,137 @@
+package com.heriel.EmployeeManagement.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heriel.EmployeeManagement.dto.EmployeeDTO;
+import com.heriel.EmployeeManagement.repository.EmployeeRepository;
+import com.heriel.EmployeeManagement.service.DepartmentStatsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the DepartmentController.
+ * Not transactional, because the cache and the department statistics only change once a write commits.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class DepartmentControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentStatsService departmentStatsService;
+
+    /**
+     * Sets up the test environment by clearing the database before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        departmentStatsService.reconcile();
+    }
+
+    /**
+     * Cleans up the employees written by the test.
+     */
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+        departmentStatsService.reconcile();
+    }
+
+    /**
+     * Tests a raise, a transfer and a delete of a whole department, and that cached employees
+     * and department statistics follow each of them.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testBulkDepartmentOperations() throws Exception {
+        // Arrange
+        addEmployee("Marketing", 50000.0);
+        addEmployee("Marketing", 70000.0);
+        addEmployee("Sales", 40000.0);
+        Long id = employeeRepository.findAll().stream()
+                .filter(employee -> employee.getSalary() == 50000.0)
+                .findFirst().orElseThrow().getId();
+        mockMvc.perform(get("/api/employees/{id}", id))
+                .andExpect(jsonPath("$.salary").value(50000.0));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/employees/departments/{department}/salary-adjustment", "Marketing")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"percent\": 3.5}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.department").value("Marketing"))
+                .andExpect(jsonPath("$.affected").value(2));
+        mockMvc.perform(get("/api/employees/{id}", id))
+                .andExpect(jsonPath("$.salary").value(51750.0))
+                .andExpect(jsonPath("$.version").value(1));
+
+        mockMvc.perform(post("/api/employees/departments/{department}/salary-adjustment", "Marketing")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": -250.25}"))
+                .andExpect(jsonPath("$.affected").value(2));
+        mockMvc.perform(post("/api/employees/departments/{department}/salary-adjustment", "Marketing")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": -100000}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/employees/departments/{department}/salary-adjustment", "Marketing")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"percent\": 1, \"amount\": 1}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/employees/stats/departments"))
+                .andExpect(jsonPath("$[?(@.department == 'Marketing')].totalSalary").value(51499.75 + 72199.75))
+                .andExpect(jsonPath("$[?(@.department == 'Marketing')].minSalary").value(51499.75));
+
+        mockMvc.perform(post("/api/employees/departments/{department}/transfer", "Marketing")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"targetDepartment\": \"Sales\"}"))
+                .andExpect(jsonPath("$.affected").value(2));
+        mockMvc.perform(get("/api/employees/{id}", id))
+                .andExpect(jsonPath("$.department").value("Sales"));
+        mockMvc.perform(get("/api/employees/stats/departments"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].department").value("Sales"))
+                .andExpect(jsonPath("$[0].headcount").value(3));
+
+        mockMvc.perform(delete("/api/employees/departments/{department}", "Sales"))
+                .andExpect(jsonPath("$.affected").value(3));
+        mockMvc.perform(get("/api/employees/{id}", id))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/employees/departments/{department}", "Sales"))
+                .andExpect(jsonPath("$.affected").value(0));
+        assertEquals(0, departmentStatsService.reconcile());
+    }
+
+    private void addEmployee(String department, double salary) throws Exception {
+        EmployeeDTO employeeDTO = new EmployeeDTO();
+        employeeDTO.setFirstName("John");
+        employeeDTO.setLastName("Doe");
+        employeeDTO.setEmail("johndoe" + (long) salary + "@gmail.com");
+        employeeDTO.setDepartment(department);
+        employeeDTO.setSalary(salary);
+        mockMvc.perform(post("/api/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employeeDTO)))
+                .andExpect(status().isCreated());
+    }
+}
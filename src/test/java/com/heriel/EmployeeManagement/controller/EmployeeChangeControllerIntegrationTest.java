@@ -0,0 +1,188 @@
+package com.heriel.EmployeeManagement.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heriel.EmployeeManagement.dto.EmployeeDTO;
+import com.heriel.EmployeeManagement.model.Employee;
+import com.heriel.EmployeeManagement.repository.EmployeeRepository;
+import com.heriel.EmployeeManagement.service.EmployeeChangeFeed;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the EmployeeChangeController, on an in-memory H2 database.
+ * Not transactional, because the feed only relays committed changes. The poller is run by the tests, and the ring
+ * holds only two events, so that reads from both the ring and the database are exercised.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:changes;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "employee.changes.poll-interval=PT1H",
+        "employee.changes.ring-capacity=2"
+})
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class EmployeeChangeControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeChangeFeed employeeChangeFeed;
+
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * Cleans up the employees written by the test; the outbox is kept, as positions must stay consecutive.
+     */
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+    }
+
+    private String currentPosition() throws Exception {
+        employeeChangeFeed.poll();
+        return readChanges("/api/employees/changes?limit=1000").get("next").asText();
+    }
+
+    private JsonNode readChanges(String url) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get(url).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private long addEmployee(String firstName) throws Exception {
+        EmployeeDTO employeeDTO = new EmployeeDTO();
+        employeeDTO.setFirstName(firstName);
+        employeeDTO.setLastName("Doe");
+        employeeDTO.setEmail(firstName.toLowerCase() + "@gmail.com");
+        employeeDTO.setDepartment("Marketing");
+        employeeDTO.setSalary(50000.0);
+        mockMvc.perform(post("/api/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employeeDTO)))
+                .andExpect(status().isCreated());
+        return employeeRepository.findAll().stream()
+                .filter(employee -> employee.getFirstName().equals(firstName))
+                .mapToLong(Employee::getId).findFirst().orElseThrow();
+    }
+
+    /**
+     * Tests that adds, updates and deletes appear in the feed once relayed, in order, readable after any position
+     * from the database or the ring, and that a position whose following changes were removed is rejected.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testChangesAreReadableAfterPosition() throws Exception {
+        // Arrange
+        String start = currentPosition();
+        long id = addEmployee("John");
+        EmployeeDTO update = new EmployeeDTO();
+        update.setFirstName("Johnny");
+        update.setLastName("Doe");
+        update.setEmail("johnny@gmail.com");
+        update.setDepartment("Sales");
+        update.setSalary(60000.0);
+        mockMvc.perform(put("/api/employees/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/employees/{id}", id))
+                .andExpect(status().isOk());
+        assertEquals(0, readChanges("/api/employees/changes?since=" + start).get("events").size());
+
+        // Act
+        employeeChangeFeed.poll();
+        JsonNode fromDatabase = readChanges("/api/employees/changes?since=" + start);
+        String afterFirst = fromDatabase.get("events").get(0).get("sequence").asText();
+        JsonNode fromRing = readChanges("/api/employees/changes?since=" + afterFirst);
+
+        // Assert
+        List<String> types = new ArrayList<>();
+        fromDatabase.get("events").forEach(event -> {
+            types.add(event.get("type").asText());
+            assertEquals(id, event.get("employeeId").asLong());
+        });
+        assertEquals(List.of("ADDED", "UPDATED", "DELETED"), types);
+        assertEquals(2, fromRing.get("events").size());
+        assertEquals(fromDatabase.get("next"), fromRing.get("next"));
+        assertEquals(0, readChanges("/api/employees/changes?since=" + fromRing.get("next").asText()).get("events").size());
+
+        mockMvc.perform(get("/api/employees/changes").param("since", "x").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/employees/changes").param("limit", "0").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        new JdbcTemplate(dataSource).update("DELETE FROM employee_outbox WHERE position = ?", Long.parseLong(start) + 1);
+        mockMvc.perform(get("/api/employees/changes").param("since", start).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isGone());
+    }
+
+    /**
+     * Tests that a subscriber resuming from a position the ring no longer covers first catches up from the
+     * database and then receives new changes from the ring, each with its position as event ID.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testStreamCatchesUpAndFollows() throws Exception {
+        // Arrange
+        String start = currentPosition();
+        addEmployee("Anna");
+        addEmployee("Bert");
+        addEmployee("Carl");
+        employeeChangeFeed.poll();
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/employees/changes")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Last-Event-ID", start))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitEvents(result, 3);
+        addEmployee("Dora");
+        employeeChangeFeed.poll();
+        awaitEvents(result, 4);
+
+        // Assert
+        String stream = result.getResponse().getContentAsString();
+        assertTrue(result.getResponse().getContentType().startsWith(MediaType.TEXT_EVENT_STREAM_VALUE));
+        for (int i = 1; i <= 4; i++) {
+            assertTrue(stream.contains("id:" + (Long.parseLong(start) + i) + "\n"), stream);
+        }
+        assertTrue(stream.contains("\"type\":\"ADDED\""), stream);
+    }
+
+    private static void awaitEvents(MvcResult result, int count) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (result.getResponse().getContentAsString().split("\nid:|^id:", -1).length - 1 < count
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+}
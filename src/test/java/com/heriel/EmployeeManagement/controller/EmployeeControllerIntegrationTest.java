@@ -1,18 +1,37 @@
 package com.heriel.EmployeeManagement.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.heriel.EmployeeManagement.config.ConcurrencyLimitInterceptor;
+import com.heriel.EmployeeManagement.config.SqlStatementCounter;
 import com.heriel.EmployeeManagement.dto.EmployeeDTO;
 import com.heriel.EmployeeManagement.model.Employee;
 import com.heriel.EmployeeManagement.repository.EmployeeRepository;
+import com.heriel.EmployeeManagement.service.AdaptiveConcurrencyLimiter;
+import com.heriel.EmployeeManagement.service.DepartmentStatsService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -21,6 +40,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  */
 @SpringBootTest
 @AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
 @Transactional
 class EmployeeControllerIntegrationTest {
 
@@ -33,6 +53,21 @@ class EmployeeControllerIntegrationTest {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private DepartmentStatsService departmentStatsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private EntityManager entityManager;
+
     /**
      * Sets up the test environment by clearing the database before each test.
      */
@@ -91,6 +126,518 @@ class EmployeeControllerIntegrationTest {
                 .andExpect(jsonPath("$.content[0].salary").value(50000.0));
     }
 
+    /**
+     * Tests the retrieval of several employees by ID, in the requested order and without unknown or repeated IDs.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testGetEmployeesByIds() throws Exception {
+        // Arrange
+        long[] ids = new long[3];
+        String[] firstNames = {"John", "Jane", "Jack"};
+        for (int i = 0; i < ids.length; i++) {
+            Employee employee = new Employee();
+            employee.setFirstName(firstNames[i]);
+            employee.setLastName("Doe");
+            employee.setEmail(firstNames[i].toLowerCase() + "@gmail.com");
+            employee.setDepartment("Marketing");
+            employee.setSalary(50000.0);
+            ids[i] = employeeRepository.save(employee).getId();
+        }
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees").param("ids", ids[2] + "," + ids[0] + ",999999999, " + ids[2]))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].firstName").value("Jack"))
+                .andExpect(jsonPath("$[1].firstName").value("John"));
+        mockMvc.perform(get("/api/employees").param("ids", "1,x"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/employees").param("ids", ""))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests that employees are accepted as Smile and returned as CBOR when the client asks for it.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testBinaryRepresentations() throws Exception {
+        // Arrange
+        EmployeeDTO employeeDTO = new EmployeeDTO();
+        employeeDTO.setFirstName("John");
+        employeeDTO.setLastName("Doe");
+        employeeDTO.setEmail("johndoe@gmail.com");
+        employeeDTO.setDepartment("Marketing");
+        employeeDTO.setSalary(50000.0);
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+
+        // Act
+        mockMvc.perform(post("/api/employees")
+                        .contentType(smile)
+                        .content(new SmileMapper().writeValueAsBytes(employeeDTO)))
+                .andExpect(status().isCreated());
+        byte[] body = mockMvc.perform(get("/api/employees")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        JsonNode page = new CBORMapper().readTree(body);
+        assertEquals(1, page.get("totalElements").asInt());
+        assertEquals("John", page.get("content").get(0).get("firstName").asText());
+        assertEquals(50000.0, page.get("content").get(0).get("salary").asDouble());
+    }
+
+    /**
+     * Tests that only the requested fields are returned in the compact page envelope.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testGetEmployeesWithFields() throws Exception {
+        // Arrange
+        Employee employee = new Employee();
+        employee.setFirstName("John");
+        employee.setLastName("Doe");
+        employee.setEmail("johndoe@gmail.com");
+        employee.setDepartment("Marketing");
+        employee.setSalary(50000.0);
+        Employee savedEmployee = employeeRepository.save(employee);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees")
+                        .param("fields", "id,firstName,department"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(savedEmployee.getId()))
+                .andExpect(jsonPath("$.content[0].firstName").value("John"))
+                .andExpect(jsonPath("$.content[0].department").value("Marketing"))
+                .andExpect(jsonPath("$.content[0].lastName").doesNotExist())
+                .andExpect(jsonPath("$.content[0].salary").doesNotExist())
+                .andExpect(jsonPath("$.page").value(0))
+                .andExpect(jsonPath("$.size").value(10))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.totalPages").value(1))
+                .andExpect(jsonPath("$.pageable").doesNotExist());
+
+        mockMvc.perform(get("/api/employees")
+                        .param("fields", "id,password"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/employees")
+                        .param("sort", "password,asc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests walking through employees with keyset (cursor) pagination.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testGetEmployeesWithCursor() throws Exception {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            Employee employee = new Employee();
+            employee.setFirstName("John" + i);
+            employee.setLastName("Doe");
+            employee.setEmail("johndoe" + i + "@gmail.com");
+            employee.setDepartment("Marketing");
+            employee.setSalary(50000.0 - i);
+            employeeRepository.save(employee);
+        }
+
+        // Act & Assert
+        String response = mockMvc.perform(get("/api/employees")
+                        .param("after", "")
+                        .param("size", "2")
+                        .param("sort", "salary,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].firstName").value("John2"))
+                .andExpect(jsonPath("$.content[1].firstName").value("John1"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString();
+
+        String nextCursor = objectMapper.readTree(response).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/employees")
+                        .param("after", nextCursor)
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].firstName").value("John0"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    /**
+     * Tests that keyset pagination pages through employees without a value for the sort field, returning every
+     * employee exactly once with those employees last in either direction.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testGetEmployeesWithCursorPagesThroughNullSortValues() throws Exception {
+        // Arrange
+        Double[] salaries = {null, 50000.0, null, 60000.0, 50000.0};
+        for (int i = 0; i < salaries.length; i++) {
+            Employee employee = new Employee();
+            employee.setFirstName("John" + i);
+            employee.setLastName("Doe");
+            employee.setEmail("johndoe" + i + "@gmail.com");
+            employee.setDepartment(i % 2 == 0 ? null : "Marketing");
+            employee.setSalary(salaries[i]);
+            employeeRepository.save(employee);
+        }
+
+        // Act & Assert - ties are broken by ID in the sort direction
+        assertEquals(List.of("John1", "John4", "John3", "John0", "John2"), pageThrough("salary,asc"));
+        assertEquals(List.of("John3", "John4", "John1", "John2", "John0"), pageThrough("salary,desc"));
+        assertEquals(List.of("John1", "John3", "John0", "John2", "John4"), pageThrough("department,asc"));
+        assertEquals(List.of("John3", "John1", "John4", "John2", "John0"), pageThrough("department,desc"));
+    }
+
+    /**
+     * Pages through all employees one at a time with keyset pagination.
+     *
+     * @param sort the sorting criteria for the first page
+     * @return the first names of the employees in the order they were returned
+     * @throws Exception if an error occurs during the request
+     */
+    private List<String> pageThrough(String sort) throws Exception {
+        List<String> names = new ArrayList<>();
+        String cursor = "";
+        boolean hasNext = true;
+        while (hasNext) {
+            String response = mockMvc.perform(get("/api/employees")
+                            .param("after", cursor)
+                            .param("size", "1")
+                            .param("sort", sort))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode window = objectMapper.readTree(response);
+            window.get("content").forEach(employee -> names.add(employee.get("firstName").asText()));
+            hasNext = window.get("hasNext").asBoolean();
+            if (hasNext) {
+                cursor = window.get("nextCursor").asText();
+            }
+            assertTrue(names.size() <= 5, "Paging does not terminate for " + sort);
+        }
+        return names;
+    }
+
+    /**
+     * Tests that keyset pagination rejects fields that are not whitelisted for sorting.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testGetEmployeesWithCursorRejectsUnknownSortField() throws Exception {
+        mockMvc.perform(get("/api/employees")
+                        .param("after", "")
+                        .param("sort", "password,asc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests searching employees by department, name prefix and salary range.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testSearchEmployees() throws Exception {
+        // Arrange
+        String[][] rows = {
+                {"John", "Doe", "Marketing", "50000"},
+                {"Johanna", "Smith", "Marketing", "70000"},
+                {"Jane", "Johnson", "Marketing", "60000"},
+                {"John", "Miller", "Sales", "55000"},
+                {"J_hn", "Wild", "Marketing", "65000"}
+        };
+        for (String[] row : rows) {
+            Employee employee = new Employee();
+            employee.setFirstName(row[0]);
+            employee.setLastName(row[1]);
+            employee.setEmail(row[0].toLowerCase() + row[1].toLowerCase() + "@gmail.com");
+            employee.setDepartment(row[2]);
+            employee.setSalary(Double.valueOf(row[3]));
+            employeeRepository.save(employee);
+        }
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees/search")
+                        .param("department", "Marketing")
+                        .param("name", "Joh")
+                        .param("minSalary", "55000")
+                        .param("sort", "salary,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].firstName").value("Johanna"))
+                .andExpect(jsonPath("$.content[1].lastName").value("Johnson"));
+
+        // Wildcards in the name are matched literally
+        mockMvc.perform(get("/api/employees/search")
+                        .param("name", "J_"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].firstName").value("J_hn"));
+    }
+
+    /**
+     * Tests that the search rejects an empty salary range and unknown sort fields.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testSearchEmployeesRejectsInvalidParameters() throws Exception {
+        mockMvc.perform(get("/api/employees/search")
+                        .param("minSalary", "60000")
+                        .param("maxSalary", "50000"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/employees/search")
+                        .param("sort", "password,asc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests that the department statistics follow adds, updates and deletes.
+     * Runs outside the test transaction, because the statistics only change once a write commits.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testGetDepartmentStats() throws Exception {
+        try {
+            // Arrange
+            departmentStatsService.reconcile();
+            for (double salary : new double[]{50000.0, 70000.0}) {
+                EmployeeDTO employeeDTO = new EmployeeDTO();
+                employeeDTO.setFirstName("John");
+                employeeDTO.setLastName("Doe");
+                employeeDTO.setEmail("johndoe" + (long) salary + "@gmail.com");
+                employeeDTO.setDepartment("Marketing");
+                employeeDTO.setSalary(salary);
+                mockMvc.perform(post("/api/employees")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(employeeDTO)))
+                        .andExpect(status().isCreated());
+            }
+            Long highestPaidId = employeeRepository.findAll().stream()
+                    .filter(employee -> employee.getSalary() == 70000.0)
+                    .findFirst().orElseThrow().getId();
+
+            // Act & Assert
+            mockMvc.perform(get("/api/employees/stats/departments"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].department").value("Marketing"))
+                    .andExpect(jsonPath("$[0].headcount").value(2))
+                    .andExpect(jsonPath("$[0].totalSalary").value(120000.0))
+                    .andExpect(jsonPath("$[0].averageSalary").value(60000.0))
+                    .andExpect(jsonPath("$[0].maxSalary").value(70000.0));
+
+            mockMvc.perform(delete("/api/employees/{id}", highestPaidId))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/api/employees/stats/departments"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].headcount").value(1))
+                    .andExpect(jsonPath("$[0].maxSalary").value(50000.0));
+            assertEquals(0, departmentStatsService.reconcile());
+        } finally {
+            employeeRepository.deleteAll();
+            departmentStatsService.reconcile();
+        }
+    }
+
+    /**
+     * Tests the bulk import of employees from a CSV upload with an invalid row.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testImportEmployeesCsv() throws Exception {
+        // Arrange
+        String csv = "firstName,lastName,email,department,salary\n"
+                + "John,Doe,johndoe@gmail.com,Marketing,50000\n"
+                + "Jane,\"Smith, Jr.\",janesmith@gmail.com,Sales,55000.50\n"
+                + "X,Doe,not-an-email,Sales,abc\n";
+
+        // Act & Assert
+        mockMvc.perform(post("/api/employees/import")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsRead").value(3))
+                .andExpect(jsonPath("$.rowsImported").value(2))
+                .andExpect(jsonPath("$.rowsRejected").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(4))
+                .andExpect(jsonPath("$.errors[0].errors.salary").value("Salary must be a number"));
+
+        mockMvc.perform(get("/api/employees")
+                        .param("sort", "salary,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].lastName").value("Smith, Jr."));
+    }
+
+    /**
+     * Tests that a CSV upload with emails already taken, by a stored employee or an earlier row of the upload,
+     * rejects only those rows and imports the others.
+     * Runs outside the test transaction, because the rows of a conflicting chunk are retried in transactions
+     * of their own.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testImportEmployeesCsvWithDuplicateEmails() throws Exception {
+        try {
+            // Arrange
+            Employee employee = new Employee();
+            employee.setFirstName("John");
+            employee.setLastName("Doe");
+            employee.setEmail("johndoe@gmail.com");
+            employee.setDepartment("Marketing");
+            employee.setSalary(50000.0);
+            employeeRepository.save(employee);
+            String csv = "firstName,lastName,email,department,salary\n"
+                    + "Jane,Smith,janesmith@gmail.com,Sales,55000\n"
+                    + "Johnny,Doe,johndoe@gmail.com,Marketing,51000\n"
+                    + "Janet,Smith,janesmith@gmail.com,Sales,56000\n"
+                    + "Jim,Beam,jimbeam@gmail.com,Sales,57000\n";
+
+            // Act & Assert
+            mockMvc.perform(post("/api/employees/import")
+                            .contentType("text/csv")
+                            .content(csv))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.rowsRead").value(4))
+                    .andExpect(jsonPath("$.rowsImported").value(2))
+                    .andExpect(jsonPath("$.rowsRejected").value(2))
+                    .andExpect(jsonPath("$.errors[0].line").value(3))
+                    .andExpect(jsonPath("$.errors[0].errors.email").value("Email is already taken"))
+                    .andExpect(jsonPath("$.errors[1].line").value(4))
+                    .andExpect(jsonPath("$.errors[1].errors.email").value("Email is already taken"));
+
+            mockMvc.perform(get("/api/employees")
+                            .param("sort", "salary,desc"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(3))
+                    .andExpect(jsonPath("$.content[0].firstName").value("Jim"))
+                    .andExpect(jsonPath("$.content[1].firstName").value("Jane"))
+                    .andExpect(jsonPath("$.content[2].firstName").value("John"));
+        } finally {
+            employeeRepository.deleteAll();
+        }
+    }
+
+    /**
+     * Tests that the conflicting rows of a larger chunk are found by splitting it, importing all the other rows
+     * and rejecting only the duplicates, wherever they are in the chunk.
+     * Runs outside the test transaction, because the halves of a conflicting chunk are written in transactions
+     * of their own.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testImportEmployeesCsvSplitsConflictingChunk() throws Exception {
+        try {
+            // Arrange
+            StringBuilder csv = new StringBuilder("firstName,lastName,email,department,salary\n");
+            for (int i = 0; i < 100; i++) {
+                // Rows 37 and 90 repeat the email of row 5
+                int email = i == 37 || i == 90 ? 5 : i;
+                csv.append("John").append(i).append(",Doe,johndoe").append(email).append("@gmail.com,Sales,50000\n");
+            }
+
+            // Act & Assert
+            mockMvc.perform(post("/api/employees/import")
+                            .contentType("text/csv")
+                            .content(csv.toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.rowsRead").value(100))
+                    .andExpect(jsonPath("$.rowsImported").value(98))
+                    .andExpect(jsonPath("$.rowsRejected").value(2))
+                    .andExpect(jsonPath("$.errors[0].line").value(39))
+                    .andExpect(jsonPath("$.errors[1].line").value(92));
+            assertEquals(98, employeeRepository.count());
+        } finally {
+            employeeRepository.deleteAll();
+        }
+    }
+
+    /**
+     * Tests the bulk import of employees from an NDJSON upload with an invalid row.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testImportEmployeesNdjson() throws Exception {
+        // Arrange
+        EmployeeDTO employeeDTO = new EmployeeDTO();
+        employeeDTO.setFirstName("John");
+        employeeDTO.setLastName("Doe");
+        employeeDTO.setEmail("johndoe@gmail.com");
+        employeeDTO.setDepartment("Marketing");
+        employeeDTO.setSalary(50000.0);
+        String ndjson = objectMapper.writeValueAsString(employeeDTO) + "\n"
+                + "{\"firstName\":\"J\"}\n";
+
+        // Act & Assert
+        mockMvc.perform(post("/api/employees/import")
+                        .contentType("application/x-ndjson")
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsImported").value(1))
+                .andExpect(jsonPath("$.rowsRejected").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].errors.email").value("Email is mandatory"));
+    }
+
+    /**
+     * Tests applying a batch of mixed operations in one request.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testApplyBatch() throws Exception {
+        // Arrange
+        Employee employee = new Employee();
+        employee.setFirstName("John");
+        employee.setLastName("Doe");
+        employee.setEmail("johndoe@gmail.com");
+        employee.setDepartment("Marketing");
+        employee.setSalary(50000.0);
+        Employee savedEmployee = employeeRepository.save(employee);
+
+        String batch = "{\"operations\":["
+                + "{\"op\":\"CREATE\",\"employee\":{\"firstName\":\"Jane\",\"lastName\":\"Smith\","
+                + "\"email\":\"janesmith@gmail.com\",\"department\":\"Sales\",\"salary\":60000.0}},"
+                + "{\"op\":\"DELETE\",\"id\":" + savedEmployee.getId() + "}]}";
+
+        // Act & Assert
+        mockMvc.perform(post("/api/employees/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(true))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[1].status").value("DELETED"));
+
+        mockMvc.perform(get("/api/employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].firstName").value("Jane"));
+    }
+
     /**
      * Tests the update of an existing employee.
      *
@@ -120,6 +667,34 @@ class EmployeeControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(updatedEmployeeDTO)))
                 .andExpect(status().isOk())
                 .andExpect(content().string("Employee updated successfully"));
+
+        mockMvc.perform(get("/api/employees/{id}", savedEmployee.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Jane"))
+                .andExpect(jsonPath("$.department").value("Sales"));
+    }
+
+    /**
+     * Tests that updating a non-existing employee returns NOT_FOUND.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testUpdateEmployeeNotFound() throws Exception {
+        // Arrange
+        EmployeeDTO employeeDTO = new EmployeeDTO();
+        employeeDTO.setFirstName("Jane");
+        employeeDTO.setLastName("Smith");
+        employeeDTO.setEmail("janesmith@gmail.com");
+        employeeDTO.setDepartment("Sales");
+        employeeDTO.setSalary(60000.0);
+
+        // Act & Assert
+        mockMvc.perform(put("/api/employees/{id}", Long.MAX_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employeeDTO)))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Failed to update employee"));
     }
 
     /**
@@ -143,5 +718,189 @@ class EmployeeControllerIntegrationTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().string("Employee deleted successfully"));
+
+        mockMvc.perform(delete("/api/employees/{id}", savedEmployee.getId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Failed to delete employee"));
+    }
+
+    /**
+     * Tests conditional GET, PUT and DELETE requests with the ETag of an employee's version.
+     * Runs outside the test transaction, so that the cached employee is evicted when an update commits.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testConditionalRequests() throws Exception {
+        try {
+            // Arrange
+            Employee employee = new Employee();
+            employee.setFirstName("John");
+            employee.setLastName("Doe");
+            employee.setEmail("johndoe@gmail.com");
+            employee.setDepartment("Marketing");
+            employee.setSalary(50000.0);
+            Long id = employeeRepository.save(employee).getId();
+
+            EmployeeDTO updatedEmployeeDTO = new EmployeeDTO();
+            updatedEmployeeDTO.setFirstName("Jane");
+            updatedEmployeeDTO.setLastName("Smith");
+            updatedEmployeeDTO.setEmail("janesmith@gmail.com");
+            updatedEmployeeDTO.setDepartment("Sales");
+            updatedEmployeeDTO.setSalary(60000.0);
+            String content = objectMapper.writeValueAsString(updatedEmployeeDTO);
+
+            // Act & Assert
+            mockMvc.perform(get("/api/employees/{id}", id))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"0\""))
+                    .andExpect(jsonPath("$.version").value(0));
+            mockMvc.perform(get("/api/employees/{id}", id).header("If-None-Match", "\"0\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", "\"0\""))
+                    .andExpect(content().string(""));
+
+            mockMvc.perform(put("/api/employees/{id}", id)
+                            .header("If-Match", "\"1\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(content))
+                    .andExpect(status().isPreconditionFailed());
+            mockMvc.perform(put("/api/employees/{id}", id)
+                            .header("If-Match", "\"0\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(content))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"1\""));
+
+            mockMvc.perform(get("/api/employees/{id}", id).header("If-None-Match", "\"0\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"1\""))
+                    .andExpect(jsonPath("$.firstName").value("Jane"));
+
+            String listETag = mockMvc.perform(get("/api/employees"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader("ETag");
+            assertNotNull(listETag);
+            mockMvc.perform(get("/api/employees").header("If-None-Match", listETag))
+                    .andExpect(status().isNotModified());
+
+            mockMvc.perform(delete("/api/employees/{id}", id).header("If-Match", "\"0\""))
+                    .andExpect(status().isPreconditionFailed());
+            mockMvc.perform(delete("/api/employees/{id}", id).header("If-Match", "\"1\""))
+                    .andExpect(status().isOk());
+            mockMvc.perform(get("/api/employees").header("If-None-Match", listETag))
+                    .andExpect(status().isOk());
+        } finally {
+            employeeRepository.deleteAll();
+        }
+    }
+
+    /**
+     * Tests that the SQL statements of each request are counted and published with the other metrics.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testSqlStatementMetrics() throws Exception {
+        // Arrange
+        Employee employee = new Employee();
+        employee.setFirstName("John");
+        employee.setLastName("Doe");
+        employee.setEmail("johndoe@gmail.com");
+        employee.setDepartment("Marketing");
+        employee.setSalary(50000.0);
+        employeeRepository.saveAndFlush(employee);
+
+        // Act
+        mockMvc.perform(get("/api/employees").param("size", "5"))
+                .andExpect(status().isOk());
+
+        // Assert
+        DistributionSummary statements = meterRegistry.find("http.server.requests.sql.statements")
+                .tags("method", "GET", "uri", "/api/employees")
+                .summary();
+        assertNotNull(statements);
+        assertTrue(statements.count() >= 1);
+        assertTrue(statements.totalAmount() >= 1);
+        assertNotNull(meterRegistry.find("employee.service").tag("method", "getEmployeeFields").timer());
+        assertNotNull(meterRegistry.find("hikaricp.connections").gauge());
+        assertNotNull(meterRegistry.find("hibernate.statements").functionCounter());
+    }
+
+    /**
+     * Tests that an update and a delete returning the previous values are each a single statement seen by the
+     * statement inspector, and that they detach only the employee they wrote from the persistence context.
+     */
+    @Test
+    void testWritesReturningPreviousValuesAreCountedAndDetachOnlyTheirEmployee() {
+        // Arrange
+        List<Employee> employees = new ArrayList<>();
+        for (String name : List.of("john", "jane", "jack")) {
+            Employee employee = new Employee();
+            employee.setFirstName(name);
+            employee.setLastName("Doe");
+            employee.setEmail(name + "doe@gmail.com");
+            employee.setDepartment("Marketing");
+            employee.setSalary(50000.0);
+            employees.add(employeeRepository.saveAndFlush(employee));
+        }
+        Employee updated = new Employee();
+        updated.setId(employees.get(0).getId());
+        updated.setFirstName("John");
+        updated.setLastName("Doe");
+        updated.setEmail("johndoe@gmail.com");
+        updated.setDepartment("Sales");
+        updated.setSalary(60000.0);
+
+        // Act
+        sqlStatementCounter.start();
+        employeeRepository.updateEmployeeReturningPrevious(updated, 0L);
+        employeeRepository.deleteEmployeeReturningPrevious(employees.get(1).getId(), null);
+        int statements = sqlStatementCounter.stop();
+
+        // Assert
+        assertEquals(2, statements);
+        assertFalse(entityManager.contains(employees.get(0)));
+        assertFalse(entityManager.contains(employees.get(1)));
+        assertTrue(entityManager.contains(employees.get(2)));
+        assertEquals("Sales", employeeRepository.findById(employees.get(0).getId()).orElseThrow().getDepartment());
+    }
+
+    /**
+     * Tests that requests over the concurrency limit are shed with 503 and Retry-After,
+     * and that reads and writes are limited separately.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testConcurrencyLimitShedsLoad() throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimiter readLimiter = concurrencyLimitInterceptor.getReadLimiter();
+        int held = 0;
+        while (readLimiter.tryAcquire()) {
+            held++;
+        }
+
+        try {
+            // Act & Assert
+            mockMvc.perform(get("/api/employees"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"));
+            mockMvc.perform(delete("/api/employees/{id}", 1L))
+                    .andExpect(status().isNotFound());
+            mockMvc.perform(get("/api/employees/stats/departments"))
+                    .andExpect(status().isOk());
+            assertTrue(meterRegistry.get("employee.concurrency.requests")
+                    .tags("traffic", "read", "outcome", "rejected").counter().count() >= 1);
+            assertEquals(held, meterRegistry.get("employee.concurrency.in_flight").tag("traffic", "read").gauge().value());
+        } finally {
+            for (int i = 0; i < held; i++) {
+                readLimiter.release(0, false);
+            }
+        }
+        mockMvc.perform(get("/api/employees"))
+                .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+}
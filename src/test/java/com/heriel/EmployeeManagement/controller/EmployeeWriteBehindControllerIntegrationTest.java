@@ -0,0 +1,122 @@
+package com.heriel.EmployeeManagement.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heriel.EmployeeManagement.dto.EmployeeDTO;
+import com.heriel.EmployeeManagement.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the EmployeeWriteBehindController.
+ * Not transactional, because queued writes are committed by the background flusher.
+ */
+@SpringBootTest(properties = {"employee.write-behind.enabled=true", "employee.write-behind.max-delay=10ms"})
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class EmployeeWriteBehindControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    /**
+     * Sets up the test environment by clearing the database before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+    }
+
+    /**
+     * Cleans up the employees written by the test.
+     */
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+    }
+
+    /**
+     * Tests that adds and updates preferring "respond-async", alone or among other preferences, are accepted and
+     * written in the background, while other preferences are written synchronously.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testAsyncAddAndUpdate() throws Exception {
+        // Arrange
+        EmployeeDTO employeeDTO = new EmployeeDTO();
+        employeeDTO.setFirstName("John");
+        employeeDTO.setLastName("Doe");
+        employeeDTO.setEmail("johndoe@gmail.com");
+        employeeDTO.setDepartment("Marketing");
+        employeeDTO.setSalary(50000.0);
+
+        // Act
+        String created = mockMvc.perform(post("/api/employees")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employeeDTO)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.state").value("PENDING"))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode createStatus = awaitWritten(objectMapper.readTree(created).get("trackingId").asText());
+        long id = createStatus.get("employeeId").asLong();
+
+        employeeDTO.setDepartment("Sales");
+        String updated = mockMvc.perform(put("/api/employees/{id}", id)
+                        .header("Prefer", "return=minimal, Respond-Async; wait=5")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employeeDTO)))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        awaitWritten(objectMapper.readTree(updated).get("trackingId").asText());
+
+        // Assert
+        mockMvc.perform(get("/api/employees/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.department").value("Sales"))
+                .andExpect(jsonPath("$.version").value(1));
+        employeeDTO.setEmail("janedoe@gmail.com");
+        mockMvc.perform(post("/api/employees")
+                        .header("Prefer", "return=minimal, respond-asynchronously")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employeeDTO)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/employees/writes/{trackingId}", "unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    private JsonNode awaitWritten(String trackingId) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (true) {
+            JsonNode status = objectMapper.readTree(mockMvc.perform(get("/api/employees/writes/{trackingId}", trackingId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            if (!"PENDING".equals(status.get("state").asText()) || System.nanoTime() > deadline) {
+                assertEquals("WRITTEN", status.get("state").asText());
+                return status;
+            }
+            Thread.sleep(10);
+        }
+    }
+}
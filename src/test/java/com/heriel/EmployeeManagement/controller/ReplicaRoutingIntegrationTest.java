@@ -0,0 +1,192 @@
+package com.heriel.EmployeeManagement.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heriel.EmployeeManagement.config.ReplicaRoutingDataSource;
+import com.heriel.EmployeeManagement.dto.EmployeeDTO;
+import com.heriel.EmployeeManagement.model.Employee;
+import com.heriel.EmployeeManagement.repository.EmployeeRepository;
+import com.heriel.EmployeeManagement.service.TokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for read/write splitting, with two in-memory H2 databases as primary and replica.
+ * Nothing is replicated between them, so whether a read sees a written employee shows which database served it.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "employee.datasource.replica-urls=jdbc:h2:mem:routing-replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "employee.datasource.replica-lag-query=SELECT seconds FROM replica_lag",
+        "employee.datasource.read-your-writes-window=1m"
+})
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class ReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TokenService tokenService;
+
+    private JdbcTemplate replica;
+
+    /**
+     * Sets up the replica with the schema of the primary, no employees and no lag.
+     */
+    @BeforeEach
+    void setUp() {
+        replica = new JdbcTemplate((DataSource) replicaRoutingDataSource.getResolvedDataSources().get("replica-1"));
+        List<String> schema = new JdbcTemplate(dataSource).queryForList("SCRIPT NODATA", String.class);
+        replica.execute("DROP ALL OBJECTS");
+        schema.stream().filter(statement -> !statement.startsWith("CREATE USER")).forEach(replica::execute);
+        replica.execute("CREATE TABLE replica_lag (seconds DOUBLE PRECISION)");
+        replica.execute("INSERT INTO replica_lag VALUES (0)");
+        replicaRoutingDataSource.checkReplicas();
+    }
+
+    /**
+     * Cleans up the employees written by the test.
+     */
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+    }
+
+    /**
+     * Tests that list reads go to the replica, except for a client that just wrote and
+     * while the replica lags too much, and that single-employee reads go to the primary.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testReadsAreRoutedToReplica() throws Exception {
+        // Arrange
+        EmployeeDTO employeeDTO = new EmployeeDTO();
+        employeeDTO.setFirstName("John");
+        employeeDTO.setLastName("Doe");
+        employeeDTO.setEmail("johndoe@gmail.com");
+        employeeDTO.setDepartment("Marketing");
+        employeeDTO.setSalary(50000.0);
+        mockMvc.perform(post("/api/employees").with(user("writer").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employeeDTO)))
+                .andExpect(status().isCreated());
+        Long id = ReplicaRoutingDataSource.onPrimary(employeeRepository::findAll).get(0).getId();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees").with(user("writer").roles("ADMIN")))
+                .andExpect(jsonPath("$.content.length()").value(1));
+        mockMvc.perform(get("/api/employees").with(user("reader").roles("USER")))
+                .andExpect(jsonPath("$.content.length()").value(0));
+        mockMvc.perform(get("/api/employees/{id}", id).with(user("reader").roles("USER")))
+                .andExpect(status().isOk());
+
+        replica.update("UPDATE replica_lag SET seconds = 60");
+        replicaRoutingDataSource.checkReplicas();
+        mockMvc.perform(get("/api/employees").with(user("reader").roles("USER")))
+                .andExpect(jsonPath("$.content.length()").value(1));
+        assertEquals(0.0, meterRegistry.get("employee.datasource.replica.healthy").tag("replica", "replica-1").gauge().value());
+        assertEquals(60.0, meterRegistry.get("employee.datasource.replica.lag").tag("replica", "replica-1").gauge().value());
+    }
+
+    /**
+     * Tests that a client reads its own writes from the primary, while another client with its own token for the
+     * same user keeps reading from the replica.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testReadYourWritesIsPerToken() throws Exception {
+        // Arrange
+        Authentication admin = UsernamePasswordAuthenticationToken.authenticated("admin", null,
+                AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+        String writer = "Bearer " + tokenService.issue(admin);
+        String reader = "Bearer " + tokenService.issue(admin);
+        EmployeeDTO employeeDTO = new EmployeeDTO();
+        employeeDTO.setFirstName("John");
+        employeeDTO.setLastName("Doe");
+        employeeDTO.setEmail("johndoe@gmail.com");
+        employeeDTO.setDepartment("Marketing");
+        employeeDTO.setSalary(50000.0);
+
+        // Act
+        mockMvc.perform(post("/api/employees").header(HttpHeaders.AUTHORIZATION, writer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employeeDTO)))
+                .andExpect(status().isCreated());
+
+        // Assert
+        mockMvc.perform(get("/api/employees").header(HttpHeaders.AUTHORIZATION, writer))
+                .andExpect(jsonPath("$.content.length()").value(1));
+        mockMvc.perform(get("/api/employees").header(HttpHeaders.AUTHORIZATION, reader))
+                .andExpect(jsonPath("$.content.length()").value(0));
+    }
+
+    /**
+     * Tests that a write is recorded when its transaction commits, before the request that made it completes,
+     * so the next read of the client goes to the primary even if it arrives before the request has finished.
+     */
+    @Test
+    void testWriteIsRecordedWhenItsTransactionCommits() {
+        // Arrange
+        Authentication admin = UsernamePasswordAuthenticationToken.authenticated("admin", null,
+                AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+        Employee employee = new Employee();
+        employee.setFirstName("John");
+        employee.setLastName("Doe");
+        employee.setEmail("johndoe@gmail.com");
+        employee.setDepartment("Marketing");
+        employee.setSalary(50000.0);
+        SecurityContextHolder.getContext().setAuthentication(
+                tokenService.verify(tokenService.issue(admin)).toAuthentication());
+        try {
+            // Act
+            employeeRepository.save(employee);
+
+            // Assert
+            assertEquals(1, employeeRepository.findAll().size());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        assertEquals(0, employeeRepository.findAll().size());
+    }
+}
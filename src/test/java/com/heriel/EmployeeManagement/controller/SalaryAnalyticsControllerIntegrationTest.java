@@ -0,0 +1,139 @@
+package com.heriel.EmployeeManagement.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heriel.EmployeeManagement.dto.EmployeeDTO;
+import com.heriel.EmployeeManagement.repository.EmployeeRepository;
+import com.heriel.EmployeeManagement.service.SalaryAnalyticsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the SalaryAnalyticsController.
+ * Not transactional, because the column store only sees committed writes.
+ */
+@SpringBootTest(properties = "employee.analytics.enabled=true")
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class SalaryAnalyticsControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private SalaryAnalyticsService salaryAnalyticsService;
+
+    /**
+     * Sets up the test environment by clearing the database and adding employees through the API.
+     *
+     * @throws Exception if an error occurs during the setup
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        employeeRepository.deleteAll();
+        salaryAnalyticsService.reload();
+        for (int i = 1; i <= 4; i++) {
+            EmployeeDTO employeeDTO = new EmployeeDTO();
+            employeeDTO.setFirstName("John");
+            employeeDTO.setLastName("Doe");
+            employeeDTO.setEmail("johndoe" + i + "@gmail.com");
+            employeeDTO.setDepartment(i <= 3 ? "Marketing" : "Sales");
+            employeeDTO.setSalary(i * 10000.0);
+            mockMvc.perform(post("/api/employees")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(employeeDTO)))
+                    .andExpect(status().isCreated());
+        }
+    }
+
+    /**
+     * Cleans up the employees added by the test.
+     */
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAll();
+        salaryAnalyticsService.reload();
+    }
+
+    /**
+     * Tests salary percentiles of a department.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testGetPercentiles() throws Exception {
+        mockMvc.perform(get("/api/employees/analytics/salaries/percentiles")
+                        .param("department", "Marketing")
+                        .param("p", "50", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.department").value("Marketing"))
+                .andExpect(jsonPath("$.percentiles.p50").value(20000.0))
+                .andExpect(jsonPath("$.percentiles.p100").value(30000.0));
+
+        mockMvc.perform(get("/api/employees/analytics/salaries/percentiles")
+                        .param("p", "101"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests the salary histogram of all employees.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testGetHistogram() throws Exception {
+        mockMvc.perform(get("/api/employees/analytics/salaries/histogram")
+                        .param("buckets", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.min").value(10000.0))
+                .andExpect(jsonPath("$.bucketWidth").value(10000.0))
+                .andExpect(jsonPath("$.counts[0]").value(1))
+                .andExpect(jsonPath("$.counts[1]").value(1))
+                .andExpect(jsonPath("$.counts[2]").value(2));
+    }
+
+    /**
+     * Tests that the top earners follow updates and deletes.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testGetTopEarners() throws Exception {
+        // Arrange
+        Long topId = employeeRepository.findAll().stream()
+                .filter(employee -> employee.getSalary() == 40000.0)
+                .findFirst().orElseThrow().getId();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/employees/analytics/salaries/top")
+                        .param("n", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(topId))
+                .andExpect(jsonPath("$[0].department").value("Sales"))
+                .andExpect(jsonPath("$[1].salary").value(30000.0));
+
+        mockMvc.perform(delete("/api/employees/{id}", topId))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/employees/analytics/salaries/top")
+                        .param("n", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].salary").value(30000.0));
+    }
+}
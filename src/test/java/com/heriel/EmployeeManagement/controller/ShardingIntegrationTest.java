@@ -0,0 +1,196 @@
+package com.heriel.EmployeeManagement.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heriel.EmployeeManagement.config.ShardRoutingDataSource;
+import com.heriel.EmployeeManagement.dto.EmployeeDTO;
+import com.heriel.EmployeeManagement.model.Employee;
+import com.heriel.EmployeeManagement.model.ShardedSequenceGenerator;
+import com.heriel.EmployeeManagement.service.DepartmentHashShardKeyStrategy;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for sharding, with three in-memory H2 databases as shards, each migrated at startup.
+ * Not transactional, because every shard query runs in its own transaction.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shard-0;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "employee.sharding.urls=" + ShardingIntegrationTest.SHARD_1_URL + "," + ShardingIntegrationTest.SHARD_2_URL
+})
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class ShardingIntegrationTest {
+    static final String SHARD_1_URL = "jdbc:h2:mem:shard-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+    static final String SHARD_2_URL = "jdbc:h2:mem:shard-2;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+    private static final List<String> DEPARTMENTS = List.of("Marketing", "Sales", "Finance", "Support", "Legal", "Research");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ShardRoutingDataSource shardRoutingDataSource;
+
+    private final List<JdbcTemplate> shards = new ArrayList<>();
+
+    /**
+     * Sets up direct access to every shard, bypassing the routing.
+     */
+    @BeforeEach
+    void setUp() {
+        shards.clear();
+        for (int shard = 0; shard < shardRoutingDataSource.getShardCount(); shard++) {
+            shards.add(new JdbcTemplate((DataSource) shardRoutingDataSource.getResolvedDataSources().get(shard)));
+        }
+    }
+
+    /**
+     * Cleans up the employees written by the test on every shard.
+     */
+    @AfterEach
+    void tearDown() {
+        shards.forEach(shard -> shard.update("DELETE FROM employee"));
+    }
+
+    /**
+     * Tests that employees are placed by department hash with their shard encoded in the ID, that single-employee
+     * requests reach the right shard, and that pages, keyset windows and statistics are merged from every shard.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testEmployeesAreShardedAndMerged() throws Exception {
+        // Arrange
+        for (int i = 0; i < 18; i++) {
+            EmployeeDTO employeeDTO = new EmployeeDTO();
+            employeeDTO.setFirstName("John" + i);
+            employeeDTO.setLastName("Doe");
+            employeeDTO.setEmail("john" + i + "@gmail.com");
+            employeeDTO.setDepartment(DEPARTMENTS.get(i % DEPARTMENTS.size()));
+            employeeDTO.setSalary(1000.0 * ((i * 7) % 18));
+            mockMvc.perform(post("/api/employees")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(employeeDTO)))
+                    .andExpect(status().isCreated());
+        }
+        List<Map<String, Object>> rows = new ArrayList<>();
+        Set<Integer> usedShards = new HashSet<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            for (Map<String, Object> row : shards.get(shard).queryForList("SELECT id, department, salary FROM employee")) {
+                Employee employee = new Employee();
+                employee.setDepartment((String) row.get("department"));
+                assertEquals(shard, ShardedSequenceGenerator.shardOf(((Number) row.get("id")).longValue()));
+                assertEquals(shard, new DepartmentHashShardKeyStrategy().shardOf(employee, shards.size()));
+                usedShards.add(shard);
+                rows.add(row);
+            }
+        }
+        assertEquals(18, rows.size());
+        assertTrue(usedShards.size() > 1);
+        rows.sort(Comparator.<Map<String, Object>, Double>comparing(row -> ((Number) row.get("salary")).doubleValue())
+                .reversed()
+                .thenComparing(row -> ((Number) row.get("id")).longValue()));
+        List<Long> expectedIds = rows.stream().map(row -> ((Number) row.get("id")).longValue()).toList();
+
+        // Act & Assert
+        List<Long> pagedIds = new ArrayList<>();
+        for (int page = 0; page < 4; page++) {
+            JsonNode body = objectMapper.readTree(mockMvc.perform(get("/api/employees")
+                            .param("page", String.valueOf(page)).param("size", "5").param("sort", "salary,desc")
+                            .param("fields", "id,department"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").value(18))
+                    .andExpect(jsonPath("$.content[0].salary").doesNotExist())
+                    .andReturn().getResponse().getContentAsString());
+            body.get("content").forEach(row -> pagedIds.add(row.get("id").asLong()));
+        }
+        assertEquals(expectedIds, pagedIds);
+
+        List<Long> cursorIds = new ArrayList<>();
+        String after = "";
+        do {
+            JsonNode body = objectMapper.readTree(mockMvc.perform(get("/api/employees")
+                            .param("after", after).param("size", "4").param("sort", "salary,desc"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            body.get("content").forEach(row -> cursorIds.add(row.get("id").asLong()));
+            after = body.get("nextCursor").isNull() ? null : body.get("nextCursor").asText();
+        } while (after != null);
+        assertEquals(expectedIds, cursorIds);
+
+        long id = expectedIds.get(17);
+        mockMvc.perform(get("/api/employees/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id));
+        EmployeeDTO renamed = new EmployeeDTO();
+        renamed.setFirstName("Jack");
+        renamed.setLastName("Doe");
+        renamed.setEmail("jack@gmail.com");
+        renamed.setDepartment((String) rows.get(17).get("department"));
+        renamed.setSalary(0.0);
+        mockMvc.perform(put("/api/employees/{id}", id).header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(renamed)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/employees/{id}", id).header("If-Match", "\"0\""))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(get("/api/employees/{id}", id))
+                .andExpect(jsonPath("$.firstName").value("Jack"));
+        mockMvc.perform(delete("/api/employees/{id}", id))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/employees/{id}", id))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/employees/stats/departments"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(DEPARTMENTS.size()));
+        mockMvc.perform(get("/api/employees/search").param("size", "20"))
+                .andExpect(jsonPath("$.totalElements").value(17));
+    }
+
+    /**
+     * Tests that a shard sorting strings by a locale collation, in which pages could not be merged, is refused.
+     */
+    @Test
+    void testShardWithLocaleCollationIsRefused() {
+        // Arrange
+        HikariDataSource localeShard = new HikariDataSource();
+        localeShard.setPoolName("shard-locale");
+        localeShard.setJdbcUrl("jdbc:h2:mem:shard-locale;COLLATION=ENGLISH STRENGTH PRIMARY");
+        try (ShardRoutingDataSource routing = new ShardRoutingDataSource(List.of(localeShard), new SimpleMeterRegistry())) {
+            // Act & Assert
+            IllegalStateException ex = assertThrows(IllegalStateException.class, routing::afterPropertiesSet);
+            assertTrue(ex.getMessage().contains("C collation"));
+        } finally {
+            localeShard.close();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.heriel.EmployeeManagement.repository;
+
+import com.heriel.EmployeeManagement.dto.EmployeeSearchCriteria;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the SQL generated for each search filter is answered from an index.
+ * The query Hibernate generates is captured and run through EXPLAIN with sequential scans
+ * disabled, so that a missing or unusable index shows up as a "Seq Scan" in the plan.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.heriel.EmployeeManagement.repository.EmployeeSearchIndexTest$CapturingStatementInspector")
+class EmployeeSearchIndexTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * Clears the captured statements before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    /**
+     * Tests that filtering by department and salary range uses an index.
+     * Depending on statistics the planner picks either the composite or the salary index.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testDepartmentAndSalaryUseIndex() throws Exception {
+        // Arrange
+        EmployeeSearchCriteria criteria = new EmployeeSearchCriteria();
+        criteria.setDepartment("Marketing");
+        criteria.setMinSalary(40000.0);
+        criteria.setMaxSalary(60000.0);
+
+        // Act
+        String plan = explain(criteria, List.of("Marketing", 40000.0, 60000.0));
+
+        // Assert
+        assertFalse(plan.contains("Seq Scan"), plan);
+        assertTrue(plan.contains("idx_employee_department_salary") || plan.contains("idx_employee_salary"), plan);
+    }
+
+    /**
+     * Tests that filtering by email uses the email index.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testEmailUsesIndex() throws Exception {
+        // Arrange
+        EmployeeSearchCriteria criteria = new EmployeeSearchCriteria();
+        criteria.setEmail("johndoe@gmail.com");
+
+        // Act
+        String plan = explain(criteria, List.of("johndoe@gmail.com"));
+
+        // Assert
+        assertFalse(plan.contains("Seq Scan"), plan);
+        assertTrue(plan.contains("idx_employee_email"), plan);
+    }
+
+    /**
+     * Tests that the name prefix filter uses the pattern indexes on both name columns.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void testNamePrefixUsesIndex() throws Exception {
+        // Arrange
+        EmployeeSearchCriteria criteria = new EmployeeSearchCriteria();
+        criteria.setName("Joh");
+
+        // Act
+        String plan = explain(criteria, List.of("Joh%", "Joh%"));
+
+        // Assert
+        assertFalse(plan.contains("Seq Scan"), plan);
+        assertTrue(plan.contains("idx_employee_first_name_pattern"), plan);
+        assertTrue(plan.contains("idx_employee_last_name_pattern"), plan);
+    }
+
+    /**
+     * Runs the search, captures the generated page query and explains it with the given parameters.
+     *
+     * @param criteria   the search criteria
+     * @param parameters the values of the filter parameters, in predicate order
+     * @return the query plan as text
+     */
+    private String explain(EmployeeSearchCriteria criteria, List<Object> parameters) throws Exception {
+        employeeRepository.findAll(EmployeeSpecifications.matching(criteria), PageRequest.of(0, 10));
+        String sql = CapturingStatementInspector.STATEMENTS.stream()
+                // Only the employee table, as the change feed polls the outbox in the background
+                .filter(statement -> statement.startsWith("select") && statement.contains(" from employee ")
+                        && !statement.contains("count("))
+                .findFirst()
+                .orElseThrow();
+
+        List<Object> values = new ArrayList<>(parameters);
+        values.add(0); // the page offset
+        values.add(10); // the page size
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+            }
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < values.size(); i++) {
+                    statement.setObject(i + 1, values.get(i));
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("RESET enable_seqscan");
+                }
+            }
+        }
+    }
+
+    /**
+     * Statement inspector that records every SQL statement Hibernate prepares.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.heriel.EmployeeManagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the AdaptiveConcurrencyLimiter class.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    /**
+     * Tests that requests over the limit are rejected, that fast requests raise the limit
+     * and that slow or failed requests lower it, within the minimum and maximum.
+     */
+    @Test
+    void testAdditiveIncreaseMultiplicativeDecrease() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 2, 5, Duration.ofMillis(100), 0.5);
+        long fast = Duration.ofMillis(10).toNanos();
+        long slow = Duration.ofMillis(200).toNanos();
+
+        // Act & Assert
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+        assertEquals(4, limiter.getInFlight());
+
+        limiter.release(fast, false);
+        assertEquals(5, limiter.getLimit());
+        limiter.release(fast, false);
+        assertEquals(5, limiter.getLimit());
+        limiter.release(slow, false);
+        assertEquals(2, limiter.getLimit());
+        limiter.release(fast, true);
+        assertEquals(2, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+
+        assertTrue(limiter.tryAcquire());
+        limiter.release(fast, false);
+        assertEquals(3, limiter.getLimit());
+        // A fast request while most of the limit is unused leaves the limit alone
+        assertTrue(limiter.tryAcquire());
+        limiter.release(fast, false);
+        assertEquals(3, limiter.getLimit());
+    }
+
+    /**
+     * Tests that with a slow database, whose 10 connections each take 20 ms per request, the limiter keeps the
+     * tail latency of 200 concurrent clients near the latency threshold by shedding the excess requests,
+     * while without it every request queues for a connection.
+     *
+     * @throws InterruptedException if the test is interrupted
+     */
+    @Test
+    void testBoundsTailLatencyWithSlowDatabase() throws InterruptedException {
+        // Arrange
+        Duration threshold = Duration.ofMillis(100);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 2, 200, threshold, 0.9);
+
+        // Act
+        SimulationResult unlimited = simulateSlowDatabase(null);
+        SimulationResult limited = simulateSlowDatabase(limiter);
+
+        // Assert
+        assertTrue(unlimited.p99Millis() > 350, "unlimited p99 " + unlimited.p99Millis() + " ms");
+        assertTrue(limited.p99Millis() < 3 * threshold.toMillis(), "limited p99 " + limited.p99Millis() + " ms");
+        assertTrue(limited.rejected() > 0);
+        assertTrue(limited.admitted() > 0);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private record SimulationResult(long admitted, long rejected, long p99Millis) {
+    }
+
+    private static SimulationResult simulateSlowDatabase(AdaptiveConcurrencyLimiter limiter) throws InterruptedException {
+        Semaphore connections = new Semaphore(10, true);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        LongAdder rejected = new LongAdder();
+        long end = System.nanoTime() + Duration.ofMillis(1500).toNanos();
+        long measureFrom = System.nanoTime() + Duration.ofMillis(500).toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < 200; client++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        if (limiter != null && !limiter.tryAcquire()) {
+                            rejected.increment();
+                            sleep(10);
+                            continue;
+                        }
+                        long start = System.nanoTime();
+                        connections.acquireUninterruptibly();
+                        try {
+                            sleep(20);
+                        } finally {
+                            connections.release();
+                        }
+                        long latency = System.nanoTime() - start;
+                        if (limiter != null) {
+                            limiter.release(latency, false);
+                        }
+                        // Leave out the requests sent before the limit had time to adapt
+                        if (start > measureFrom) {
+                            latencies.add(latency);
+                        }
+                    }
+                });
+            }
+        }
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        long p99 = sorted.isEmpty() ? 0 : sorted.get((int) (sorted.size() * 0.99));
+        return new SimulationResult(sorted.size(), rejected.sum(), TimeUnit.NANOSECONDS.toMillis(p99));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.heriel.EmployeeManagement.service;
+
+import com.heriel.EmployeeManagement.dto.DepartmentStats;
+import com.heriel.EmployeeManagement.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the DepartmentStatsService class.
+ */
+class DepartmentStatsServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EmployeeChangeRecorder employeeChangeRecorder;
+
+    @Spy
+    private EmployeeShards employeeShards = new EmployeeShards(mock(ObjectProvider.class),
+            new DepartmentHashShardKeyStrategy(), mock(PlatformTransactionManager.class));
+
+    @InjectMocks
+    private DepartmentStatsService departmentStatsService;
+
+    /**
+     * Sets up the test environment by initializing mocks.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    /**
+     * Tests that added employees are aggregated per department.
+     */
+    @Test
+    void testRecordAdded() {
+        // Act
+        departmentStatsService.onChanges(List.of(added("Marketing", 50000.0)));
+        departmentStatsService.onChanges(List.of(added("Marketing", 70000.0)));
+        departmentStatsService.onChanges(List.of(added("Sales", 40000.0)));
+
+        // Assert
+        List<DepartmentStats> stats = departmentStatsService.getDepartmentStats();
+        assertEquals(2, stats.size());
+        DepartmentStats marketing = stats.get(0);
+        assertEquals("Marketing", marketing.getDepartment());
+        assertEquals(2, marketing.getHeadcount());
+        assertEquals(120000.0, marketing.getTotalSalary());
+        assertEquals(60000.0, marketing.getAverageSalary());
+        assertEquals(50000.0, marketing.getMinSalary());
+        assertEquals(70000.0, marketing.getMaxSalary());
+        assertEquals("Sales", stats.get(1).getDepartment());
+    }
+
+    /**
+     * Tests that removing a salary inside the range does not query the database.
+     */
+    @Test
+    void testRecordRemovedInsideRange() {
+        // Arrange
+        departmentStatsService.onChanges(List.of(added("Marketing", 50000.0)));
+        departmentStatsService.onChanges(List.of(added("Marketing", 60000.0)));
+        departmentStatsService.onChanges(List.of(added("Marketing", 70000.0)));
+
+        // Act
+        departmentStatsService.onChanges(List.of(removed("Marketing", 60000.0)));
+
+        // Assert
+        DepartmentStats marketing = departmentStatsService.getDepartmentStats().get(0);
+        assertEquals(2, marketing.getHeadcount());
+        assertEquals(120000.0, marketing.getTotalSalary());
+        verify(employeeRepository, never()).summarizeDepartment(any());
+    }
+
+    /**
+     * Tests that removing the highest salary recomputes the range of that department.
+     */
+    @Test
+    void testRecordRemovedMaximumRecomputesRange() {
+        // Arrange
+        departmentStatsService.onChanges(List.of(added("Marketing", 50000.0)));
+        departmentStatsService.onChanges(List.of(added("Marketing", 60000.0)));
+        departmentStatsService.onChanges(List.of(added("Marketing", 70000.0)));
+        when(employeeRepository.summarizeDepartment("Marketing"))
+                .thenReturn(Optional.of(new DepartmentStats("Marketing", 2, 110000.0, 50000.0, 60000.0)));
+
+        // Act
+        departmentStatsService.onChanges(List.of(removed("Marketing", 70000.0)));
+
+        // Assert
+        DepartmentStats marketing = departmentStatsService.getDepartmentStats().get(0);
+        assertEquals(2, marketing.getHeadcount());
+        assertEquals(110000.0, marketing.getTotalSalary());
+        assertEquals(60000.0, marketing.getMaxSalary());
+        verify(employeeRepository, times(1)).summarizeDepartment("Marketing");
+    }
+
+    /**
+     * Tests that removing the last employee of a department removes the department.
+     */
+    @Test
+    void testRecordRemovedLastEmployee() {
+        // Arrange
+        departmentStatsService.onChanges(List.of(added("Marketing", 50000.0)));
+
+        // Act
+        departmentStatsService.onChanges(List.of(new EmployeeChange(1L, "Marketing", 50000.0, "Sales", 55000.0)));
+
+        // Assert
+        List<DepartmentStats> stats = departmentStatsService.getDepartmentStats();
+        assertEquals(1, stats.size());
+        assertEquals("Sales", stats.get(0).getDepartment());
+    }
+
+    /**
+     * Tests that reconciliation replaces drifted departments and removes vanished ones.
+     */
+    @Test
+    void testReconcile() {
+        // Arrange
+        departmentStatsService.onChanges(List.of(added("Marketing", 50000.0)));
+        departmentStatsService.onChanges(List.of(added("Sales", 40000.0)));
+        departmentStatsService.onChanges(List.of(added("Support", 30000.0)));
+        when(employeeRepository.summarizeDepartments()).thenReturn(List.of(
+                new DepartmentStats("Marketing", 1, 50000.0, 50000.0, 50000.0),
+                new DepartmentStats("Sales", 2, 85000.0, 40000.0, 45000.0)));
+
+        // Act
+        int corrected = departmentStatsService.reconcile();
+
+        // Assert
+        assertEquals(2, corrected);
+        List<DepartmentStats> stats = departmentStatsService.getDepartmentStats();
+        assertEquals(2, stats.size());
+        assertEquals(2, stats.get(1).getHeadcount());
+        assertEquals(0, departmentStatsService.reconcile());
+    }
+
+    /**
+     * Tests that a change applied while the snapshot is read is not overwritten by the snapshot, which was read
+     * before the change, and that the department is read again on its own.
+     */
+    @Test
+    void testReconcileKeepsChangesAppliedDuringSnapshot() {
+        // Arrange
+        departmentStatsService.onChanges(List.of(added("Marketing", 50000.0)));
+        when(employeeRepository.summarizeDepartments()).thenAnswer(invocation -> {
+            List<DepartmentStats> snapshot = List.of(
+                    new DepartmentStats("Marketing", 1, 50000.0, 50000.0, 50000.0),
+                    new DepartmentStats("Sales", 1, 40000.0, 40000.0, 40000.0));
+            departmentStatsService.onChanges(List.of(added("Marketing", 70000.0)));
+            return snapshot;
+        });
+        when(employeeRepository.summarizeDepartment("Marketing"))
+                .thenReturn(Optional.of(new DepartmentStats("Marketing", 2, 120000.0, 50000.0, 70000.0)));
+
+        // Act
+        int corrected = departmentStatsService.reconcile();
+
+        // Assert
+        assertEquals(1, corrected);
+        List<DepartmentStats> stats = departmentStatsService.getDepartmentStats();
+        assertEquals(2, stats.get(0).getHeadcount());
+        assertEquals(120000.0, stats.get(0).getTotalSalary());
+        assertEquals("Sales", stats.get(1).getDepartment());
+        verify(employeeRepository, times(1)).summarizeDepartment("Marketing");
+    }
+
+    /**
+     * Tests that a department with a committed change not yet applied is left alone, so the change is not
+     * counted twice when it is applied on top of a snapshot that already includes it.
+     */
+    @Test
+    void testReconcileSkipsDepartmentsWithPendingChanges() {
+        // Arrange
+        departmentStatsService.onChanges(List.of(added("Marketing", 50000.0)));
+        when(employeeChangeRecorder.getPendingDepartments()).thenReturn(Set.of("Marketing"));
+        when(employeeRepository.summarizeDepartments()).thenReturn(List.of(
+                new DepartmentStats("Marketing", 2, 120000.0, 50000.0, 70000.0)));
+        when(employeeRepository.summarizeDepartment("Marketing"))
+                .thenReturn(Optional.of(new DepartmentStats("Marketing", 2, 120000.0, 50000.0, 70000.0)));
+
+        // Act
+        int corrected = departmentStatsService.reconcile();
+        departmentStatsService.onChanges(List.of(added("Marketing", 70000.0)));
+
+        // Assert
+        assertEquals(0, corrected);
+        DepartmentStats marketing = departmentStatsService.getDepartmentStats().get(0);
+        assertEquals(2, marketing.getHeadcount());
+        assertEquals(120000.0, marketing.getTotalSalary());
+    }
+
+    private static EmployeeChange added(String department, double salary) {
+        return new EmployeeChange(1L, null, null, department, salary);
+    }
+
+    private static EmployeeChange removed(String department, double salary) {
+        return new EmployeeChange(1L, department, salary, null, null);
+    }
+}
@@ -0,0 +1,153 @@
+package com.heriel.EmployeeManagement.service;
+
+import com.heriel.EmployeeManagement.model.Employee;
+import com.heriel.EmployeeManagement.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the EmployeeBatchLoader class.
+ */
+class EmployeeBatchLoaderTest {
+
+    private EmployeeRepository employeeRepository;
+    private EmployeeShards employeeShards;
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Sets up an unsharded loader environment whose repository returns an employee for every ID up to 100.
+     */
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        employeeRepository = mock(EmployeeRepository.class);
+        employeeShards = new EmployeeShards(mock(ObjectProvider.class), new DepartmentHashShardKeyStrategy(),
+                mock(PlatformTransactionManager.class));
+        meterRegistry = new SimpleMeterRegistry();
+        when(employeeRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Employee> employees = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                if (id <= 100) {
+                    employees.add(employee(id));
+                }
+            }
+            return employees;
+        });
+        when(employeeRepository.findById(any())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            return id <= 100 ? Optional.of(employee(id)) : Optional.empty();
+        });
+    }
+
+    private static Employee employee(Long id) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setFirstName("Employee " + id);
+        return employee;
+    }
+
+    private List<Employee> loadConcurrently(EmployeeBatchLoader loader, List<Long> ids) throws Exception {
+        List<Future<Employee>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Long id : ids) {
+                futures.add(executor.submit(() -> loader.load(id)));
+            }
+        }
+        List<Employee> results = new ArrayList<>();
+        for (Future<Employee> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    /**
+     * Tests that concurrent lookups within the window are served by one query, lookups of the same ID sharing
+     * one result, and that the metrics show the lookups per query.
+     *
+     * @throws Exception if a lookup fails
+     */
+    @Test
+    void testConcurrentLookupsShareOneQuery() throws Exception {
+        // Arrange
+        EmployeeBatchLoader loader = new EmployeeBatchLoader(employeeRepository, employeeShards, meterRegistry,
+                Duration.ofMillis(500), 100);
+        List<Long> ids = List.of(1L, 2L, 3L, 1L, 2L, 200L);
+
+        // Act
+        List<Employee> results = loadConcurrently(loader, ids);
+
+        // Assert
+        for (int i = 0; i < ids.size() - 1; i++) {
+            assertEquals(ids.get(i), results.get(i).getId());
+        }
+        assertNull(results.get(ids.size() - 1));
+        assertSame(results.get(0), results.get(3));
+        verify(employeeRepository, times(1)).findAllById(anyIterable());
+        assertEquals(6, meterRegistry.get("employee.loader.requests").counter().count());
+        assertEquals(2, meterRegistry.get("employee.loader.coalesced").counter().count());
+        assertEquals(1, meterRegistry.get("employee.loader.queries").counter().count());
+        assertEquals(4, meterRegistry.get("employee.loader.batch.size").summary().totalAmount());
+    }
+
+    /**
+     * Tests that a full batch is queried right away instead of waiting for the window, and that further lookups
+     * start a new batch.
+     *
+     * @throws Exception if a lookup fails
+     */
+    @Test
+    void testFullBatchIsQueriedRightAway() throws Exception {
+        // Arrange
+        EmployeeBatchLoader loader = new EmployeeBatchLoader(employeeRepository, employeeShards, meterRegistry,
+                Duration.ofMinutes(1), 2);
+
+        // Act
+        long start = System.nanoTime();
+        List<Employee> results = loadConcurrently(loader, List.of(1L, 2L, 3L, 4L));
+
+        // Assert
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(30).toNanos());
+        assertEquals(new HashSet<>(List.of(1L, 2L, 3L, 4L)),
+                new HashSet<>(results.stream().map(Employee::getId).toList()));
+        verify(employeeRepository, times(2)).findAllById(anyIterable());
+    }
+
+    /**
+     * Tests that a lookup without concurrent lookups is a lookup by primary key, and that a failing query is
+     * reported to the lookup and not remembered.
+     */
+    @Test
+    void testSingleLookupAndFailure() {
+        // Arrange
+        EmployeeBatchLoader loader = new EmployeeBatchLoader(employeeRepository, employeeShards, meterRegistry,
+                Duration.ZERO, 100);
+        when(employeeRepository.findById(7L)).thenThrow(new IllegalStateException("Database unavailable"))
+                .thenReturn(Optional.of(employee(7L)));
+
+        // Act & Assert
+        assertEquals(1L, loader.load(1L).getId());
+        assertNull(loader.load(101L));
+        assertThrows(IllegalStateException.class, () -> loader.load(7L));
+        assertEquals(7L, loader.load(7L).getId());
+        verify(employeeRepository, never()).findAllById(anyIterable());
+        assertEquals(4, meterRegistry.get("employee.loader.queries").counter().count());
+    }
+}
@@ -0,0 +1,117 @@
+package com.heriel.EmployeeManagement.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the EmployeeChangeRecorder class.
+ */
+class EmployeeChangeRecorderTest {
+
+    @Mock
+    private ObjectProvider<EmployeeChangeListener> listeners;
+
+    @Mock
+    private EmployeeChangeListener listener;
+
+    private EmployeeChangeRecorder employeeChangeRecorder;
+
+    /**
+     * Sets up the test environment by initializing mocks.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(listeners.orderedStream()).thenAnswer(invocation -> Stream.of(listener));
+        employeeChangeRecorder = new EmployeeChangeRecorder(listeners);
+    }
+
+    /**
+     * Cleans up any transaction synchronization left by a test.
+     */
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    /**
+     * Tests that changes made outside a transaction are published immediately.
+     */
+    @Test
+    void testChangesOutsideTransactionArePublishedImmediately() {
+        // Act
+        employeeChangeRecorder.recordAdded(1L, "Marketing", 50000.0);
+
+        // Assert
+        verify(listener, times(1)).onChanges(List.of(new EmployeeChange(1L, null, null, "Marketing", 50000.0)));
+    }
+
+    /**
+     * Tests that changes made inside a transaction are published together after it commits.
+     */
+    @Test
+    void testChangesAreAppliedAfterCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        employeeChangeRecorder.recordAdded(1L, "Marketing", 50000.0);
+        employeeChangeRecorder.recordRemoved(2L, "Sales", 40000.0);
+
+        // Assert
+        verify(listener, never()).onChanges(any());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(listener, times(1)).onChanges(List.of(
+                new EmployeeChange(1L, null, null, "Marketing", 50000.0),
+                new EmployeeChange(2L, "Sales", 40000.0, null, null)));
+    }
+
+    /**
+     * Tests that the departments of a transaction stay pending until its changes have been published.
+     */
+    @Test
+    void testDepartmentsArePendingUntilPublished() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        employeeChangeRecorder.recordChanged(1L, "Marketing", 50000.0, "Sales", 50000.0);
+
+        // Assert
+        assertEquals(Set.of("Marketing", "Sales"), employeeChangeRecorder.getPendingDepartments());
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        assertEquals(Set.of("Marketing", "Sales"), employeeChangeRecorder.getPendingDepartments());
+        synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertEquals(Set.of(), employeeChangeRecorder.getPendingDepartments());
+    }
+
+    /**
+     * Tests that a change leaving department and salary untouched is not recorded.
+     */
+    @Test
+    void testUnchangedDepartmentAndSalaryAreNotRecorded() {
+        // Act
+        employeeChangeRecorder.recordChanged(1L, "Marketing", 50000.0, "Marketing", 50000.0);
+
+        // Assert
+        verifyNoInteractions(listener);
+    }
+}
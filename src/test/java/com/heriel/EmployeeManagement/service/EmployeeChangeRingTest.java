@@ -0,0 +1,112 @@
+package com.heriel.EmployeeManagement.service;
+
+import com.heriel.EmployeeManagement.model.OutboxEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the EmployeeChangeRing class.
+ */
+class EmployeeChangeRingTest {
+
+    private static OutboxEvent event(long position, long employeeId) {
+        OutboxEvent event = new OutboxEvent(OutboxEvent.Type.UPDATED, employeeId, Instant.EPOCH);
+        event.setPosition(position);
+        return event;
+    }
+
+    /**
+     * Tests that events of several shards are read in the order they were appended, each carrying the position
+     * of the feed after it.
+     *
+     * @throws Exception if interrupted
+     */
+    @Test
+    void testReadReturnsEventsWithFeedPositions() throws Exception {
+        // Arrange
+        EmployeeChangeRing ring = new EmployeeChangeRing(10);
+        ring.start(new long[]{4, 7});
+        ring.append(1, List.of(event(8, 100L)));
+        ring.append(0, List.of(event(5, 200L), event(6, 300L)));
+
+        // Act
+        List<EmployeeChangeRing.Entry> entries = ring.read(ring.indexAfter(new long[]{4, 7}), 10, Duration.ZERO);
+
+        // Assert
+        assertEquals(List.of("4.8", "5.8", "6.8"), entries.stream().map(entry -> entry.getEvent().getSequence()).toList());
+        assertEquals(List.of(100L, 200L, 300L), entries.stream().map(entry -> entry.getEvent().getEmployeeId()).toList());
+        assertEquals(1, entries.get(0).getShard());
+        assertArrayEquals(new long[]{6, 8}, ring.latest());
+        assertEquals(List.of(), ring.read(3, 10, Duration.ZERO));
+    }
+
+    /**
+     * Tests that a position is only covered while the ring holds every event after it, and that a reader whose
+     * next event was overwritten is told so.
+     *
+     * @throws Exception if interrupted
+     */
+    @Test
+    void testOverwrittenEventsAreNoLongerCovered() throws Exception {
+        // Arrange
+        EmployeeChangeRing ring = new EmployeeChangeRing(2);
+        assertEquals(-1, ring.indexAfter(new long[]{0}));
+        ring.start(new long[]{0});
+
+        // Act
+        ring.append(0, List.of(event(1, 1L), event(2, 2L), event(3, 3L)));
+
+        // Assert
+        assertEquals(-1, ring.indexAfter(new long[]{0}));
+        assertEquals(1, ring.indexAfter(new long[]{1}));
+        assertNull(ring.read(0, 10, Duration.ZERO));
+        assertEquals(2, ring.read(1, 10, Duration.ZERO).size());
+    }
+
+    /**
+     * Tests that a reader waiting for the next event is woken up when it is appended.
+     *
+     * @throws Exception if the reader fails or does not finish in time
+     */
+    @Test
+    void testReadWaitsForNextEvent() throws Exception {
+        // Arrange
+        EmployeeChangeRing ring = new EmployeeChangeRing(4);
+        ring.start(new long[]{0});
+        CompletableFuture<List<EmployeeChangeRing.Entry>> reader = CompletableFuture.supplyAsync(() -> {
+            try {
+                return ring.read(0, 10, Duration.ofSeconds(10));
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        // Act
+        Thread.sleep(100);
+        ring.append(0, List.of(event(1, 42L)));
+
+        // Assert
+        assertEquals(42L, reader.get(5, TimeUnit.SECONDS).get(0).getEvent().getEmployeeId());
+    }
+
+    /**
+     * Tests that feed positions are formatted and parsed symmetrically and that malformed ones are rejected.
+     */
+    @Test
+    void testFormatAndParse() {
+        // Act & Assert
+        assertEquals("3.0.12", EmployeeChangeRing.format(new long[]{3, 0, 12}));
+        assertArrayEquals(new long[]{3, 0, 12}, EmployeeChangeRing.parse("3.0.12", 3));
+        assertArrayEquals(new long[]{5}, EmployeeChangeRing.parse("5", 1));
+        assertThrows(IllegalArgumentException.class, () -> EmployeeChangeRing.parse("5", 2));
+        assertThrows(IllegalArgumentException.class, () -> EmployeeChangeRing.parse("a", 1));
+        assertThrows(IllegalArgumentException.class, () -> EmployeeChangeRing.parse("-1", 1));
+    }
+}
@@ -0,0 +1,108 @@
+package com.heriel.EmployeeManagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heriel.EmployeeManagement.model.Employee;
+import com.heriel.EmployeeManagement.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the EmployeeExportService class.
+ */
+class EmployeeExportServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private EmployeeExportService employeeExportService;
+
+    private Employee employee1;
+
+    private Employee employee2;
+
+    /**
+     * Sets up the test environment by initializing mocks and test data.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        EmployeeShards employeeShards = new EmployeeShards(mock(ObjectProvider.class),
+                new DepartmentHashShardKeyStrategy(), mock(PlatformTransactionManager.class));
+        employeeExportService = new EmployeeExportService(employeeRepository, employeeShards, entityManager,
+                new ObjectMapper());
+
+        employee1 = new Employee();
+        employee1.setId(1L);
+        employee1.setFirstName("John");
+        employee1.setLastName("Doe");
+        employee1.setEmail("johndoe@gmail.com");
+        employee1.setDepartment("Marketing");
+        employee1.setSalary(50000.0);
+
+        employee2 = new Employee();
+        employee2.setId(2L);
+        employee2.setFirstName("Jane");
+        employee2.setLastName("Smith, Jr.");
+        employee2.setEmail("janesmith@gmail.com");
+        employee2.setDepartment("Sales \"East\"");
+        employee2.setSalary(55000.0);
+    }
+
+    /**
+     * Tests that the NDJSON export writes one JSON document per line and detaches each entity.
+     */
+    @Test
+    void testExportNdjson() throws Exception {
+        // Arrange
+        when(employeeRepository.streamAll()).thenReturn(Stream.of(employee1, employee2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = employeeExportService.exportNdjson(out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertEquals("John", new ObjectMapper().readTree(lines[0]).get("firstName").asText());
+        assertEquals("Smith, Jr.", new ObjectMapper().readTree(lines[1]).get("lastName").asText());
+        verify(entityManager, times(1)).detach(employee1);
+        verify(entityManager, times(1)).detach(employee2);
+    }
+
+    /**
+     * Tests that the CSV export writes a header and quotes fields that need it.
+     */
+    @Test
+    void testExportCsv() throws Exception {
+        // Arrange
+        when(employeeRepository.streamAll()).thenReturn(Stream.of(employee1, employee2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = employeeExportService.exportCsv(out);
+
+        // Assert
+        assertEquals(2, count);
+        assertEquals("id,firstName,lastName,email,department,salary\r\n"
+                        + "1,John,Doe,johndoe@gmail.com,Marketing,50000.0\r\n"
+                        + "2,Jane,\"Smith, Jr.\",janesmith@gmail.com,\"Sales \"\"East\"\"\",55000.0\r\n",
+                out.toString(StandardCharsets.UTF_8));
+        verify(entityManager, times(2)).detach(any(Employee.class));
+    }
+}
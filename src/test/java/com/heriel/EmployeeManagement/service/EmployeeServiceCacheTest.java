@@ -0,0 +1,177 @@
+package com.heriel.EmployeeManagement.service;
+
+import com.heriel.EmployeeManagement.config.CacheConfig;
+import com.heriel.EmployeeManagement.dto.EmployeeDTO;
+import com.heriel.EmployeeManagement.model.Employee;
+import com.heriel.EmployeeManagement.repository.EmployeeRepository;
+import com.heriel.EmployeeManagement.repository.VersionedDepartmentSalary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the caching behaviour of the EmployeeService class.
+ */
+@SpringBootTest(classes = {CacheConfig.class, EmployeeService.class, EmployeeCacheInvalidator.class,
+        EmployeeShards.class, DepartmentHashShardKeyStrategy.class, EmployeeBatchLoader.class, SimpleMeterRegistry.class})
+class EmployeeServiceCacheTest {
+
+    @MockBean
+    private EmployeeRepository employeeRepository;
+
+    @MockBean
+    private EmployeeChangeRecorder employeeChangeRecorder;
+
+    @MockBean
+    private EmployeeOutbox employeeOutbox;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Employee employee;
+
+    /**
+     * Sets up the test environment by clearing the cache and creating test data.
+     */
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.EMPLOYEES).clear();
+
+        employee = new Employee();
+        employee.setId(1L);
+        employee.setFirstName("John");
+        employee.setLastName("Doe");
+        employee.setEmail("johndoe@gmail.com");
+        employee.setDepartment("Marketing");
+        employee.setSalary(50000.0);
+    }
+
+    /**
+     * Tests that repeated lookups of the same employee are served from the cache.
+     */
+    @Test
+    void testGetEmployeeIsCached() {
+        // Arrange
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+
+        // Act
+        Employee first = employeeService.getEmployee(1L);
+        Employee second = employeeService.getEmployee(1L);
+
+        // Assert
+        assertEquals("John", first.getFirstName());
+        assertSame(first, second);
+        verify(employeeRepository, times(1)).findById(1L);
+    }
+
+    /**
+     * Tests that concurrent lookups of the same employee on virtual threads load it only once.
+     *
+     * @throws Exception if a lookup fails
+     */
+    @Test
+    void testConcurrentLookupsLoadOnce() throws Exception {
+        // Arrange
+        CountDownLatch loading = new CountDownLatch(1);
+        when(employeeRepository.findById(1L)).thenAnswer(invocation -> {
+            loading.await(5, TimeUnit.SECONDS);
+            return Optional.of(employee);
+        });
+
+        // Act
+        List<Future<Employee>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 50; i++) {
+                results.add(executor.submit(() -> employeeService.getEmployee(1L)));
+            }
+            Thread.sleep(100);
+            loading.countDown();
+        }
+
+        // Assert
+        for (Future<Employee> result : results) {
+            assertEquals("John", result.get().getFirstName());
+        }
+        verify(employeeRepository, times(1)).findById(1L);
+    }
+
+    /**
+     * Tests that lookups of a missing employee are cached as well.
+     */
+    @Test
+    void testMissingEmployeeIsCached() {
+        // Arrange
+        when(employeeRepository.findById(2L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertNull(employeeService.getEmployee(2L));
+        assertNull(employeeService.getEmployee(2L));
+        verify(employeeRepository, times(1)).findById(2L);
+    }
+
+    /**
+     * Tests that updating an employee evicts it from the cache.
+     */
+    @Test
+    void testUpdateEmployeeEvictsCache() {
+        // Arrange
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+        when(employeeRepository.updateEmployeeReturningPrevious(any(Employee.class), isNull()))
+                .thenReturn(Optional.of(mock(VersionedDepartmentSalary.class)));
+        employeeService.getEmployee(1L);
+
+        EmployeeDTO employeeDTO = new EmployeeDTO();
+        employeeDTO.setFirstName("Jane");
+
+        // Act
+        employeeService.updateEmployee(1L, employeeDTO, null);
+        employeeService.getEmployee(1L);
+
+        // Assert
+        verify(employeeRepository, times(2)).findById(1L);
+    }
+
+    /**
+     * Tests that deleting an employee evicts it from the cache.
+     */
+    @Test
+    void testDeleteEmployeeEvictsCache() {
+        // Arrange
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+        when(employeeRepository.deleteEmployeeReturningPrevious(1L, null))
+                .thenReturn(Optional.of(mock(VersionedDepartmentSalary.class)));
+        employeeService.getEmployee(1L);
+
+        // Act
+        employeeService.deleteEmployee(1L, null);
+        employeeService.getEmployee(1L);
+
+        // Assert
+        verify(employeeRepository, times(2)).findById(1L);
+    }
+}
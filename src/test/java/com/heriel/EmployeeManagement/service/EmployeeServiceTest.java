@@ -1,26 +1,45 @@
 package com.heriel.EmployeeManagement.service;
 
+import com.heriel.EmployeeManagement.dto.BatchOperation;
+import com.heriel.EmployeeManagement.dto.BatchResult;
 import com.heriel.EmployeeManagement.dto.EmployeeDTO;
 import com.heriel.EmployeeManagement.dto.EmployeeMapper;
+import com.heriel.EmployeeManagement.dto.EmployeeSearchCriteria;
+import com.heriel.EmployeeManagement.exception.BadRequestException;
+import com.heriel.EmployeeManagement.exception.PreconditionFailedException;
 import com.heriel.EmployeeManagement.model.Employee;
 import com.heriel.EmployeeManagement.repository.EmployeeRepository;
+import com.heriel.EmployeeManagement.repository.EmployeeSalary;
+import com.heriel.EmployeeManagement.repository.VersionedDepartmentSalary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -31,6 +50,22 @@ class EmployeeServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private EmployeeCacheInvalidator employeeCacheInvalidator;
+
+    @Mock
+    private EmployeeChangeRecorder employeeChangeRecorder;
+
+    @Mock
+    private EmployeeOutbox employeeOutbox;
+
+    @Mock
+    private EmployeeBatchLoader employeeBatchLoader;
+
+    @Spy
+    private EmployeeShards employeeShards = new EmployeeShards(mock(ObjectProvider.class),
+            new DepartmentHashShardKeyStrategy(), mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -80,6 +115,7 @@ class EmployeeServiceTest {
             assertEquals("Marketing", result.getDepartment());
             assertEquals(50000.0, result.getSalary());
             verify(employeeRepository, times(1)).save(employee);
+            verify(employeeChangeRecorder, times(1)).recordAdded(null, "Marketing", 50000.0);
         }
     }
 
@@ -120,6 +156,80 @@ class EmployeeServiceTest {
         verify(employeeRepository, times(1)).findAll(pageable);
     }
 
+    /**
+     * Tests that only the requested fields are selected, defaulting to all fields.
+     */
+    @Test
+    void testGetEmployeeFields() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<Map<String, Object>> rows = new PageImpl<>(List.of(Map.of("id", 1L, "firstName", "John")));
+        when(employeeRepository.findFields(any(), eq(pageable))).thenReturn(rows);
+
+        // Act
+        Page<Map<String, Object>> result = employeeService.getEmployeeFields(List.of("id", " firstName", "id"), pageable);
+        employeeService.getEmployeeFields(null, pageable);
+
+        // Assert
+        assertEquals(rows, result);
+        verify(employeeRepository, times(1)).findFields(List.of("id", "firstName"), pageable);
+        verify(employeeRepository, times(1)).findFields(EmployeeRepository.SELECTABLE_FIELDS, pageable);
+        assertThrows(BadRequestException.class, () -> employeeService.getEmployeeFields(List.of("password"), pageable));
+    }
+
+    /**
+     * Tests searching employees by criteria with pagination.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSearchEmployees() {
+        // Arrange
+        Employee employee = new Employee();
+        employee.setFirstName("John");
+        employee.setDepartment("Marketing");
+        employee.setSalary(50000.0);
+
+        EmployeeSearchCriteria criteria = new EmployeeSearchCriteria();
+        criteria.setDepartment("Marketing");
+        criteria.setMinSalary(40000.0);
+
+        Pageable pageable = PageRequest.of(0, 10);
+        when(employeeRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(new PageImpl<>(List.of(employee)));
+
+        // Act
+        Page<Employee> result = employeeService.searchEmployees(criteria, pageable);
+
+        // Assert
+        assertEquals(1, result.getContent().size());
+        assertEquals("John", result.getContent().get(0).getFirstName());
+        verify(employeeRepository, times(1)).findAll(any(Specification.class), eq(pageable));
+    }
+
+    /**
+     * Tests the retrieval of employees with keyset pagination.
+     */
+    @Test
+    void testGetEmployeesAfterPosition() {
+        // Arrange
+        Employee employee = new Employee();
+        employee.setId(2L);
+        employee.setFirstName("Jane");
+
+        ScrollPosition position = ScrollPosition.forward(Map.of("id", 1L));
+        Sort sort = Sort.by(Sort.Direction.ASC, "id");
+        Window<Employee> window = Window.from(List.of(employee), ScrollPosition::offset);
+        when(employeeRepository.findWindow(position, sort, Limit.of(10))).thenReturn(window);
+
+        // Act
+        Window<Employee> result = employeeService.getEmployees(position, sort, 10);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(2L, result.getContent().get(0).getId());
+        verify(employeeRepository, times(1)).findWindow(position, sort, Limit.of(10));
+        verify(employeeRepository, never()).findAll(any(Pageable.class));
+    }
+
     /**
      * Tests the retrieval of an employee by ID.
      */
@@ -134,7 +244,7 @@ class EmployeeServiceTest {
         employee.setDepartment("Marketing");
         employee.setSalary(50000.0);
 
-        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+        when(employeeBatchLoader.load(1L)).thenReturn(employee);
 
         // Act
         Employee result = employeeService.getEmployee(1L);
@@ -147,7 +257,28 @@ class EmployeeServiceTest {
         assertEquals("johndoe@gmail.com", result.getEmail());
         assertEquals("Marketing", result.getDepartment());
         assertEquals(50000.0, result.getSalary());
-        verify(employeeRepository, times(1)).findById(1L);
+        verify(employeeBatchLoader, times(1)).load(1L);
+    }
+
+    /**
+     * Tests the retrieval of several employees by ID with one query, in the order of their IDs.
+     */
+    @Test
+    void testGetEmployeesByIds() {
+        // Arrange
+        Employee first = new Employee();
+        first.setId(1L);
+        Employee second = new Employee();
+        second.setId(2L);
+        when(employeeRepository.findAllById(List.of(2L, 3L, 1L))).thenReturn(List.of(first, second));
+
+        // Act
+        List<Employee> result = employeeService.getEmployees(List.of(2L, 3L, 2L, 1L));
+
+        // Assert
+        assertEquals(List.of(second, first), result);
+        verify(employeeRepository, times(1)).findAllById(any());
+        assertEquals(List.of(), employeeService.getEmployees(List.of()));
     }
 
     /**
@@ -171,19 +302,26 @@ class EmployeeServiceTest {
         employee.setDepartment("Marketing2");
         employee.setSalary(50000.0);
 
-        when(employeeRepository.existsById(1L)).thenReturn(true);
-        when(employeeRepository.save(any(Employee.class))).thenReturn(employee);
+        VersionedDepartmentSalary previous = mock(VersionedDepartmentSalary.class);
+        when(previous.getDepartment()).thenReturn("Sales");
+        when(previous.getSalary()).thenReturn(45000.0);
+        when(previous.getVersion()).thenReturn(3L);
+        when(employeeRepository.updateEmployeeReturningPrevious(any(Employee.class), eq(3L)))
+                .thenReturn(Optional.of(previous));
 
         // Mock the static method
         try (MockedStatic<EmployeeMapper> mockedMapper = mockStatic(EmployeeMapper.class)) {
             mockedMapper.when(() -> EmployeeMapper.toEntity(employeeDTO)).thenReturn(employee);
 
             // Act
-            boolean result = employeeService.updateEmployee(1L, employeeDTO);
+            Long result = employeeService.updateEmployee(1L, employeeDTO, 3L);
 
             // Assert
-            assertTrue(result);
-            verify(employeeRepository, times(1)).save(employee);
+            assertEquals(4L, result);
+            assertEquals(1L, employee.getId());
+            verify(employeeRepository, times(1)).updateEmployeeReturningPrevious(employee, 3L);
+            verify(employeeRepository, never()).save(any(Employee.class));
+            verify(employeeChangeRecorder, times(1)).recordChanged(1L, "Sales", 45000.0, "Marketing2", 50000.0);
         }
     }
 
@@ -195,14 +333,16 @@ class EmployeeServiceTest {
         // Arrange
         EmployeeDTO employeeDTO = new EmployeeDTO();
 
-        when(employeeRepository.existsById(1L)).thenReturn(false);
+        when(employeeRepository.updateEmployeeReturningPrevious(any(Employee.class), isNull()))
+                .thenReturn(Optional.empty());
 
         // Act
-        boolean result = employeeService.updateEmployee(1L, employeeDTO);
+        Long result = employeeService.updateEmployee(1L, employeeDTO, null);
 
         // Assert
-        assertFalse(result);
+        assertNull(result);
         verify(employeeRepository, never()).save(any(Employee.class));
+        verifyNoInteractions(employeeChangeRecorder);
     }
 
     /**
@@ -211,15 +351,19 @@ class EmployeeServiceTest {
     @Test
     void testDeleteEmployeeSuccess() {
         // Arrange
-        when(employeeRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(employeeRepository).deleteById(1L);
+        VersionedDepartmentSalary previous = mock(VersionedDepartmentSalary.class);
+        when(previous.getDepartment()).thenReturn("Marketing");
+        when(previous.getSalary()).thenReturn(50000.0);
+        when(employeeRepository.deleteEmployeeReturningPrevious(1L, null)).thenReturn(Optional.of(previous));
 
         // Act
-        boolean result = employeeService.deleteEmployee(1L);
+        boolean result = employeeService.deleteEmployee(1L, null);
 
         // Assert
         assertTrue(result);
-        verify(employeeRepository, times(1)).deleteById(1L);
+        verify(employeeRepository, times(1)).deleteEmployeeReturningPrevious(1L, null);
+        verify(employeeRepository, never()).deleteById(any());
+        verify(employeeChangeRecorder, times(1)).recordRemoved(1L, "Marketing", 50000.0);
     }
 
     /**
@@ -228,13 +372,200 @@ class EmployeeServiceTest {
     @Test
     void testDeleteEmployeeFailure() {
         // Arrange
-        when(employeeRepository.existsById(1L)).thenReturn(false);
+        when(employeeRepository.deleteEmployeeReturningPrevious(1L, null)).thenReturn(Optional.empty());
 
         // Act
-        boolean result = employeeService.deleteEmployee(1L);
+        boolean result = employeeService.deleteEmployee(1L, null);
 
         // Assert
         assertFalse(result);
-        verify(employeeRepository, never()).deleteById(1L);
+        verify(employeeRepository, never()).deleteById(any());
+        verifyNoInteractions(employeeChangeRecorder);
+    }
+
+    /**
+     * Tests that an update or delete expecting an outdated version, which the write matches no row for,
+     * is rejected, while one of a missing employee is not found.
+     */
+    @Test
+    void testUpdateAndDeleteEmployeeVersionMismatch() {
+        // Arrange
+        when(employeeRepository.updateEmployeeReturningPrevious(any(Employee.class), eq(2L)))
+                .thenReturn(Optional.empty());
+        when(employeeRepository.deleteEmployeeReturningPrevious(any(), eq(2L))).thenReturn(Optional.empty());
+        when(employeeRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+        when(employeeRepository.findVersionById(9L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> employeeService.updateEmployee(1L, new EmployeeDTO(), 2L));
+        assertThrows(PreconditionFailedException.class, () -> employeeService.deleteEmployee(1L, 2L));
+        assertNull(employeeService.updateEmployee(9L, new EmployeeDTO(), 2L));
+        assertFalse(employeeService.deleteEmployee(9L, 2L));
+        verifyNoInteractions(employeeChangeRecorder);
+    }
+
+    /**
+     * Tests applying a batch with a create, an update and a delete.
+     */
+    @Test
+    void testApplyBatchSuccess() {
+        // Arrange
+        EmployeeDTO employeeDTO = new EmployeeDTO();
+        employeeDTO.setFirstName("John");
+        employeeDTO.setLastName("Doe");
+        employeeDTO.setEmail("johndoe@gmail.com");
+        employeeDTO.setDepartment("Marketing");
+        employeeDTO.setSalary(50000.0);
+
+        Employee existing1 = new Employee();
+        existing1.setId(1L);
+        Employee existing2 = new Employee();
+        existing2.setId(2L);
+        existing2.setDepartment("Sales");
+        existing2.setSalary(40000.0);
+        Employee created = new Employee();
+        created.setId(3L);
+        created.setDepartment("Marketing");
+        created.setSalary(50000.0);
+
+        when(employeeRepository.lockAllById(List.of(1L, 2L))).thenReturn(List.of(existing1, existing2));
+        when(employeeRepository.save(any(Employee.class))).thenReturn(created);
+
+        List<BatchOperation> operations = List.of(
+                batchOperation(BatchOperation.Type.CREATE, null, employeeDTO),
+                batchOperation(BatchOperation.Type.UPDATE, 1L, employeeDTO),
+                batchOperation(BatchOperation.Type.DELETE, 2L, null));
+
+        // Act
+        BatchResult result = employeeService.applyBatch(operations);
+
+        // Assert
+        assertTrue(result.isApplied());
+        assertEquals(BatchResult.Status.CREATED, result.getResults().get(0).getStatus());
+        assertEquals(3L, result.getResults().get(0).getId());
+        assertEquals(BatchResult.Status.UPDATED, result.getResults().get(1).getStatus());
+        assertEquals("John", existing1.getFirstName());
+        assertEquals(BatchResult.Status.DELETED, result.getResults().get(2).getStatus());
+        verify(employeeRepository, times(1)).lockAllById(List.of(1L, 2L));
+        verify(employeeRepository, times(1)).delete(existing2);
+        verify(employeeCacheInvalidator, times(1)).evict(List.of(3L, 1L, 2L));
+        verify(employeeChangeRecorder, times(1)).recordAdded(3L, "Marketing", 50000.0);
+        verify(employeeChangeRecorder, times(1)).recordChanged(1L, null, null, "Marketing", 50000.0);
+        verify(employeeChangeRecorder, times(1)).recordRemoved(2L, "Sales", 40000.0);
+    }
+
+    /**
+     * Tests that a batch targeting a non-existing employee is not applied.
+     */
+    @Test
+    void testApplyBatchNotFound() {
+        // Arrange
+        Employee existing = new Employee();
+        existing.setId(1L);
+        when(employeeRepository.lockAllById(List.of(1L, 2L))).thenReturn(List.of(existing));
+
+        List<BatchOperation> operations = List.of(
+                batchOperation(BatchOperation.Type.DELETE, 1L, null),
+                batchOperation(BatchOperation.Type.DELETE, 2L, null));
+
+        // Act
+        BatchResult result = employeeService.applyBatch(operations);
+
+        // Assert
+        assertFalse(result.isApplied());
+        assertEquals(BatchResult.Status.NOT_APPLIED, result.getResults().get(0).getStatus());
+        assertEquals(BatchResult.Status.NOT_FOUND, result.getResults().get(1).getStatus());
+        verify(employeeRepository, never()).delete(any(Employee.class));
+    }
+
+    /**
+     * Tests a salary adjustment of a department, recording the new salaries read back after the update.
+     */
+    @Test
+    void testAdjustDepartmentSalaries() {
+        // Arrange
+        when(employeeRepository.lockSalariesByDepartment("Marketing"))
+                .thenReturn(List.of(employeeSalary(1L, "Marketing", 50000.0), employeeSalary(2L, "Marketing", 60000.0)));
+        when(employeeRepository.adjustSalariesByDepartment("Marketing", List.of(1L, 2L), 1.1, 0)).thenReturn(2);
+        when(employeeRepository.findSalariesByIdIn(any()))
+                .thenReturn(List.of(employeeSalary(1L, "Marketing", 55000.0), employeeSalary(2L, "Marketing", 66000.0)));
+
+        // Act
+        int updated = employeeService.adjustDepartmentSalaries("Marketing", 10.0, null);
+
+        // Assert
+        assertEquals(2, updated);
+        verify(employeeChangeRecorder).recordChanged(1L, "Marketing", 50000.0, "Marketing", 55000.0);
+        verify(employeeChangeRecorder).recordChanged(2L, "Marketing", 60000.0, "Marketing", 66000.0);
+        verify(employeeCacheInvalidator).evict(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(1L, 2L))));
+    }
+
+    /**
+     * Tests that a salary adjustment making a salary negative, or giving both or neither change, is rejected.
+     */
+    @Test
+    void testAdjustDepartmentSalariesRejected() {
+        // Arrange
+        when(employeeRepository.lockSalariesByDepartment("Marketing"))
+                .thenReturn(List.of(employeeSalary(1L, "Marketing", 500.0)));
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> employeeService.adjustDepartmentSalaries("Marketing", null, -500.01));
+        assertThrows(BadRequestException.class, () -> employeeService.adjustDepartmentSalaries("Marketing", 1.0, 1.0));
+        assertThrows(BadRequestException.class, () -> employeeService.adjustDepartmentSalaries("Marketing", null, null));
+        verify(employeeRepository, never()).adjustSalariesByDepartment(any(), any(), anyDouble(), anyDouble());
+    }
+
+    /**
+     * Tests moving and deleting the employees of a department.
+     */
+    @Test
+    void testMoveAndDeleteDepartment() {
+        // Arrange
+        when(employeeRepository.lockSalariesByDepartment("Marketing"))
+                .thenReturn(List.of(employeeSalary(1L, "Marketing", 50000.0)));
+        when(employeeRepository.moveDepartment("Marketing", List.of(1L), "Sales")).thenReturn(1);
+        when(employeeRepository.deleteByDepartment("Marketing", List.of(1L))).thenReturn(1);
+
+        // Act
+        int moved = employeeService.moveDepartment("Marketing", "Sales");
+        int deleted = employeeService.deleteDepartment("Marketing");
+        int missing = employeeService.deleteDepartment("Finance");
+
+        // Assert
+        assertEquals(1, moved);
+        assertEquals(1, deleted);
+        assertEquals(0, missing);
+        verify(employeeChangeRecorder).recordChanged(1L, "Marketing", 50000.0, "Sales", 50000.0);
+        verify(employeeChangeRecorder).recordRemoved(1L, "Marketing", 50000.0);
+        verify(employeeCacheInvalidator, times(2)).evict(List.of(1L));
+        verify(employeeRepository, never()).deleteByDepartment(eq("Finance"), any());
+    }
+
+    private static EmployeeSalary employeeSalary(Long id, String department, Double salary) {
+        return new EmployeeSalary() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getDepartment() {
+                return department;
+            }
+
+            @Override
+            public Double getSalary() {
+                return salary;
+            }
+        };
+    }
+
+    private static BatchOperation batchOperation(BatchOperation.Type type, Long id, EmployeeDTO employeeDTO) {
+        BatchOperation operation = new BatchOperation();
+        operation.setOp(type);
+        operation.setId(id);
+        operation.setEmployee(employeeDTO);
+        return operation;
     }
-}
\ No newline at end of file
+}
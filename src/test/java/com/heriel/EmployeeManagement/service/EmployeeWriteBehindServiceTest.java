@@ -0,0 +1,167 @@
+package com.heriel.EmployeeManagement.service;
+
+import com.heriel.EmployeeManagement.dto.BatchOperation;
+import com.heriel.EmployeeManagement.dto.BatchResult;
+import com.heriel.EmployeeManagement.dto.EmployeeDTO;
+import com.heriel.EmployeeManagement.dto.WriteStatus;
+import com.heriel.EmployeeManagement.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the EmployeeWriteBehindService class.
+ */
+class EmployeeWriteBehindServiceTest {
+
+    private EmployeeService employeeService;
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Sets up the test environment with an EmployeeService mock that applies every batch,
+     * assigning ID 100 + index to created employees.
+     */
+    @BeforeEach
+    void setUp() {
+        employeeService = mock(EmployeeService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(employeeService.applyBatch(anyList())).thenAnswer(invocation -> {
+            List<BatchOperation> operations = invocation.getArgument(0);
+            List<BatchResult.OperationResult> results = new ArrayList<>();
+            for (int i = 0; i < operations.size(); i++) {
+                BatchOperation operation = operations.get(i);
+                boolean create = operation.getOp() == BatchOperation.Type.CREATE;
+                results.add(new BatchResult.OperationResult(i, operation.getOp(), create ? 100L + i : operation.getId(),
+                        create ? BatchResult.Status.CREATED : BatchResult.Status.UPDATED));
+            }
+            return new BatchResult(true, results);
+        });
+    }
+
+    /**
+     * Tests that updates of the same employee are coalesced up to the maximum, that a full queue rejects writes,
+     * and that draining writes everything in one batch.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCoalescesUpdatesAndRejectsWhenFull() {
+        // Arrange
+        EmployeeWriteBehindService service = new EmployeeWriteBehindService(employeeService, meterRegistry,
+                2, 10, Duration.ofSeconds(1), 2, 100);
+        EmployeeDTO first = employeeDTO("Marketing");
+        EmployeeDTO second = employeeDTO("Sales");
+
+        // Act
+        WriteStatus firstUpdate = service.enqueueUpdate(1L, first);
+        WriteStatus secondUpdate = service.enqueueUpdate(1L, second);
+        WriteStatus create = service.enqueueCreate(employeeDTO("Finance"));
+        TooManyRequestsException rejected = assertThrows(TooManyRequestsException.class,
+                () -> service.enqueueCreate(employeeDTO("Support")));
+        assertThrows(TooManyRequestsException.class, () -> service.enqueueUpdate(1L, employeeDTO("Legal")));
+        assertEquals(2, service.size());
+        assertEquals(WriteStatus.State.PENDING, service.getStatus(firstUpdate.getTrackingId()).getState());
+        service.drain();
+
+        // Assert
+        ArgumentCaptor<List<BatchOperation>> batch = ArgumentCaptor.forClass(List.class);
+        verify(employeeService).applyBatch(batch.capture());
+        assertEquals(2, batch.getValue().size());
+        assertEquals(1L, batch.getValue().get(0).getId());
+        assertSame(second, batch.getValue().get(0).getEmployee());
+        assertEquals(BatchOperation.Type.CREATE, batch.getValue().get(1).getOp());
+
+        assertEquals(Duration.ofSeconds(1), rejected.getRetryAfter());
+        assertEquals(0, service.size());
+        assertEquals(WriteStatus.State.WRITTEN, service.getStatus(firstUpdate.getTrackingId()).getState());
+        assertEquals(WriteStatus.State.WRITTEN, service.getStatus(secondUpdate.getTrackingId()).getState());
+        assertEquals(101L, service.getStatus(create.getTrackingId()).getEmployeeId());
+        assertEquals(1.0, meterRegistry.get("employee.write_behind.writes").tag("outcome", "coalesced").counter().count());
+        assertEquals(2.0, meterRegistry.get("employee.write_behind.writes").tag("outcome", "rejected").counter().count());
+        assertEquals(3.0, meterRegistry.get("employee.write_behind.writes").tag("outcome", "written").counter().count());
+    }
+
+    /**
+     * Tests that an update of a missing employee and a write that throws only fail themselves.
+     */
+    @Test
+    void testFailedWritesOnlyFailThemselves() {
+        // Arrange
+        EmployeeWriteBehindService service = new EmployeeWriteBehindService(employeeService, meterRegistry,
+                10, 10, Duration.ofSeconds(1), 2, 100);
+        WriteStatus missing = service.enqueueUpdate(1L, employeeDTO("Marketing"));
+        WriteStatus failing = service.enqueueUpdate(2L, employeeDTO("Marketing"));
+        WriteStatus create = service.enqueueCreate(employeeDTO("Sales"));
+        doReturn(new BatchResult(false, List.of(
+                new BatchResult.OperationResult(0, BatchOperation.Type.UPDATE, 1L, BatchResult.Status.NOT_FOUND),
+                new BatchResult.OperationResult(1, BatchOperation.Type.UPDATE, 2L, BatchResult.Status.NOT_APPLIED),
+                new BatchResult.OperationResult(2, BatchOperation.Type.CREATE, null, BatchResult.Status.NOT_APPLIED))))
+                .when(employeeService).applyBatch(argThat(operations -> operations.size() == 3));
+        doThrow(new IllegalStateException("Batch failed"))
+                .when(employeeService).applyBatch(argThat(operations -> operations.size() == 2));
+        doThrow(new IllegalStateException("Update failed"))
+                .when(employeeService).applyBatch(argThat(operations -> operations.size() == 1
+                        && Long.valueOf(2L).equals(operations.get(0).getId())));
+
+        // Act
+        service.drain();
+
+        // Assert
+        assertEquals(WriteStatus.State.FAILED, service.getStatus(missing.getTrackingId()).getState());
+        assertEquals("Employee 1 not found", service.getStatus(missing.getTrackingId()).getError());
+        assertEquals(WriteStatus.State.FAILED, service.getStatus(failing.getTrackingId()).getState());
+        assertEquals("Update failed", service.getStatus(failing.getTrackingId()).getError());
+        assertEquals(WriteStatus.State.WRITTEN, service.getStatus(create.getTrackingId()).getState());
+        assertEquals(100L, service.getStatus(create.getTrackingId()).getEmployeeId());
+    }
+
+    /**
+     * Tests that the background flusher writes a waiting write once the maximum delay has passed,
+     * and that stopping drains the queue.
+     *
+     * @throws InterruptedException if the test is interrupted
+     */
+    @Test
+    void testFlushesInBackgroundAndDrainsOnStop() throws InterruptedException {
+        // Arrange
+        EmployeeWriteBehindService service = new EmployeeWriteBehindService(employeeService, meterRegistry,
+                10, 10, Duration.ofMillis(20), 2, 100);
+        service.start();
+
+        // Act
+        WriteStatus flushed = service.enqueueCreate(employeeDTO("Marketing"));
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (service.getStatus(flushed.getTrackingId()).getState() == WriteStatus.State.PENDING
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        service.stop();
+        WriteStatus drained = service.enqueueCreate(employeeDTO("Sales"));
+        service.stop();
+
+        // Assert
+        assertEquals(WriteStatus.State.WRITTEN, service.getStatus(flushed.getTrackingId()).getState());
+        assertEquals(WriteStatus.State.WRITTEN, service.getStatus(drained.getTrackingId()).getState());
+        assertFalse(service.isRunning());
+        verify(employeeService, times(2)).applyBatch(anyList());
+    }
+
+    private static EmployeeDTO employeeDTO(String department) {
+        EmployeeDTO employeeDTO = new EmployeeDTO();
+        employeeDTO.setFirstName("John");
+        employeeDTO.setLastName("Doe");
+        employeeDTO.setEmail("johndoe@gmail.com");
+        employeeDTO.setDepartment(department);
+        employeeDTO.setSalary(50000.0);
+        return employeeDTO;
+    }
+}
@@ -0,0 +1,92 @@
+package com.heriel.EmployeeManagement.service;
+
+import com.heriel.EmployeeManagement.dto.SalaryRank;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SalaryColumnStore class.
+ */
+class SalaryColumnStoreTest {
+
+    private SalaryColumnStore store;
+
+    /**
+     * Sets up the test environment with 100 000 employees: IDs 1 to 100 000 with a salary of
+     * 1000 times their ID, alternating between the Marketing and Sales departments.
+     */
+    @BeforeEach
+    void setUp() {
+        store = new SalaryColumnStore(0);
+        for (long id = 1; id <= 100_000; id++) {
+            store.put(id, id % 2 == 0 ? "Sales" : "Marketing", id * 1000.0);
+        }
+    }
+
+    /**
+     * Tests nearest-rank percentiles over all employees and within a department.
+     */
+    @Test
+    void testPercentiles() {
+        // Act
+        double[] all = store.percentiles(null, new double[]{0, 50, 99, 100});
+        double[] sales = store.percentiles("Sales", new double[]{50});
+
+        // Assert
+        assertArrayEquals(new double[]{1000.0, 50_000_000.0, 99_000_000.0, 100_000_000.0}, all);
+        assertArrayEquals(new double[]{50_000_000.0}, sales);
+        assertEquals(0, store.percentiles("Unknown", new double[]{50}).length);
+    }
+
+    /**
+     * Tests that a histogram counts every salary of the department exactly once.
+     */
+    @Test
+    void testHistogram() {
+        // Act
+        long[] counts = store.histogram("Marketing", 1000.0, 99_999_000.0, 4);
+
+        // Assert
+        assertArrayEquals(new long[]{12_500, 12_500, 12_500, 12_500}, counts);
+    }
+
+    /**
+     * Tests that top-N returns the highest salaries in descending order.
+     */
+    @Test
+    void testTopN() {
+        // Act
+        List<SalaryRank> top = store.topN("Marketing", 3);
+
+        // Assert
+        assertEquals(3, top.size());
+        assertEquals(99_999L, top.get(0).getId());
+        assertEquals(99_997L, top.get(1).getId());
+        assertEquals(99_995L, top.get(2).getId());
+        assertEquals("Marketing", top.get(0).getDepartment());
+    }
+
+    /**
+     * Tests that updates and removals are reflected by the next query.
+     */
+    @Test
+    void testPutAndRemove() {
+        // Arrange
+        assertEquals(100_000_000.0, store.percentiles(null, new double[]{100})[0]);
+
+        // Act
+        store.remove(100_000L);
+        store.put(1L, "Sales", 200_000_000.0);
+        store.remove(424_242L);
+
+        // Assert
+        assertEquals(99_999, store.size());
+        assertEquals(200_000_000.0, store.percentiles("Sales", new double[]{100})[0]);
+        assertEquals(3000.0, store.percentiles("Marketing", new double[]{0})[0]);
+        assertEquals(1L, store.topN(null, 1).get(0).getId());
+    }
+}
@@ -0,0 +1,64 @@
+package com.heriel.EmployeeManagement.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TokenService class.
+ */
+class TokenServiceTest {
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private final Authentication admin = UsernamePasswordAuthenticationToken.authenticated(
+            "admin", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_USER"));
+
+    /**
+     * Tests that an issued token verifies to the user and authorities it was issued for.
+     */
+    @Test
+    void testIssueAndVerify() {
+        // Arrange
+        TokenService tokenService = new TokenService(SECRET, Duration.ofHours(1), 100);
+
+        // Act
+        String token = tokenService.issue(admin);
+        VerifiedToken verified = tokenService.verify(token);
+
+        // Assert
+        assertNotNull(verified);
+        assertEquals("admin", verified.getSubject());
+        assertEquals(admin.getAuthorities(), verified.toAuthentication().getAuthorities());
+        assertTrue(verified.toAuthentication().isAuthenticated());
+        assertSame(verified, tokenService.verify(token));
+        assertNotNull(new TokenService(SECRET, Duration.ofHours(1), 100).verify(token));
+    }
+
+    /**
+     * Tests that tampered, malformed, foreign and expired tokens are rejected.
+     */
+    @Test
+    void testRejectsInvalidTokens() {
+        // Arrange
+        TokenService tokenService = new TokenService(SECRET, Duration.ofHours(1), 100);
+        String token = tokenService.issue(admin);
+        String payload = token.substring(0, token.indexOf('.'));
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(new String(Base64.getUrlDecoder().decode(payload)).replace("admin", "root").getBytes());
+
+        // Act & Assert
+        assertNull(tokenService.verify(forgedPayload + token.substring(token.indexOf('.'))));
+        assertNull(tokenService.verify(token + "x"));
+        assertNull(tokenService.verify("not-a-token"));
+        assertNull(tokenService.verify(token + "." + token));
+        assertNull(new TokenService("", Duration.ofHours(1), 100).verify(token));
+        TokenService expiring = new TokenService(SECRET, Duration.ofSeconds(-1), 100);
+        assertNull(expiring.verify(expiring.issue(admin)));
+    }
+}
@@ -0,0 +1,75 @@
+package com.heriel.EmployeeManagement.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TopKMerge class.
+ */
+class TopKMergeTest {
+
+    /**
+     * Tests that merging the first rows of sorted runs gives the first rows of their union,
+     * for random runs of different lengths including empty ones.
+     */
+    @Test
+    void testMergeMatchesSortedUnion() {
+        // Arrange
+        Random random = new Random(42);
+        List<List<Integer>> runs = new ArrayList<>();
+        List<Integer> all = new ArrayList<>();
+        for (int run = 0; run < 8; run++) {
+            List<Integer> rows = new ArrayList<>();
+            for (int i = random.nextInt(50); i > 0; i--) {
+                rows.add(random.nextInt(100));
+            }
+            rows.sort(Comparator.naturalOrder());
+            runs.add(rows);
+            all.addAll(rows);
+        }
+        all.sort(Comparator.naturalOrder());
+
+        // Act
+        List<Integer> top = TopKMerge.merge(runs, Comparator.naturalOrder(), 20);
+        List<Integer> everything = TopKMerge.merge(runs, Comparator.naturalOrder(), Integer.MAX_VALUE);
+
+        // Assert
+        assertEquals(all.subList(0, 20), top);
+        assertEquals(all, everything);
+        assertEquals(List.of(), TopKMerge.merge(List.of(List.of(), List.of()), Comparator.<Integer>naturalOrder(), 5));
+    }
+
+    /**
+     * Tests that the comparator of a sort orders by each property in turn, places nulls as PostgreSQL does
+     * and that the ID is appended as tie breaker.
+     */
+    @Test
+    void testComparatorFollowsSort() {
+        // Arrange
+        Sort sort = TopKMerge.withUniqueKey(Sort.by(Sort.Direction.DESC, "salary"));
+        Comparator<Map<String, Object>> comparator = TopKMerge.comparator(sort, Map::get);
+        Map<String, Object> low = Map.of("id", 1L, "salary", 100.0);
+        Map<String, Object> highFirst = Map.of("id", 2L, "salary", 200.0);
+        Map<String, Object> highSecond = Map.of("id", 3L, "salary", 200.0);
+        Map<String, Object> none = new java.util.HashMap<>(Map.of("id", 4L));
+        none.put("salary", null);
+        List<Map<String, Object>> rows = new ArrayList<>(Arrays.asList(low, highSecond, none, highFirst));
+
+        // Act
+        rows.sort(comparator);
+
+        // Assert
+        assertEquals(List.of(none, highFirst, highSecond, low), rows);
+        assertEquals(sort, TopKMerge.withUniqueKey(sort));
+        assertEquals(Sort.by(Sort.Direction.DESC, "salary").and(Sort.by("id")), sort);
+    }
+}